@@ -0,0 +1,83 @@
+package nl.github.martijn9612.fishy.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nl.github.martijn9612.fishy.models.Entity;
+import nl.github.martijn9612.fishy.models.Moveable;
+import nl.github.martijn9612.fishy.models.Vector;
+import nl.github.martijn9612.fishy.opponents.LinearOpponent;
+
+/**
+ * Benchmarks the bounding box of an Entity, updated after every move and
+ * tested against the player for every nearby opponent.
+ * Software Engineering Methods Project - Group 11.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityBenchmark {
+	private Entity first;
+	private Entity near;
+	private Entity far;
+
+	/**
+	 * Creates an entity with one entity overlapping it and one far away.
+	 */
+	@Setup
+	public void setUp() {
+		first = createEntity(100, 100, 16, 16);
+		near = createEntity(110, 104, 32, 20);
+		far = createEntity(400, 300, 32, 32);
+	}
+
+	/**
+	 * Creates an entity without OpenGL resources.
+	 * @param x - x position of the entity.
+	 * @param y - y position of the entity.
+	 * @param width - width of the entity.
+	 * @param height - height of the entity.
+	 * @return the new entity.
+	 */
+	private static Entity createEntity(float x, float y, float width, float height) {
+		Moveable data = new Moveable();
+		data.setPosition(new Vector(x, y));
+		data.setDimensions(new Vector(width, height));
+		return new LinearOpponent(data, false);
+	}
+
+	/**
+	 * Moves the bounding box to the position of the entity.
+	 * @return the updated entity.
+	 */
+	@Benchmark
+	public Entity updateBoundingbox() {
+		first.updateBoundingbox();
+		return first;
+	}
+
+	/**
+	 * Tests two overlapping entities.
+	 * @return true, the entities overlap.
+	 */
+	@Benchmark
+	public boolean intersectsNear() {
+		return first.intersects(near);
+	}
+
+	/**
+	 * Tests two entities far apart.
+	 * @return false, the entities don't overlap.
+	 */
+	@Benchmark
+	public boolean intersectsFar() {
+		return first.intersects(far);
+	}
+}
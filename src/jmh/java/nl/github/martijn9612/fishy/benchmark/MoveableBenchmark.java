@@ -0,0 +1,62 @@
+package nl.github.martijn9612.fishy.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nl.github.martijn9612.fishy.models.Moveable;
+import nl.github.martijn9612.fishy.models.Vector;
+
+/**
+ * Benchmarks the physics step of a Moveable, done for every entity every tick.
+ * Software Engineering Methods Project - Group 11.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveableBenchmark {
+	private static final float MAX_SPEED = 8;
+	private static final float WATER_DRAG = 0.3f;
+	private Moveable moveable;
+
+	/**
+	 * Creates a moving object.
+	 */
+	@Setup
+	public void setUp() {
+		moveable = new Moveable();
+		moveable.setPosition(new Vector(300, 200));
+		moveable.setDimensions(new Vector(16, 16));
+		moveable.setVelocity(new Vector(3, -2));
+		moveable.setMass(5);
+	}
+
+	/**
+	 * Applies a force and moves the object, like the player does every tick.
+	 * @return the moved object.
+	 */
+	@Benchmark
+	public Moveable updatePosition() {
+		moveable.applyForce(4, -4);
+		moveable.updatePosition(MAX_SPEED);
+		moveable.getPosition().set(300, 200);
+		return moveable;
+	}
+
+	/**
+	 * Slows the object down by the water drag.
+	 * @return the slowed object.
+	 */
+	@Benchmark
+	public Moveable applyWaterDrag() {
+		moveable.getVelocity().set(3, -2);
+		moveable.applyWaterDrag(WATER_DRAG);
+		return moveable;
+	}
+}
@@ -0,0 +1,84 @@
+package nl.github.martijn9612.fishy.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nl.github.martijn9612.fishy.OpponentController;
+import nl.github.martijn9612.fishy.models.Moveable;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.models.Vector;
+import nl.github.martijn9612.fishy.opponents.LinearOpponent;
+
+/**
+ * Benchmarks a tick of the OpponentController: moving all opponents and
+ * checking them against the player. The opponents are spread over the
+ * screen and hold still, so the number of opponents stays the same during
+ * the run, and none of them touches the player in the top left corner.
+ * Software Engineering Methods Project - Group 11.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpponentControllerBenchmark {
+	private static final long SEED = 42;
+	@Param({"20", "200", "2000", "20000"})
+	private int opponents;
+	private OpponentController controller;
+	private Player player;
+
+	/**
+	 * Fills the controller with the opponents.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(SEED);
+		player = Player.createPlayer(false);
+		player.getData().setPosition(new Vector(0, 0));
+		player.updateBoundingbox();
+		controller = new OpponentController(false);
+		for (int i = 0; i < opponents; i++) {
+			Moveable data = new Moveable();
+			data.setPosition(new Vector(100 + random.nextInt(500), 100 + random.nextInt(400)));
+			data.setDimensions(new Vector(8 + random.nextInt(24), 8 + random.nextInt(24)));
+			controller.addOpponent(new LinearOpponent(data, false));
+		}
+	}
+
+	/**
+	 * Moves all opponents one tick.
+	 * @return the controller.
+	 */
+	@Benchmark
+	public OpponentController updateOpponents() {
+		controller.updateOpponents(null, 16);
+		return controller;
+	}
+
+	/**
+	 * Checks all opponents against the player.
+	 * @return false, the player doesn't collide.
+	 */
+	@Benchmark
+	public boolean collide() {
+		return controller.collide(player);
+	}
+
+	/**
+	 * Runs a full tick of the opponents, moving them and checking collisions.
+	 * @return false, the player doesn't collide.
+	 */
+	@Benchmark
+	public boolean updateAndCollide() {
+		controller.updateOpponents(null, 16);
+		return controller.collide(player);
+	}
+}
@@ -0,0 +1,43 @@
+package nl.github.martijn9612.fishy.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import nl.github.martijn9612.fishy.powerups.Powerup;
+import nl.github.martijn9612.fishy.powerups.PowerupFactory;
+
+/**
+ * Benchmarks the PowerupFactory, which is asked for a powerup every tick
+ * no powerup is on the screen.
+ * Software Engineering Methods Project - Group 11.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PowerupFactoryBenchmark {
+	private PowerupFactory factory;
+
+	/**
+	 * Creates a factory without OpenGL resources.
+	 */
+	@Setup
+	public void setUp() {
+		factory = new PowerupFactory(false);
+	}
+
+	/**
+	 * Asks the factory for a powerup.
+	 * @return the new powerup, or null when none spawns.
+	 */
+	@Benchmark
+	public Powerup spawnPowerup() {
+		return factory.spawnPowerup();
+	}
+}
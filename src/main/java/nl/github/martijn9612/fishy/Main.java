@@ -29,8 +29,14 @@ public class Main extends StateBasedGame {
     public static final String OPPONENT_CHARACTER = "cheep-cheep";
     public static final String LEVEL_BACKGROUND = "seabed";
     public static final int FRAMERATE = 60;
+    public static final int TICK_RATE = 60;
+    public static final int MAX_CATCH_UP_TICKS = 5;
     public static final ActionLogger actionLogger = new ActionLogger();
     public static final boolean DEBUG_MODE = false;
+    public static final boolean OPPONENT_STORE = false;
+    public static final boolean BINARY_LOG = false;
+    public static final boolean RECORD_REPLAYS = false;
+    public static final String REPLAY_DIRECTORY = "replays";
 
     /**
      * Constructor method.
@@ -77,11 +83,13 @@ public class Main extends StateBasedGame {
 
     /**
      * Notification that the game close has been requested.
+     * The log is closed, so no lines are lost and the file is cut to its size.
      * @return true if the game should close.
      */
     @Override
     public boolean closeRequested() {
         Main.actionLogger.logLine("Game will close!", getClass().getSimpleName());
+        Main.actionLogger.close();
         return true;
     }
 
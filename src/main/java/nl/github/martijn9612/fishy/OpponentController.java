@@ -1,7 +1,10 @@
 package nl.github.martijn9612.fishy;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Random;
+import java.util.Set;
 
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
@@ -11,8 +14,14 @@ import nl.github.martijn9612.fishy.models.NonPlayer;
 import nl.github.martijn9612.fishy.models.Player;
 import nl.github.martijn9612.fishy.opponents.BigOpponent;
 import nl.github.martijn9612.fishy.opponents.LinearOpponent;
+import nl.github.martijn9612.fishy.opponents.OpponentStore;
 import nl.github.martijn9612.fishy.opponents.SinusOpponent;
 import nl.github.martijn9612.fishy.states.LoseState;
+import nl.github.martijn9612.fishy.utils.ActionLogger;
+import nl.github.martijn9612.fishy.utils.GameRandom;
+import nl.github.martijn9612.fishy.utils.ObjectPool;
+import nl.github.martijn9612.fishy.utils.SpatialHashGrid;
+import nl.github.martijn9612.fishy.utils.SpriteBatch;
 
 /**
  * Implements the Opponent Handler of the game.
@@ -20,19 +29,53 @@ import nl.github.martijn9612.fishy.states.LoseState;
  */
 public class OpponentController {
 	private boolean loadResources;
-	private final Random random = new Random();
+	private final Random random;
 	private ArrayList<NonPlayer> opponents = new ArrayList<NonPlayer>();
-	private ArrayList<NonPlayer> toRemove = new ArrayList<NonPlayer>();
+	private Set<NonPlayer> members = Collections.newSetFromMap(new IdentityHashMap<NonPlayer, Boolean>());
+	private int deadCount = 0;
+	private SpatialHashGrid<NonPlayer> grid = new SpatialHashGrid<NonPlayer>();
+	private ArrayList<NonPlayer> candidates = new ArrayList<NonPlayer>();
+	private static final String LOG_NAME = OpponentController.class.getSimpleName();
 	private static final double BIG_OPPONENT_SPAWN_CHANCE = 0.001;
-	private int bigOpponentDelay = 15000;
+	private static final int BIG_OPPONENT_DELAY = 15000;
+	private int bigOpponentDelay = BIG_OPPONENT_DELAY;
 	private static final int MAX_OPPONENTS = 20;
+	private static final int KEEP_OPPONENT = 0;
+	private static final int REMOVE_OPPONENT = 1;
+	private static final int PLAYER_LOST = 2;
+	private final OpponentStore store;
+	private final ObjectPool<LinearOpponent> linearPool = new ObjectPool<LinearOpponent>();
+	private final ObjectPool<SinusOpponent> sinusPool = new ObjectPool<SinusOpponent>();
 	
 	/**
 	 * Constructor to create a new OpponentController.
 	 * @param loadResources - when true the OpenGL resources are loaded, when false not.
 	 */
 	public OpponentController(boolean loadResources) {
+		this(loadResources, false);
+	}
+
+	/**
+	 * Constructor to create a new OpponentController.
+	 * @param loadResources - when true the OpenGL resources are loaded, when false not.
+	 * @param useOpponentStore - when true the linear and sinus opponents are kept
+	 * in an OpponentStore instead of as NonPlayer objects.
+	 */
+	public OpponentController(boolean loadResources, boolean useOpponentStore) {
+		this(loadResources, useOpponentStore, new GameRandom());
+	}
+
+	/**
+	 * Constructor to create a new OpponentController.
+	 * @param loadResources - when true the OpenGL resources are loaded, when false not.
+	 * @param useOpponentStore - when true the linear and sinus opponents are kept
+	 * in an OpponentStore instead of as NonPlayer objects.
+	 * @param random - the random stream used for spawning the opponents.
+	 */
+	public OpponentController(boolean loadResources, boolean useOpponentStore, Random random) {
 		this.loadResources = loadResources;
+		this.random = random;
+		this.store = useOpponentStore ? new OpponentStore(loadResources) : null;
 	}
 	  
 	/**
@@ -40,28 +83,108 @@ public class OpponentController {
 	 * @param player - the current Player in the game.
 	 */
 	public void spawnOpponents(Player player) {
-		if (opponents.size() < MAX_OPPONENTS) {
-			NonPlayer newOpponent;
-			if (random.nextInt(5) > 0) {
-				newOpponent = LinearOpponent.createRandom(player, random, loadResources);
+		if (getOpponentCount() < MAX_OPPONENTS) {
+			boolean linear = random.nextInt(5) > 0;
+			if (store != null) {
+				store.spawnRandom(linear ? OpponentStore.TYPE_LINEAR : OpponentStore.TYPE_SINUS, player, random);
+			} else if (linear) {
+				addOpponent(spawnLinearOpponent(player));
 			} else {
-				newOpponent = SinusOpponent.createRandom(player, random, loadResources);
+				addOpponent(spawnSinusOpponent(player));
 			}
-			addOpponent(newOpponent);
 		}
 		startBigOpponentEvent(player);
 	}
 
+	/**
+	 * Gets a LinearOpponent from the pool, or creates one when the pool is empty.
+	 * @param player - the current Player in the game.
+	 * @return a LinearOpponent at a random spawn location.
+	 */
+	private LinearOpponent spawnLinearOpponent(Player player) {
+		LinearOpponent opponent = linearPool.acquire();
+		if (opponent == null) {
+			return LinearOpponent.createRandom(player, random, loadResources);
+		}
+		opponent.reinitialise(player, random);
+		return opponent;
+	}
+
+	/**
+	 * Gets a SinusOpponent from the pool, or creates one when the pool is empty.
+	 * @param player - the current Player in the game.
+	 * @return a SinusOpponent at a random spawn location.
+	 */
+	private SinusOpponent spawnSinusOpponent(Player player) {
+		SinusOpponent opponent = sinusPool.acquire();
+		if (opponent == null) {
+			return SinusOpponent.createRandom(player, random, loadResources);
+		}
+		opponent.reinitialise(player, random);
+		return opponent;
+	}
+
+	/**
+	 * Gives a dropped opponent back to its pool. Only plain linear and sinus
+	 * opponents are pooled, other opponents are left to the garbage collector.
+	 * @param opponent - the dead opponent.
+	 */
+	private void recycle(NonPlayer opponent) {
+		Class<?> type = opponent.getClass();
+		if (type == LinearOpponent.class) {
+			linearPool.release((LinearOpponent) opponent);
+		} else if (type == SinusOpponent.class) {
+			sinusPool.release((SinusOpponent) opponent);
+		}
+	}
+
+	/**
+	 * Gets the number of live opponents, in both the list and the store.
+	 * @return the number of opponents.
+	 */
+	public int getOpponentCount() {
+		return opponents.size() - deadCount + (store == null ? 0 : store.getLiveCount());
+	}
+
 	/**
 	 * Render all Opponents.
 	 * @param graph - the graphics content of the game.
 	 */
 	public void renderOpponents(Graphics graph) {
+		if (store != null) {
+			store.render(graph);
+		}
 		for (NonPlayer opponent : opponents) {
 			opponent.renderObject(graph);
 		}
 	}
 
+	/**
+	 * Add the sprites of all Opponents to the batch.
+	 * @param batch - the batch collecting the sprites of this frame.
+	 */
+	public void renderOpponents(SpriteBatch batch) {
+		if (store != null) {
+			store.render(batch);
+		}
+		for (NonPlayer opponent : opponents) {
+			opponent.renderObject(batch);
+		}
+	}
+
+	/**
+	 * Render the overlays of all Opponents, after the batch is flushed.
+	 * @param graph - the graphics content of the game.
+	 */
+	public void renderOverlays(Graphics graph) {
+		if (store != null) {
+			store.renderOverlays(graph);
+		}
+		for (NonPlayer opponent : opponents) {
+			opponent.renderOverlay(graph);
+		}
+	}
+
 	/**
 	 * Update the opponents.
 	 * @param gc - the container holding the game.
@@ -69,31 +192,78 @@ public class OpponentController {
 	 */
 	public void updateOpponents(GameContainer gc, int deltaTime) {
 		for (NonPlayer opponent : opponents) {
+			if (opponent.isDead()) {
+				continue;
+			}
 			opponent.objectLogic(gc, deltaTime);
 			if (opponent.isOffScreen()) {
 				remove(opponent);
 			}
 		}
-		updateRemoveOpponents();
+		compactOpponents();
+		updateGrid();
+		if (store != null) {
+			store.update();
+			store.compact();
+		}
+	}
+
+	/**
+	 * Fills the grid with the bounding boxes of all opponents at their new positions.
+	 */
+	private void updateGrid() {
+		grid.clear();
+		for (NonPlayer opponent : opponents) {
+			addToGrid(opponent);
+		}
+	}
+
+	/**
+	 * Adds the bounding box of an opponent to the grid.
+	 * @param opponent - the opponent to add.
+	 */
+	private void addToGrid(NonPlayer opponent) {
+		grid.insert(opponent, opponent.getMinX(), opponent.getMinY(), opponent.getMaxX(), opponent.getMaxY());
 	}
 	
 	/**
-	 * Removes all opponents in the toRemove list.
+	 * Drops the dead opponents from the opponents list in a single pass,
+	 * keeping the order of the live opponents. The dropped opponents go back
+	 * to their pool.
 	 */
-	private void updateRemoveOpponents() {
-		for (NonPlayer opponent : toRemove) {
-			opponents.remove(opponent);
+	private void compactOpponents() {
+		if (deadCount == 0) {
+			return;
+		}
+		int live = 0;
+		for (int i = 0; i < opponents.size(); i++) {
+			NonPlayer opponent = opponents.get(i);
+			if (!opponent.isDead()) {
+				opponents.set(live, opponent);
+				live++;
+			} else {
+				members.remove(opponent);
+				recycle(opponent);
+			}
 		}
-		toRemove.clear();
+		opponents.subList(live, opponents.size()).clear();
+		deadCount = 0;
 	}
 
 	/**
-	 * Removes an opponent.
+	 * Removes an opponent. The opponent is destroyed and marked dead right
+	 * away, it's dropped from the opponents list during the next update, so
+	 * it's safe to remove opponents while iterating over them. Only
+	 * opponents in the list that are still alive are counted as dead.
 	 * @param opponent - opponent to remove.
 	 */
 	public void remove(NonPlayer opponent) {
-		opponent.destroy();
-		toRemove.add(opponent);
+		if (!opponent.isDead()) {
+			opponent.destroy();
+			if (members.contains(opponent)) {
+				deadCount++;
+			}
+		}
 	}
 
 	/**
@@ -103,37 +273,101 @@ public class OpponentController {
 		for (NonPlayer opponent : opponents) {
 			remove(opponent);
 		}
-		Main.actionLogger.logLine("All opponents destroyed", getClass().getSimpleName());
+		if (store != null) {
+			store.clear();
+		}
+		Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "All opponents destroyed");
 	}
 
 	/**
-	 * Checking for collisions.
+	 * Removes all opponents right away and restarts the countdown of the
+	 * BigOpponent event, so a new match starts like on a new controller.
+	 */
+	public void reset() {
+		removeAllOpponents();
+		compactOpponents();
+		updateGrid();
+		bigOpponentDelay = BIG_OPPONENT_DELAY;
+	}
+
+	/**
+	 * Checking for collisions, when the player lost the score is stored and
+	 * the game switches to the LoseState.
 	 * @param player - the current Player in the game.
 	 * @param sbg - the game holding the state.
+	 * @return true if the player lost the game, false if not.
 	 */
-	public void collide(Player player, StateBasedGame sbg) {
-		for (NonPlayer opponent : opponents) {
-			if (opponent.intersects(player)) {
-				String log = "Player collides with opponent of size " + Math.floor(opponent.getSize());
-				Main.actionLogger.logLine(log, getClass().getSimpleName());
-				if (player.getSize() > opponent.getSize()) {
-					player.eat(opponent.getSize());
-					player.playBiteSound();
+	public boolean collide(Player player, StateBasedGame sbg) {
+		if (collide(player)) {
+			ScoreController.getInstance().storePlayerScore(player.getScore());
+			sbg.enterState(LoseState.STATE_ID);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Checking for collisions. Only the opponents in the grid cells around
+	 * the player are checked, the others are too far away to collide.
+	 * Opponents in the store are checked in a single pass over its arrays.
+	 * @param player - the current Player in the game.
+	 * @return true if the player lost the game, false if not.
+	 */
+	public boolean collide(Player player) {
+		grid.query(player.getMinX(), player.getMinY(), player.getMaxX(), player.getMaxY(), candidates);
+		for (NonPlayer opponent : candidates) {
+			if (!opponent.isDead() && opponent.intersects(player)) {
+				int result = resolveCollision(player, opponent.getSize());
+				if (result == PLAYER_LOST) {
+					return true;
+				} else if (result == REMOVE_OPPONENT) {
 					remove(opponent);
-				} else {
-					if (player.hasShield()) {
-                        player.removeShield(2000);
-                    } else if (player.getLives() > 0){
-				        remove(opponent);
-				        player.Loselife();
-				    } else {
-						Main.actionLogger.logLine("Player lost the game", getClass().getSimpleName());
-						ScoreController.getInstance().storePlayerScore(player.getScore());
-						sbg.enterState(LoseState.STATE_ID);
+				}
+			}
+		}
+		if (store != null) {
+			float radiusX = (player.getMaxX() - player.getMinX()) / 2;
+			float radiusY = (player.getMaxY() - player.getMinY()) / 2;
+			float centerX = player.getMinX() + radiusX;
+			float centerY = player.getMinY() + radiusY;
+			for (int i = 0; i < store.size(); i++) {
+				if (store.intersects(i, centerX, centerY, radiusX, radiusY)) {
+					int result = resolveCollision(player, store.getSize(i));
+					if (result == PLAYER_LOST) {
+						return true;
+					} else if (result == REMOVE_OPPONENT) {
+						store.remove(i);
 					}
 				}
 			}
 		}
+		return false;
+	}
+
+	/**
+	 * Handles a collision between the player and an opponent of the given size.
+	 * @param player - the current Player in the game.
+	 * @param opponentSize - size of the opponent the player collides with.
+	 * @return REMOVE_OPPONENT when the opponent has to be removed, KEEP_OPPONENT
+	 * when it stays, PLAYER_LOST when the player lost the game.
+	 */
+	private int resolveCollision(Player player, float opponentSize) {
+		Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Player collides with opponent of size {}",
+				Math.floor(opponentSize));
+		if (player.getSize() > opponentSize) {
+			player.eat(opponentSize);
+			player.playBiteSound();
+			return REMOVE_OPPONENT;
+		}
+		if (player.hasShield()) {
+			player.removeShield(2000);
+			return KEEP_OPPONENT;
+		} else if (player.getLives() > 0) {
+			player.Loselife();
+			return REMOVE_OPPONENT;
+		}
+		Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Player lost the game");
+		return PLAYER_LOST;
 	}
 
 	/**
@@ -141,7 +375,7 @@ public class OpponentController {
 	 * @param player - the current Player in the game.
 	 */
 	private void startBigOpponentEvent(Player player) {
-		double rand = Math.random();
+		double rand = random.nextDouble();
 		bigOpponentDelay -= 10;
         if(rand < BIG_OPPONENT_SPAWN_CHANCE && !bigOpponentInstanceExists() && bigOpponentDelay < 0) {
 			BigOpponent bigOpponent = BigOpponent.createBigOpponent(player.getData(), loadResources);
@@ -163,12 +397,12 @@ public class OpponentController {
 	}
 	
 	/**
-	 * Gets the toRemove list.
+	 * Gets the number of opponents removed since the last update.
 	 * Method for testing purposes.
-	 * @return the toRemove list.
+	 * @return the number of dead opponents waiting to be dropped.
 	 */
-	public ArrayList<NonPlayer> getToRemove() {
-		return toRemove;
+	public int getDeadCount() {
+		return deadCount;
 	}
 	
 	/**
@@ -181,11 +415,40 @@ public class OpponentController {
 	}
 
 	/**
-	 * Adds an opponent to the opponent list.
+	 * Gets the pool of LinearOpponents.
+	 * Method for testing purposes.
+	 * @return the pool with the hit and miss counters.
+	 */
+	public ObjectPool<LinearOpponent> getLinearPool() {
+		return linearPool;
+	}
+
+	/**
+	 * Gets the pool of SinusOpponents.
+	 * Method for testing purposes.
+	 * @return the pool with the hit and miss counters.
+	 */
+	public ObjectPool<SinusOpponent> getSinusPool() {
+		return sinusPool;
+	}
+
+	/**
+	 * Gets the opponent store.
+	 * Method for testing purposes.
+	 * @return the OpponentStore, null when it isn't used.
+	 */
+	public OpponentStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Adds an opponent to the opponent list and the collision grid.
 	 * Method for testing purposes.
 	 * @param opponent - the opponent to be added to the opponent list.
 	 */
 	public void addOpponent(NonPlayer opponent) {
 		opponents.add(opponent);
+		members.add(opponent);
+		addToGrid(opponent);
 	}
 }
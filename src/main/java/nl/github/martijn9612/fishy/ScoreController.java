@@ -3,37 +3,73 @@ package nl.github.martijn9612.fishy;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import nl.github.martijn9612.fishy.models.Score;
+import nl.github.martijn9612.fishy.states.ScoreState;
+import nl.github.martijn9612.fishy.utils.TopKList;
 
 /**
  * The ScoreController handles the logic for maintaining a list of high
  * scores and ensuring this list is persistently stored into a file.
+ * Only the best MAX_SCORE_ENTRIES scores are kept in the list, every
+ * submitted score is appended to the ScoreHistory as well. Changes to the
+ * list are appended to a ScoreJournal, which is compacted into a snapshot
+ * in the background. Scores saved by older versions in highscores.ser are
+ * imported once.
  * 
  * @author Leon Noordam
  */
 public class ScoreController {
+	public static final int MAX_SCORE_ENTRIES = ScoreState.MAX_SCORE_ENTRIES;
 	private static final String SCORE_FILE_PATH = "highscores.ser";
+	private static final String JOURNAL_FILE_PATH = "highscores.journal";
+	private static final String SNAPSHOT_FILE_PATH = "highscores.snapshot";
+	private static final String HISTORY_FILE_PATH = "scorehistory.dat";
 	private static ScoreController instance = null;
 	
-	private List<Score> scoreList = new ArrayList<Score>();
+	private TopKList<Score> scoreList = new TopKList<Score>(MAX_SCORE_ENTRIES, new Comparator<Score>() {
+		public int compare(Score first, Score second) {
+			return first.compareTo(second);
+		}
+	});
+	private final File scoreFile;
+	private final ScoreHistory history;
+	private final ScoreJournal journal;
 	private double temporaryPlayerScore = 0;
 	
 	/**
-	 * Create a new instance of the ScoreController. The constructor
-	 * searches for the saved scores and will load them when found.
+	 * Create a new instance of the ScoreController, which stores the
+	 * scores in the working directory.
 	 */
 	private ScoreController() {
-		File savedScores = new File(SCORE_FILE_PATH);
-		if(savedScores.isFile()) {
-			unserialize();
+		this(new File("."));
+	}
+	
+	/**
+	 * Create a new instance of the ScoreController. The constructor
+	 * loads the journal, when there is none yet the scores saved by
+	 * older versions are imported.
+	 * @param directory the directory the score files are kept in.
+	 */
+	ScoreController(File directory) {
+		scoreFile = new File(directory, SCORE_FILE_PATH);
+		history = new ScoreHistory(new File(directory, HISTORY_FILE_PATH));
+		journal = new ScoreJournal(new File(directory, JOURNAL_FILE_PATH),
+				new File(directory, SNAPSHOT_FILE_PATH), ScoreJournal.DEFAULT_COMPACT_THRESHOLD);
+		boolean imported = !journal.exists() && scoreFile.isFile();
+		try {
+			journal.load(scoreList);
+			if (imported) {
+				unserialize();
+				journal.compact(scoreList.getSortedView());
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
 		}
 	}
 	
@@ -49,26 +85,39 @@ public class ScoreController {
 	}
 	
 	/**
-	 * Adds a new Score object to the list of scores. The list
-	 * with scores is automatically sorted and written to a file.
+	 * Replaces the instance of the ScoreController singleton, so tests can
+	 * use one that keeps its scores in a temporary directory.
+	 * @param controller the new instance, or null to create it again.
+	 */
+	static void setInstance(ScoreController controller) {
+		instance = controller;
+	}
+	
+	/**
+	 * Adds a new Score object to the list of scores. The score is appended
+	 * to the history, when it's one of the best scores it's appended to
+	 * the journal.
 	 * @param score instance of the Score class.
 	 */
 	public void addScore(Score score) {
-		scoreList.add(score);
-		Collections.sort(scoreList);
-		serialize();
+		try {
+			history.append(score);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		if (scoreList.offer(score)) {
+			writeJournal(ScoreJournal.RECORD_ADD, score);
+		}
 	}
 	
 	/**
 	 * Removes a Score object from the list with scores. Changes
-	 * made to the list are automatically written to a file.
+	 * made to the list are automatically appended to the journal.
 	 * @param score instance of the Score class.
 	 */
 	public void removeScore(Score score) {
-		int index = scoreList.indexOf(score);
-		if (index >= 0) {
-			scoreList.remove(index);
-			serialize();
+		if (scoreList.remove(score)) {
+			writeJournal(ScoreJournal.RECORD_DELETE, score);
 		}
 	}
 	
@@ -83,11 +132,11 @@ public class ScoreController {
 	}
 	
 	/**
-	 * Get the list of scores.
-	 * @return List<Score> object with scores.
+	 * Get the list of the best scores, the best first.
+	 * @return unmodifiable List<Score> object with scores.
 	 */
 	public List<Score> getScoreList() {
-		return scoreList;
+		return scoreList.getSortedView();
 	}
 	
 	/**
@@ -107,31 +156,46 @@ public class ScoreController {
 	}
 
 	/**
-	 * Writes the arrayList defined as field in this class to a file.
+	 * Closes the journal, after waiting for a running compaction.
 	 */
-	private void serialize() {
+	void close() {
 		try {
-			FileOutputStream fileStream = new FileOutputStream(SCORE_FILE_PATH);
-			ObjectOutputStream objectStream = new ObjectOutputStream(fileStream);
-			objectStream.writeObject(scoreList);
-			objectStream.close();
-		} catch (FileNotFoundException e) {
+			journal.close();
+		} catch (IOException e) {
 			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Appends a change of the list to the journal, and compacts the
+	 * journal when it passed its threshold.
+	 * @param type ScoreJournal.RECORD_ADD or ScoreJournal.RECORD_DELETE.
+	 * @param score the score that was added or removed.
+	 */
+	private void writeJournal(int type, Score score) {
+		try {
+			journal.append(type, score);
+			if (journal.needsCompaction()) {
+				journal.compact(scoreList.getSortedView());
+			}
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
 	}
 	
 	/**
-	 * Retrieves the arrayList defined as field in this class from a file.
+	 * Retrieves the arrayList of scores saved by older versions from a
+	 * file, only the best are kept.
 	 * The unchecked warning is suppressed because Java can't know the type.
 	 */
 	@SuppressWarnings("unchecked")
 	private void unserialize() {
 		try {
-			FileInputStream fileInput = new FileInputStream(SCORE_FILE_PATH);
+			FileInputStream fileInput = new FileInputStream(scoreFile);
 			ObjectInputStream objectInput = new ObjectInputStream(fileInput);
-			scoreList = (ArrayList<Score>) objectInput.readObject();
+			for (Score score : (ArrayList<Score>) objectInput.readObject()) {
+				scoreList.offer(score);
+			}
 			objectInput.close();
 		} catch (FileNotFoundException e) {
 			e.printStackTrace();
@@ -0,0 +1,77 @@
+package nl.github.martijn9612.fishy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.github.martijn9612.fishy.models.Score;
+
+/**
+ * The ScoreHistory keeps every score ever submitted in an append-only file.
+ * Adding a score only appends it to the end of the file, so it takes the
+ * same time however many scores were submitted before. The high score list
+ * itself only holds the best scores and is kept by the ScoreController.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class ScoreHistory {
+	private final File file;
+
+	/**
+	 * Creates a new ScoreHistory, the file is only created when the first
+	 * score is appended.
+	 * @param file - the file the scores are appended to.
+	 */
+	public ScoreHistory(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Appends a score to the history.
+	 * @param score - the submitted score.
+	 * @throws IOException - when the file can't be written.
+	 */
+	public void append(Score score) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+		try {
+			out.writeLong(System.currentTimeMillis());
+			out.writeDouble(score.getScore());
+			out.writeUTF(score.getName());
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Reads all scores of the history, in the order they were submitted. A
+	 * score cut off at the end of the file, left by a crash, is skipped.
+	 * @return the scores.
+	 * @throws IOException - when the file can't be read.
+	 */
+	public List<Score> readAll() throws IOException {
+		List<Score> scores = new ArrayList<Score>();
+		if (!file.isFile()) {
+			return scores;
+		}
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			while (in.available() > 0) {
+				in.readLong();
+				double score = in.readDouble();
+				scores.add(new Score(in.readUTF(), score));
+			}
+		} catch (EOFException e) {
+			return scores;
+		} finally {
+			in.close();
+		}
+		return scores;
+	}
+}
@@ -0,0 +1,422 @@
+package nl.github.martijn9612.fishy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import nl.github.martijn9612.fishy.models.Score;
+import nl.github.martijn9612.fishy.utils.ActionLogger;
+import nl.github.martijn9612.fishy.utils.TopKList;
+
+/**
+ * The ScoreJournal stores the high score list as a snapshot and a journal
+ * of the changes made since. Adding or removing a score appends one record
+ * of a fixed size to the journal, so a change takes the same time however
+ * many scores are kept. At startup the journal is replayed on top of the
+ * snapshot. When the journal passes a threshold it's compacted: a new
+ * journal is started and the current list is written to a new snapshot on
+ * a background thread.
+ * Every record has a checksum. A record cut off or damaged by a crash
+ * ends the journal, it's cut off at the last complete record.
+ * Both files start with a generation number, the snapshot holds all
+ * journals of a lower generation. A compaction that didn't finish leaves
+ * the previous journal behind, it's replayed and compacted at startup.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class ScoreJournal {
+	public static final int RECORD_ADD = 1;
+	public static final int RECORD_DELETE = 2;
+	public static final int NAME_BYTES = 32;
+	public static final int RECORD_SIZE = 2 + NAME_BYTES + 8 + 4;
+	public static final int HEADER_SIZE = 4 + 1 + 8;
+	public static final int DEFAULT_COMPACT_THRESHOLD = 256;
+	static final int JOURNAL_MAGIC = 0x46534a4e;
+	static final int SNAPSHOT_MAGIC = 0x4653534e;
+	static final int VERSION = 1;
+	private static final String LOG_NAME = ScoreJournal.class.getSimpleName();
+	private final File journalFile;
+	private final File previousFile;
+	private final File snapshotFile;
+	private final int compactThreshold;
+	private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+	private final CRC32 checksum = new CRC32();
+	private FileChannel channel;
+	private long generation = 0;
+	private int recordCount = 0;
+	private Thread compactor;
+
+	/**
+	 * Creates a new ScoreJournal, load has to be called before scores can
+	 * be appended.
+	 * @param journalFile - the file the changes are appended to.
+	 * @param snapshotFile - the file the compacted list is written to.
+	 * @param compactThreshold - number of records after which the journal
+	 * should be compacted.
+	 */
+	public ScoreJournal(File journalFile, File snapshotFile, int compactThreshold) {
+		if (compactThreshold <= 0) {
+			throw new IllegalArgumentException("Compact threshold must be positive");
+		}
+		this.journalFile = journalFile;
+		this.previousFile = new File(journalFile.getPath() + ".old");
+		this.snapshotFile = snapshotFile;
+		this.compactThreshold = compactThreshold;
+	}
+
+	/**
+	 * Checks whether any of the files of the journal exist.
+	 * @return true if scores were stored before, false if not.
+	 */
+	public boolean exists() {
+		return journalFile.isFile() || previousFile.isFile() || snapshotFile.isFile();
+	}
+
+	/**
+	 * Reads the snapshot and replays the journal into the list, and opens
+	 * the journal for appending.
+	 * @param scores - the list the stored scores are added to.
+	 * @throws IOException - when the files can't be read or written.
+	 */
+	public void load(TopKList<Score> scores) throws IOException {
+		ByteBuffer snapshot = readFile(snapshotFile);
+		ByteBuffer previous = readFile(previousFile);
+		ByteBuffer journal = readFile(journalFile);
+		long snapshotGeneration = readHeader(snapshot, SNAPSHOT_MAGIC);
+		long previousGeneration = readHeader(previous, JOURNAL_MAGIC);
+		long journalGeneration = readHeader(journal, JOURNAL_MAGIC);
+		boolean journalValid = journalGeneration >= snapshotGeneration && journalGeneration > previousGeneration;
+		generation = journalValid ? journalGeneration : Math.max(snapshotGeneration, previousGeneration + 1);
+		if (snapshotGeneration >= 0) {
+			applyRecords(snapshot, scores);
+			checkRecords(snapshotFile, snapshot);
+		}
+		if (previous != null) {
+			if (previousGeneration >= snapshotGeneration) {
+				applyRecords(previous, scores);
+			}
+			writeSnapshot(scores.getSortedView(), generation);
+			Files.delete(previousFile.toPath());
+		}
+		channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		if (journalValid) {
+			recordCount = applyRecords(journal, scores);
+			checkRecords(journalFile, journal);
+			channel.truncate(journal.position());
+			channel.position(journal.position());
+		} else {
+			startJournal();
+		}
+	}
+
+	/**
+	 * Appends a record to the journal.
+	 * @param type - RECORD_ADD or RECORD_DELETE.
+	 * @param score - the score that was added or removed.
+	 * @throws IOException - when the journal can't be written.
+	 */
+	public void append(int type, Score score) throws IOException {
+		if (channel == null) {
+			throw new IOException("The journal isn't loaded");
+		}
+		record.clear();
+		putRecord(record, checksum, type, score);
+		record.flip();
+		while (record.hasRemaining()) {
+			channel.write(record);
+		}
+		recordCount++;
+	}
+
+	/**
+	 * Checks whether the journal passed the threshold and no compaction is
+	 * running.
+	 * @return true if the journal should be compacted, false if not.
+	 */
+	public boolean needsCompaction() {
+		return recordCount >= compactThreshold && !isCompacting();
+	}
+
+	/**
+	 * Checks whether a snapshot is being written in the background.
+	 * @return true if a compaction is running, false if not.
+	 */
+	public boolean isCompacting() {
+		return compactor != null && compactor.isAlive();
+	}
+
+	/**
+	 * Starts a new journal and writes the scores to a new snapshot on a
+	 * background thread. The current journal is kept until the snapshot is
+	 * written, when that fails the journal is compacted at startup.
+	 * @param scores - the current list of scores.
+	 * @throws IOException - when the new journal can't be created.
+	 */
+	public void compact(List<Score> scores) throws IOException {
+		awaitCompaction();
+		if (channel == null || previousFile.exists()) {
+			return;
+		}
+		final List<Score> copy = new ArrayList<Score>(scores);
+		final long snapshotGeneration = generation + 1;
+		channel.close();
+		Files.move(journalFile.toPath(), previousFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		generation = snapshotGeneration;
+		channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		startJournal();
+		compactor = new Thread(new Runnable() {
+			public void run() {
+				try {
+					writeSnapshot(copy, snapshotGeneration);
+					Files.delete(previousFile.toPath());
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}, "ScoreJournal compactor");
+		compactor.setDaemon(true);
+		compactor.start();
+	}
+
+	/**
+	 * Waits until the running compaction is finished.
+	 */
+	public void awaitCompaction() {
+		if (compactor == null) {
+			return;
+		}
+		try {
+			compactor.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Waits for the running compaction and closes the journal.
+	 * @throws IOException - when the journal can't be closed.
+	 */
+	public void close() throws IOException {
+		awaitCompaction();
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * Gets the number of records in the current journal.
+	 * @return the number of records.
+	 */
+	public int getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Gets the generation of the current journal, it's raised by every
+	 * compaction.
+	 * @return the generation.
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Empties the open journal and writes its header.
+	 * @throws IOException - when the journal can't be written.
+	 */
+	private void startJournal() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		putHeader(header, JOURNAL_MAGIC, generation);
+		header.flip();
+		channel.truncate(0);
+		channel.position(0);
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		recordCount = 0;
+	}
+
+	/**
+	 * Writes the scores to a new snapshot. The snapshot is written to a
+	 * temporary file first, which replaces the old snapshot when it's
+	 * complete, so a crash never leaves half a snapshot.
+	 * @param scores - the scores to write.
+	 * @param snapshotGeneration - generation of the first journal that isn't
+	 * part of the snapshot.
+	 * @throws IOException - when the snapshot can't be written.
+	 */
+	private void writeSnapshot(List<Score> scores, long snapshotGeneration) throws IOException {
+		ByteBuffer data = ByteBuffer.allocate(HEADER_SIZE + scores.size() * RECORD_SIZE);
+		CRC32 snapshotChecksum = new CRC32();
+		putHeader(data, SNAPSHOT_MAGIC, snapshotGeneration);
+		for (Score score : scores) {
+			putRecord(data, snapshotChecksum, RECORD_ADD, score);
+		}
+		data.flip();
+		File temporaryFile = new File(snapshotFile.getPath() + ".tmp");
+		FileChannel out = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try {
+			while (data.hasRemaining()) {
+				out.write(data);
+			}
+			out.force(true);
+		} finally {
+			out.close();
+		}
+		Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Logs a warning when a file has bytes left after its last valid record.
+	 * @param file - the file that was read.
+	 * @param data - the contents of the file, positioned after the last valid record.
+	 */
+	private void checkRecords(File file, ByteBuffer data) {
+		if (data.hasRemaining()) {
+			Main.actionLogger.log(ActionLogger.WARN, LOG_NAME, "Dropped {} damaged bytes at the end of {}",
+					data.remaining(), file.getName());
+		}
+	}
+
+	/**
+	 * Reads all records that follow the header into the list, until the end
+	 * of the data or the first record that is incomplete or damaged.
+	 * @param data - the contents of a file, positioned after the header.
+	 * @param scores - the list the records are applied to.
+	 * @return the number of valid records, data is positioned after the last one.
+	 */
+	static int applyRecords(ByteBuffer data, TopKList<Score> scores) {
+		CRC32 recordChecksum = new CRC32();
+		int records = 0;
+		while (data.remaining() >= RECORD_SIZE) {
+			int start = data.position();
+			recordChecksum.reset();
+			recordChecksum.update(data.array(), data.arrayOffset() + start, RECORD_SIZE - 4);
+			int type = data.get();
+			int nameLength = data.get() & 0xff;
+			if ((int) recordChecksum.getValue() != data.getInt(start + RECORD_SIZE - 4)
+					|| (type != RECORD_ADD && type != RECORD_DELETE) || nameLength > NAME_BYTES) {
+				data.position(start);
+				break;
+			}
+			String name = new String(data.array(), data.arrayOffset() + data.position(), nameLength,
+					StandardCharsets.UTF_8);
+			Score score = new Score(name, data.getDouble(start + 2 + NAME_BYTES));
+			data.position(start + RECORD_SIZE);
+			if (type == RECORD_ADD) {
+				scores.offer(score);
+			} else {
+				removeEqual(scores, score);
+			}
+			records++;
+		}
+		return records;
+	}
+
+	/**
+	 * Removes the first score in the list with the same name and value.
+	 * @param scores - the list to remove from.
+	 * @param score - the score to look for.
+	 */
+	private static void removeEqual(TopKList<Score> scores, Score score) {
+		for (Score other : scores.getSortedView()) {
+			if (other.getName().equals(score.getName())
+					&& Double.compare(other.getScore(), score.getScore()) == 0) {
+				scores.remove(other);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Writes a record to the buffer, the name is cut off at NAME_BYTES bytes.
+	 * @param buffer - a heap buffer with room for the record.
+	 * @param recordChecksum - the checksum used for the record.
+	 * @param type - RECORD_ADD or RECORD_DELETE.
+	 * @param score - the score of the record.
+	 */
+	static void putRecord(ByteBuffer buffer, CRC32 recordChecksum, int type, Score score) {
+		int start = buffer.position();
+		byte[] name = encodeName(score.getName());
+		buffer.put((byte) type);
+		buffer.put((byte) name.length);
+		buffer.put(name);
+		for (int i = name.length; i < NAME_BYTES; i++) {
+			buffer.put((byte) 0);
+		}
+		buffer.putDouble(score.getScore());
+		recordChecksum.reset();
+		recordChecksum.update(buffer.array(), buffer.arrayOffset() + start, RECORD_SIZE - 4);
+		buffer.putInt((int) recordChecksum.getValue());
+	}
+
+	/**
+	 * Encodes a name as UTF-8, whole characters are cut off the end until
+	 * it fits in NAME_BYTES bytes.
+	 * @param name - the name to encode.
+	 * @return the encoded name.
+	 */
+	static byte[] encodeName(String name) {
+		String text = name;
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		while (bytes.length > NAME_BYTES) {
+			int end = text.length() - 1;
+			if (Character.isLowSurrogate(text.charAt(end)) && end > 0) {
+				end--;
+			}
+			text = text.substring(0, end);
+			bytes = text.getBytes(StandardCharsets.UTF_8);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Writes the header of a journal or snapshot.
+	 * @param buffer - the buffer to write to.
+	 * @param magic - JOURNAL_MAGIC or SNAPSHOT_MAGIC.
+	 * @param headerGeneration - the generation of the file.
+	 */
+	private static void putHeader(ByteBuffer buffer, int magic, long headerGeneration) {
+		buffer.putInt(magic);
+		buffer.put((byte) VERSION);
+		buffer.putLong(headerGeneration);
+	}
+
+	/**
+	 * Reads the header of a journal or snapshot.
+	 * @param data - the contents of the file, or null when it doesn't exist.
+	 * @param magic - the magic number the file should start with.
+	 * @return the generation of the file, or -1 when the header is missing or wrong.
+	 */
+	private static long readHeader(ByteBuffer data, int magic) {
+		if (data == null || data.remaining() < HEADER_SIZE || data.getInt() != magic || data.get() != VERSION) {
+			return -1;
+		}
+		return data.getLong();
+	}
+
+	/**
+	 * Reads a whole file, the journal is compacted before it gets large.
+	 * @param file - the file to read.
+	 * @return the contents of the file, or null when it doesn't exist.
+	 * @throws IOException - when the file can't be read.
+	 */
+	private static ByteBuffer readFile(File file) throws IOException {
+		if (!file.isFile()) {
+			return null;
+		}
+		return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+	}
+}
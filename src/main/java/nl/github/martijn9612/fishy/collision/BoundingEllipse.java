@@ -0,0 +1,89 @@
+package nl.github.martijn9612.fishy.collision;
+
+import org.newdawn.slick.geom.Ellipse;
+
+/**
+ * BoundingEllipse class, the axis aligned ellipse inside the rectangle an
+ * entity is drawn in. It's updated in place every tick, a Slick Ellipse is
+ * only created when one is asked for.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class BoundingEllipse {
+	private float centerX;
+	private float centerY;
+	private float radiusX;
+	private float radiusY;
+
+	/**
+	 * Moves and resizes the ellipse to fit in the given rectangle.
+	 * @param x - left side of the rectangle.
+	 * @param y - top side of the rectangle.
+	 * @param width - width of the rectangle.
+	 * @param height - height of the rectangle.
+	 */
+	public void set(float x, float y, float width, float height) {
+		radiusX = width / 2;
+		radiusY = height / 2;
+		centerX = x + radiusX;
+		centerY = y + radiusY;
+	}
+
+	/**
+	 * Checks whether this ellipse overlaps the other ellipse.
+	 * @param other - the ellipse to check against.
+	 * @return true if the ellipses overlap, false if not.
+	 */
+	public boolean intersects(BoundingEllipse other) {
+		return Collision.ellipsesIntersect(centerX, centerY, radiusX, radiusY,
+				other.centerX, other.centerY, other.radiusX, other.radiusY);
+	}
+
+	/**
+	 * Creates a Slick Ellipse with the same position and size, for drawing
+	 * and debugging. The Ellipse isn't updated when this ellipse changes.
+	 * @return a new Ellipse.
+	 */
+	public Ellipse toEllipse() {
+		return new Ellipse(centerX, centerY, radiusX, radiusY);
+	}
+
+	public float getCenterX() {
+		return centerX;
+	}
+
+	public float getCenterY() {
+		return centerY;
+	}
+
+	public float getRadiusX() {
+		return radiusX;
+	}
+
+	public float getRadiusY() {
+		return radiusY;
+	}
+
+	public float getMinX() {
+		return centerX - radiusX;
+	}
+
+	public float getMinY() {
+		return centerY - radiusY;
+	}
+
+	public float getMaxX() {
+		return centerX + radiusX;
+	}
+
+	public float getMaxY() {
+		return centerY + radiusY;
+	}
+
+	public float getWidth() {
+		return radiusX * 2;
+	}
+
+	public float getHeight() {
+		return radiusY * 2;
+	}
+}
@@ -0,0 +1,82 @@
+package nl.github.martijn9612.fishy.collision;
+
+/**
+ * Collision class, holds the closed-form overlap tests used for the
+ * bounding boxes of entities. None of the tests create objects.
+ * Software Engineering Methods Project - Group 11.
+ */
+public final class Collision {
+
+	/**
+	 * Utility class, no instances.
+	 */
+	private Collision() {
+	}
+
+	/**
+	 * Checks whether two circles overlap, touching counts as overlapping.
+	 * @param centerX1 - x coordinate of the center of the first circle.
+	 * @param centerY1 - y coordinate of the center of the first circle.
+	 * @param radius1 - radius of the first circle.
+	 * @param centerX2 - x coordinate of the center of the second circle.
+	 * @param centerY2 - y coordinate of the center of the second circle.
+	 * @param radius2 - radius of the second circle.
+	 * @return true if the circles overlap, false if not.
+	 */
+	public static boolean circlesIntersect(float centerX1, float centerY1, float radius1,
+			float centerX2, float centerY2, float radius2) {
+		float dx = centerX2 - centerX1;
+		float dy = centerY2 - centerY1;
+		float radii = radius1 + radius2;
+		return dx * dx + dy * dy <= radii * radii;
+	}
+
+	/**
+	 * Checks whether two axis aligned ellipses overlap. Both ellipses are
+	 * measured along the line through their centers, and they overlap when
+	 * the distance between the centers is at most the sum of both radii in
+	 * that direction. This is exact for circles and for ellipses lined up
+	 * along an axis, and close enough for diagonal cases of the game.
+	 * @param centerX1 - x coordinate of the center of the first ellipse.
+	 * @param centerY1 - y coordinate of the center of the first ellipse.
+	 * @param radiusX1 - horizontal radius of the first ellipse.
+	 * @param radiusY1 - vertical radius of the first ellipse.
+	 * @param centerX2 - x coordinate of the center of the second ellipse.
+	 * @param centerY2 - y coordinate of the center of the second ellipse.
+	 * @param radiusX2 - horizontal radius of the second ellipse.
+	 * @param radiusY2 - vertical radius of the second ellipse.
+	 * @return true if the ellipses overlap, false if not.
+	 */
+	public static boolean ellipsesIntersect(float centerX1, float centerY1, float radiusX1, float radiusY1,
+			float centerX2, float centerY2, float radiusX2, float radiusY2) {
+		if (radiusX1 == radiusY1 && radiusX2 == radiusY2) {
+			return circlesIntersect(centerX1, centerY1, radiusX1, centerX2, centerY2, radiusX2);
+		}
+		float dx = centerX2 - centerX1;
+		float dy = centerY2 - centerY1;
+		if (dx == 0 && dy == 0) {
+			return true;
+		}
+		return getRadiusFraction(radiusX1, radiusY1, dx, dy)
+				+ getRadiusFraction(radiusX2, radiusY2, dx, dy) >= 1;
+	}
+
+	/**
+	 * Gets the radius of an ellipse in the direction (dx, dy), as a fraction
+	 * of the length of (dx, dy).
+	 * @param radiusX - horizontal radius of the ellipse.
+	 * @param radiusY - vertical radius of the ellipse.
+	 * @param dx - horizontal component of the direction.
+	 * @param dy - vertical component of the direction.
+	 * @return the radius divided by the length of the direction.
+	 */
+	private static float getRadiusFraction(float radiusX, float radiusY, float dx, float dy) {
+		float scaledX = radiusY * dx;
+		float scaledY = radiusX * dy;
+		float length = (float) Math.sqrt(scaledX * scaledX + scaledY * scaledY);
+		if (length == 0) {
+			return 0;
+		}
+		return radiusX * radiusY / length;
+	}
+}
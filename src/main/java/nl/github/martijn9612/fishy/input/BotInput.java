@@ -0,0 +1,86 @@
+package nl.github.martijn9612.fishy.input;
+
+import nl.github.martijn9612.fishy.OpponentController;
+import nl.github.martijn9612.fishy.models.NonPlayer;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.opponents.OpponentStore;
+
+/**
+ * BotInput class, steers the player without a human. Every opponent pulls
+ * the player towards it when it can be eaten and pushes it away when it's
+ * bigger, the closer the opponent the stronger. The player swims in the
+ * directions of the sum, so it chases food and flees from danger.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class BotInput implements InputSource {
+	private static final float FLEE_WEIGHT = 3;
+	private static final float DEAD_ZONE = 0.001f;
+	private final Player player;
+	private final OpponentController opponentController;
+	private float steerX;
+	private float steerY;
+
+	/**
+	 * Creates a new BotInput.
+	 * @param player - the player that's steered.
+	 * @param opponentController - the controller holding the opponents.
+	 */
+	public BotInput(Player player, OpponentController opponentController) {
+		this.player = player;
+		this.opponentController = opponentController;
+	}
+
+	/**
+	 * Gets the directions towards the food and away from the danger.
+	 * @return the MOVE_ flags to swim in.
+	 */
+	public int poll() {
+		steerX = 0;
+		steerY = 0;
+		for (NonPlayer opponent : opponentController.getOpponents()) {
+			if (!opponent.isDead()) {
+				steer((opponent.getMinX() + opponent.getMaxX()) / 2,
+						(opponent.getMinY() + opponent.getMaxY()) / 2, opponent.getSize());
+			}
+		}
+		OpponentStore store = opponentController.getStore();
+		if (store != null) {
+			for (int i = 0; i < store.size(); i++) {
+				if (!store.isDead(i)) {
+					steer(store.getX(i) + store.getWidth(i) / 2,
+							store.getY(i) + store.getHeight(i) / 2, store.getSize(i));
+				}
+			}
+		}
+		int moves = NONE;
+		if (steerX < -DEAD_ZONE) {
+			moves |= MOVE_LEFT;
+		} else if (steerX > DEAD_ZONE) {
+			moves |= MOVE_RIGHT;
+		}
+		if (steerY < -DEAD_ZONE) {
+			moves |= MOVE_UP;
+		} else if (steerY > DEAD_ZONE) {
+			moves |= MOVE_DOWN;
+		}
+		return moves;
+	}
+
+	/**
+	 * Adds the pull or push of a single opponent to the steering direction.
+	 * @param x - x coordinate of the center of the opponent.
+	 * @param y - y coordinate of the center of the opponent.
+	 * @param size - size of the opponent.
+	 */
+	private void steer(float x, float y, float size) {
+		float dx = x - (player.getMinX() + player.getMaxX()) / 2;
+		float dy = y - (player.getMinY() + player.getMaxY()) / 2;
+		float distanceSquared = dx * dx + dy * dy;
+		if (distanceSquared == 0) {
+			return;
+		}
+		float weight = size < player.getSize() ? 1 : -FLEE_WEIGHT;
+		steerX += weight * dx / distanceSquared;
+		steerY += weight * dy / distanceSquared;
+	}
+}
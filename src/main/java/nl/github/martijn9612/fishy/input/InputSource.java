@@ -0,0 +1,22 @@
+package nl.github.martijn9612.fishy.input;
+
+/**
+ * InputSource interface, gives the directions the player swims in during a
+ * tick. The directions are bit flags, so the input of a tick is a single int
+ * which is cheap to record, compare and replay.
+ * Software Engineering Methods Project - Group 11.
+ */
+public interface InputSource {
+	int NONE = 0;
+	int MOVE_LEFT = 1;
+	int MOVE_RIGHT = 1 << 1;
+	int MOVE_UP = 1 << 2;
+	int MOVE_DOWN = 1 << 3;
+	int ALL_MOVES = MOVE_LEFT | MOVE_RIGHT | MOVE_UP | MOVE_DOWN;
+
+	/**
+	 * Gets the input of the next tick, called once per tick.
+	 * @return the MOVE_ flags of the directions to swim in.
+	 */
+	int poll();
+}
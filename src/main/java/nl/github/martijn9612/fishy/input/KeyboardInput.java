@@ -0,0 +1,40 @@
+package nl.github.martijn9612.fishy.input;
+
+import org.newdawn.slick.Input;
+
+/**
+ * KeyboardInput class, reads the arrow keys and WASD from the Slick Input.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class KeyboardInput implements InputSource {
+	private final Input input;
+
+	/**
+	 * Creates a new KeyboardInput.
+	 * @param input - the input of the GameContainer.
+	 */
+	public KeyboardInput(Input input) {
+		this.input = input;
+	}
+
+	/**
+	 * Gets the directions of the keys held down.
+	 * @return the MOVE_ flags of the keys held down.
+	 */
+	public int poll() {
+		int flags = NONE;
+		if (input.isKeyDown(Input.KEY_A) || input.isKeyDown(Input.KEY_LEFT)) {
+			flags |= MOVE_LEFT;
+		}
+		if (input.isKeyDown(Input.KEY_D) || input.isKeyDown(Input.KEY_RIGHT)) {
+			flags |= MOVE_RIGHT;
+		}
+		if (input.isKeyDown(Input.KEY_W) || input.isKeyDown(Input.KEY_UP)) {
+			flags |= MOVE_UP;
+		}
+		if (input.isKeyDown(Input.KEY_S) || input.isKeyDown(Input.KEY_DOWN)) {
+			flags |= MOVE_DOWN;
+		}
+		return flags;
+	}
+}
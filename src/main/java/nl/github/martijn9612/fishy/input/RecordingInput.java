@@ -0,0 +1,53 @@
+package nl.github.martijn9612.fishy.input;
+
+import java.util.Arrays;
+
+/**
+ * RecordingInput class, passes the input of another source on and keeps
+ * the flags of every tick, so the match can be replayed with a ReplayInput.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class RecordingInput implements InputSource {
+	private static final int INITIAL_CAPACITY = 1024;
+	private final InputSource source;
+	private int[] ticks = new int[INITIAL_CAPACITY];
+	private int size = 0;
+
+	/**
+	 * Creates a new RecordingInput.
+	 * @param source - the input that's recorded.
+	 */
+	public RecordingInput(InputSource source) {
+		this.source = source;
+	}
+
+	/**
+	 * Gets the input of the source and records it.
+	 * @return the MOVE_ flags of the source.
+	 */
+	public int poll() {
+		int moves = source.poll();
+		if (size == ticks.length) {
+			ticks = Arrays.copyOf(ticks, size * 2);
+		}
+		ticks[size] = moves;
+		size++;
+		return moves;
+	}
+
+	/**
+	 * Gets a copy of the recorded flags, one per tick.
+	 * @return the recorded flags.
+	 */
+	public int[] getRecording() {
+		return Arrays.copyOf(ticks, size);
+	}
+
+	/**
+	 * Gets the number of recorded ticks.
+	 * @return the number of ticks.
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,40 @@
+package nl.github.martijn9612.fishy.input;
+
+/**
+ * ReplayInput class, plays the flags recorded by a RecordingInput back,
+ * one per tick. After the recording ended the player stands still.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class ReplayInput implements InputSource {
+	private final int[] ticks;
+	private int position = 0;
+
+	/**
+	 * Creates a new ReplayInput.
+	 * @param ticks - the recorded flags, one per tick.
+	 */
+	public ReplayInput(int[] ticks) {
+		this.ticks = ticks;
+	}
+
+	/**
+	 * Gets the recorded flags of the next tick.
+	 * @return the recorded MOVE_ flags, NONE after the recording ended.
+	 */
+	public int poll() {
+		if (position >= ticks.length) {
+			return NONE;
+		}
+		int moves = ticks[position];
+		position++;
+		return moves;
+	}
+
+	/**
+	 * Checks whether all recorded ticks were played.
+	 * @return true if the recording ended, false if not.
+	 */
+	public boolean isFinished() {
+		return position >= ticks.length;
+	}
+}
@@ -0,0 +1,82 @@
+package nl.github.martijn9612.fishy.input;
+
+import java.util.Arrays;
+
+/**
+ * ScriptedInput class, plays a fixed sequence of steps, each holding the
+ * same directions for a number of ticks. After the last step the player
+ * stands still, or the script starts over when it loops.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class ScriptedInput implements InputSource {
+	private static final int INITIAL_CAPACITY = 8;
+	private final boolean loop;
+	private int[] flags = new int[INITIAL_CAPACITY];
+	private int[] durations = new int[INITIAL_CAPACITY];
+	private int steps = 0;
+	private int step = 0;
+	private int ticksInStep = 0;
+
+	/**
+	 * Creates a new ScriptedInput which stops after the last step.
+	 */
+	public ScriptedInput() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new ScriptedInput.
+	 * @param loop - when true the script starts over after the last step.
+	 */
+	public ScriptedInput(boolean loop) {
+		this.loop = loop;
+	}
+
+	/**
+	 * Adds a step to the end of the script.
+	 * @param moves - the MOVE_ flags held during the step.
+	 * @param ticks - number of ticks the step lasts.
+	 * @return this ScriptedInput, so steps can be chained.
+	 */
+	public ScriptedInput add(int moves, int ticks) {
+		if (ticks <= 0) {
+			throw new IllegalArgumentException("A step must last at least one tick");
+		}
+		if (steps == flags.length) {
+			flags = Arrays.copyOf(flags, steps * 2);
+			durations = Arrays.copyOf(durations, steps * 2);
+		}
+		flags[steps] = moves & ALL_MOVES;
+		durations[steps] = ticks;
+		steps++;
+		return this;
+	}
+
+	/**
+	 * Gets the directions of the current step and moves on one tick.
+	 * @return the MOVE_ flags of the current step, NONE after the script ended.
+	 */
+	public int poll() {
+		if (step == steps && loop) {
+			step = 0;
+		}
+		if (step >= steps) {
+			return NONE;
+		}
+		int moves = flags[step];
+		ticksInStep++;
+		if (ticksInStep == durations[step]) {
+			ticksInStep = 0;
+			step++;
+		}
+		return moves;
+	}
+
+	/**
+	 * Checks whether all steps were played, a looping script never ends.
+	 * @return true if the script ended, false if not.
+	 */
+	public boolean isFinished() {
+		return !loop && step >= steps;
+	}
+}
@@ -7,13 +7,14 @@ import org.newdawn.slick.SlickException;
 import nl.github.martijn9612.fishy.position.DrawRectangle;
 import nl.github.martijn9612.fishy.position.MousePosition;
 import nl.github.martijn9612.fishy.position.MouseRectangle;
+import nl.github.martijn9612.fishy.utils.TextureCache;
 
 public class Button extends Image {
 	private DrawRectangle drawRectangle;
 	private MouseRectangle mouseRectangle;
 	
 	public Button(int x, int y, String resource) throws SlickException {
-		super(resource);
+		super(TextureCache.getInstance().acquire(resource));
 		drawRectangle = new DrawRectangle(x, y, getWidth(), getHeight());
 		mouseRectangle = drawRectangle.getMouseRectangle();
 	}
@@ -7,7 +7,11 @@ import org.newdawn.slick.SlickException;
 import org.newdawn.slick.geom.Ellipse;
 
 import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.collision.BoundingEllipse;
 import nl.github.martijn9612.fishy.utils.MusicPlayer;
+import nl.github.martijn9612.fishy.utils.ScaledImageCache;
+import nl.github.martijn9612.fishy.utils.SpriteBatch;
+import nl.github.martijn9612.fishy.utils.TextureCache;
 
 /**
  * Implements the basic object in the game on which players and opponents are
@@ -23,9 +27,12 @@ public abstract class Entity {
 	private Moveable data;
 	private int orientation = IMAGE_ORIENTATE_LEFT;
 	private Vector oldDimensions;
+	private String imageResource;
 	private Image originalImage;
+	private Image flippedImage;
 	private Image scaledImage;
-	private Ellipse boundingBox;
+	private Image flippedScaledImage;
+	private BoundingEllipse boundingBox;
 
 	/**
 	 * Setup a new Entity object.
@@ -43,12 +50,13 @@ public abstract class Entity {
 	 * Loads the resources associated with this entity. These are
 	 * the given sprite location and the musicPlayer instance. Also,
 	 * a scaled copy of the sprite is made related to the dimensions.
+	 * The sprite itself is shared with other entities by the TextureCache.
 	 * @param imagePath - resource path to filesystem location of the sprite.
 	 */
 	public void loadResources(String imagePath) {
 		if (hasOpenGL) {
 			try {
-				originalImage = new Image(imagePath);
+				acquireImage(imagePath);
 				musicPlayer = MusicPlayer.getInstance();
 				getScaledImage();
 			} catch (Exception e) {
@@ -63,28 +71,59 @@ public abstract class Entity {
 	 */
 	public void loadImage(String imagePath) {
 		try {
-			originalImage = new Image(imagePath);
-			if (orientation != 0) {
-                originalImage = originalImage.getFlippedCopy(true, false);
-			}
+			releaseResources();
+			acquireImage(imagePath);
+			scaledImage = null;
 			getScaledImage();
 		} catch (SlickException e) {
 			e.printStackTrace();
 		}
 
 	}
+
+	/**
+	 * Prepares a reused entity after its Moveable data was reinitialised.
+	 * The sprite is acquired again and scaled to the new dimensions, the
+	 * orientation is reset and the bounding box is moved to the new position.
+	 * @param imagePath - resource path to filesystem location of the sprite.
+	 */
+	protected void reinitialise(String imagePath) {
+		releaseResources();
+		scaledImage = null;
+		orientation = IMAGE_ORIENTATE_LEFT;
+		loadResources(imagePath);
+		updateBoundingbox();
+	}
+
+	/**
+	 * Releases the sprite of this entity, so the TextureCache can free it
+	 * when no other entity uses it anymore. Calling it twice has no effect.
+	 */
+	public void releaseResources() {
+		if (imageResource != null) {
+			TextureCache.getInstance().release(imageResource);
+			imageResource = null;
+		}
+	}
+
+	/**
+	 * Gets the shared sprite for the given path from the TextureCache.
+	 * @param imagePath - resource path to filesystem location of the sprite.
+	 * @throws SlickException - when the sprite could not be loaded.
+	 */
+	private void acquireImage(String imagePath) throws SlickException {
+		originalImage = TextureCache.getInstance().acquire(imagePath);
+		flippedImage = TextureCache.getInstance().getFlipped(imagePath);
+		imageResource = imagePath;
+	}
 	
 	/**
-	 * Set the orientation of the sprite. When the orientation changes,
-	 * a new copy is made by flipping the y axis and will be stored.
+	 * Set the orientation of the sprite. Both orientations of the scaled
+	 * sprite are kept, so changing it only selects the other copy.
 	 * @param newOrientation - integer defining the orientation.
 	 */
 	public void setImageOrientation(int newOrientation) {
-		if (orientation != newOrientation) {
-			scaledImage = scaledImage.getFlippedCopy(true, false);
-			originalImage = originalImage.getFlippedCopy(true, false);
-			orientation = newOrientation;
-		}
+		orientation = newOrientation;
     }
 
 	/**
@@ -95,9 +134,28 @@ public abstract class Entity {
         if (hasOpenGL) {
 			Image image = getScaledImage();
 			g.drawImage(image, getData().getPosition().x, getData().getPosition().y);
-			if (Main.DEBUG_MODE) {
-				g.drawOval(boundingBox.getX(), boundingBox.getY(), boundingBox.getWidth(), boundingBox.getHeight());
-			}
+		}
+		renderOverlay(g);
+	}
+
+	/**
+	 * Adds the sprite of the object to the batch, which draws it on flush.
+	 * The overlay has to be rendered separately, after the batch is flushed.
+	 * @param batch - the batch collecting the sprites of this frame.
+	 */
+	public void renderObject(SpriteBatch batch) {
+		if (hasOpenGL) {
+			batch.draw(getScaledImage(), getData().getPosition().x, getData().getPosition().y);
+		}
+	}
+
+	/**
+	 * Renders what is drawn on top of the sprite, the boundary box when enabled.
+	 * @param g - the graphics content used to render.
+	 */
+	public void renderOverlay(Graphics g) {
+		if (hasOpenGL && Main.DEBUG_MODE) {
+			g.drawOval(getMinX(), getMinY(), boundingBox.getWidth(), boundingBox.getHeight());
 		}
 	}
 
@@ -115,48 +173,81 @@ public abstract class Entity {
 	 * @return boolean, true if they collide, false if not.
 	 */
 	public boolean intersects(Entity entity) {
-		return boundingBox.intersects(entity.getEllipse());
+		return boundingBox.intersects(entity.boundingBox);
+	}
+
+	/**
+	 * Gets the left side of the rectangle around the bounding box.
+	 * @return the smallest x coordinate of the bounding box.
+	 */
+	public float getMinX() {
+		return boundingBox.getMinX();
+	}
+
+	/**
+	 * Gets the top side of the rectangle around the bounding box.
+	 * @return the smallest y coordinate of the bounding box.
+	 */
+	public float getMinY() {
+		return boundingBox.getMinY();
+	}
+
+	/**
+	 * Gets the right side of the rectangle around the bounding box.
+	 * @return the largest x coordinate of the bounding box.
+	 */
+	public float getMaxX() {
+		return boundingBox.getMaxX();
+	}
+
+	/**
+	 * Gets the bottom side of the rectangle around the bounding box.
+	 * @return the largest y coordinate of the bounding box.
+	 */
+	public float getMaxY() {
+		return boundingBox.getMaxY();
 	}
 
 	/**
-	 * Get the bounding box ellipse instance and returns it.
-	 * @return Ellipse - the bounding box.
+	 * Creates a Slick Ellipse matching the bounding box, for drawing and debugging.
+	 * @return Ellipse - a new copy of the bounding box.
 	 */
 	public Ellipse getEllipse() {
-		return boundingBox;
+		return boundingBox.toEllipse();
 	}
 
 	/**
 	 * Updates the bounding box around the entity according to the dimensions.
-	 * When the bounding box wasn't calculated before, a new Ellipse instance is
-	 * created to act as bounding box.
+	 * When the bounding box wasn't calculated before, a new BoundingEllipse
+	 * instance is created to act as bounding box.
 	 */
 	public void updateBoundingbox() {
-		float radiiX = (getData().getDimensions().x / 2);
-		float radiiY = (getData().getDimensions().y / 2);
-
 		if (boundingBox == null) {
-			boundingBox = new Ellipse(getData().getPosition().x, getData().getPosition().y, radiiX, radiiY);
-		} else {
-			boundingBox.setLocation(getData().getPosition());
-			boundingBox.setRadii(radiiX, radiiY);
+			boundingBox = new BoundingEllipse();
 		}
+		Vector position = getData().getPosition();
+		Vector dimensions = getData().getDimensions();
+		boundingBox.set(position.x, position.y, dimensions.x, dimensions.y);
     }
 
 	/**
-	 * Get a scaled version of the image sprite. When the dimensions of an
-	 * entity changes, a new copy from the original sprite is created and
-	 * returned.
+	 * Get a scaled version of the image sprite in the current orientation.
+	 * When the dimensions of an entity change, the copies for the new size
+	 * are looked up in the ScaledImageCache, which shares them with other
+	 * entities.
 	 * @return Image - a scaled version of the entity image.
 	 */
 	private Image getScaledImage() {
-		if (!oldDimensions.equals(getData().getDimensions())) {
-			int width = Math.round(getData().getDimensions().x);
-			int height = Math.round(getData().getDimensions().y);
-            scaledImage = originalImage.getScaledCopy(width, height);
-			oldDimensions = getData().getDimensions();
+		if (scaledImage == null || !oldDimensions.equals(getData().getDimensions())) {
+			Vector dimensions = getData().getDimensions();
+			ScaledImageCache cache = ScaledImageCache.getInstance();
+			scaledImage = cache.getScaledImage(imageResource, originalImage,
+					dimensions.x, dimensions.y, IMAGE_ORIENTATE_LEFT);
+			flippedScaledImage = cache.getScaledImage(imageResource, flippedImage,
+					dimensions.x, dimensions.y, IMAGE_ORIENTATE_RIGHT);
+			oldDimensions = dimensions;
 		}
-        return scaledImage;
+        return (orientation == IMAGE_ORIENTATE_RIGHT ? flippedScaledImage : scaledImage);
 	}
 
 	/**
@@ -167,12 +258,12 @@ public abstract class Entity {
 	public abstract void objectLogic(GameContainer gc, int deltaTime);
 
 	/**
-	 * Gets the bounding box of the given entity.
+	 * Gets the bounding box of the given entity as a Slick Ellipse.
 	 * Method for testing purposes.
-	 * @return Ellipse - the bounding box.
+	 * @return Ellipse - a new copy of the bounding box.
 	 */
 	public Ellipse getBoundingBox() {
-	    return boundingBox;
+	    return getEllipse();
 	}
 
 	public Moveable getData() {
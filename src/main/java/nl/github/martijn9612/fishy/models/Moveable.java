@@ -24,16 +24,17 @@ public class Moveable {
     
     /**
      * Calculates the drag force the water applies to the player.
+     * The drag has magnitude coefficient * speed^2 and points against the
+     * velocity, so it equals -coefficient * speed * velocity.
      * @param waterDragCoefficient - the amount of drag foce the water applies.
      */
     public void applyWaterDrag(float waterDragCoefficient) {
 		float speed = getVelocity().length();
-		float dragMagnitude = waterDragCoefficient * speed * speed;
-		Vector drag = getVelocity().copy();
-		drag.negateLocal();
-		drag.normalise();
-		drag.scale(dragMagnitude);
-		applyForce(drag);
+		if (speed == 0) {
+			return;
+		}
+		float dragScale = -waterDragCoefficient * speed;
+		applyForce(getVelocity().x * dragScale, getVelocity().y * dragScale);
 	}
     
     /**
@@ -41,9 +42,36 @@ public class Moveable {
      * @param force - Force to be applied to the player.
      */
     public void applyForce(Vector force) {
-		Vector newForce = force.copy();
-		newForce.scale(1 / getMass());
-		getAcceleration().add(newForce);
+		applyForce(force.x, force.y);
+	}
+
+    /**
+     * Applies a force to the player without creating a Vector for it.
+     * @param forceX - horizontal component of the force.
+     * @param forceY - vertical component of the force.
+     */
+    public void applyForce(float forceX, float forceY) {
+		float inverseMass = 1 / getMass();
+		getAcceleration().x += forceX * inverseMass;
+		getAcceleration().y += forceY * inverseMass;
+	}
+
+    /**
+     * Resets the object in place so it can be reused, without creating new Vectors.
+     * The acceleration is cleared and the mass is set back to 1.
+     * @param x - new x position.
+     * @param y - new y position.
+     * @param velocityX - new horizontal velocity.
+     * @param velocityY - new vertical velocity.
+     * @param width - new width.
+     * @param height - new height.
+     */
+    public void reinitialise(float x, float y, float velocityX, float velocityY, float width, float height) {
+		getPosition().set(x, y);
+		getVelocity().set(velocityX, velocityY);
+		getDimensions().set(width, height);
+		getAcceleration().set(0, 0);
+		setMass(1);
 	}
 
 	public Vector getPosition() {
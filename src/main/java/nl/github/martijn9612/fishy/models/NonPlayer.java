@@ -15,6 +15,7 @@ public abstract class NonPlayer extends Entity {
 	 * outside of the level boundaries to be considered off the screen.
 	 */
 	public static final int OPPONENT_FACTOR = 5;
+	private boolean dead = false;
 
 	/**
 	 * Creates a new NonPlayer, based on the Entity class.
@@ -30,12 +31,23 @@ public abstract class NonPlayer extends Entity {
 	 * @return returns true if the opponent is not visible on the screen.
 	 */
 	public boolean isOffScreen() {
-		if (getData().getPosition().x < 0 - getData().getDimensions().x * OPPONENT_FACTOR - 1
-				|| getData().getPosition().x > Main.WINDOW_WIDTH + getData().getDimensions().x * OPPONENT_FACTOR + 1) {
+		return isOffScreen(getData().getPosition().x, getData().getPosition().y,
+				getData().getDimensions().x, getData().getDimensions().y);
+	}
+
+	/**
+	 * Checks whether an opponent at the given position is visible on the screen.
+	 * @param x - x position of the opponent.
+	 * @param y - y position of the opponent.
+	 * @param width - width of the opponent.
+	 * @param height - height of the opponent.
+	 * @return returns true if the opponent is not visible on the screen.
+	 */
+	public static boolean isOffScreen(float x, float y, float width, float height) {
+		if (x < 0 - width * OPPONENT_FACTOR - 1 || x > Main.WINDOW_WIDTH + width * OPPONENT_FACTOR + 1) {
 			return true;
 		}
-		if (getData().getPosition().y < 0 - getData().getDimensions().y * OPPONENT_FACTOR - 1
-				|| getData().getPosition().y > Main.WINDOW_HEIGHT + getData().getDimensions().y * OPPONENT_FACTOR + 1) {
+		if (y < 0 - height * OPPONENT_FACTOR - 1 || y > Main.WINDOW_HEIGHT + height * OPPONENT_FACTOR + 1) {
 			return true;
 		}
 		return false;
@@ -43,11 +55,31 @@ public abstract class NonPlayer extends Entity {
 
 	/**
 	 * Notify the Opponent instance that it won't be updated anymore.
+	 * The sprite is released so it can be freed when it's no longer used.
 	 */
 	public void destroy() {
-		// Blank
+		dead = true;
+		releaseResources();
 	};
 
+	/**
+	 * Brings a destroyed NonPlayer back into the game, see Entity.reinitialise.
+	 * @param imagePath - resource path to filesystem location of the sprite.
+	 */
+	@Override
+	protected void reinitialise(String imagePath) {
+		dead = false;
+		super.reinitialise(imagePath);
+	}
+
+	/**
+	 * Checks whether the NonPlayer has been destroyed.
+	 * @return true if the NonPlayer is destroyed, false if it's still in the game.
+	 */
+	public boolean isDead() {
+		return dead;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
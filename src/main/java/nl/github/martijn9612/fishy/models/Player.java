@@ -1,24 +1,26 @@
 package nl.github.martijn9612.fishy.models;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Random;
 
 import org.newdawn.slick.Color;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
-import org.newdawn.slick.Input;
-import org.newdawn.slick.geom.Ellipse;
 
 import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.input.InputSource;
 import nl.github.martijn9612.fishy.powerups.Shield;
 import nl.github.martijn9612.fishy.states.LevelState;
+import nl.github.martijn9612.fishy.utils.ActionLogger;
+import nl.github.martijn9612.fishy.utils.GameRandom;
 import nl.github.martijn9612.fishy.utils.MusicPlayer;
+import nl.github.martijn9612.fishy.utils.TimerWheel;
 
 /**
  * Implements the playable character of the game.
  * Software Engineering Methods Project - Group 11.
  */
 public class Player extends Entity {
+    private static final String LOG_NAME = Player.class.getSimpleName();
     private static final float PLAYER_WIDTH = 16;
     private static final float PLAYER_HEIGHT = 16;
     private static final float WATER_DRAG = 0.3f;
@@ -44,10 +46,32 @@ public class Player extends Entity {
     private float playerMaxSpeed = PLAYER_DEFAULT_MAX_SPEED;
     private float playerMoveForce = PLAYER_DEFAULT_FORCE;
     private int shieldState = Shield.STATE_NONE;
-    private Timer speedUpTimer = new Timer();
-    private Timer poisonTimer = new Timer();
-    private Timer shieldTimer = new Timer();
-    private Timer shieldRemover = new Timer();
+    private int shieldFadeTime = 0;
+    private InputSource inputSource;
+    private final Random random;
+    private final TimerWheel timers = new TimerWheel();
+    private final TimerWheel.Timeout speedUpTimer = new TimerWheel.Timeout(new Runnable() {
+        public void run() {
+            playerMaxSpeed = PLAYER_DEFAULT_MAX_SPEED;
+            playerMoveForce = PLAYER_DEFAULT_FORCE;
+            getData().setMass(PLAYER_DEFAULT_MASS);
+        }
+    });
+    private final TimerWheel.Timeout poisonTimer = new TimerWheel.Timeout(new Runnable() {
+        public void run() {
+            poisoned = false;
+        }
+    });
+    private final TimerWheel.Timeout shieldTimer = new TimerWheel.Timeout(new Runnable() {
+        public void run() {
+            removeShield(shieldFadeTime);
+        }
+    });
+    private final TimerWheel.Timeout shieldRemover = new TimerWheel.Timeout(new Runnable() {
+        public void run() {
+            shieldState = Shield.STATE_NONE;
+        }
+    });
 
     /**
      * Creates a new default Player instance, based on the Entity class.
@@ -56,8 +80,19 @@ public class Player extends Entity {
      * @return Player - a new Player instance.
      */
     public Player(Moveable data, boolean loadResources) {
+    	this(data, loadResources, new GameRandom());
+    }
+
+    /**
+     * Creates a new Player instance, based on the Entity class.
+     * @param data - the moveable data of the new Player.
+     * @param loadResources - true if OpenGL context should be loaded, false if not.
+     * @param random - the random stream of the player, used for the sounds.
+     */
+    public Player(Moveable data, boolean loadResources, Random random) {
     	super(data, loadResources);
-    	Main.actionLogger.logLine("Player succesfully created", getClass().getSimpleName());
+    	this.random = random;
+    	Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Player succesfully created");
     	loadResources(PLAYER_SPRITE);
     }
     
@@ -67,39 +102,57 @@ public class Player extends Entity {
 	 * @return Player - a new Player instance
 	 */
 	public static Player createPlayer(boolean loadResources) {
+		return createPlayer(loadResources, new GameRandom());
+	}
+
+	/**
+	 * Creates a new Player instance.
+	 * @param loadResources - true if OpenGL context should be loaded, false if not.
+	 * @param random - the random stream of the player, used for the sounds.
+	 * @return Player - a new Player instance
+	 */
+	public static Player createPlayer(boolean loadResources, Random random) {
 		Moveable data = new Moveable();
 		data.setDimensions(new Vector(PLAYER_WIDTH, PLAYER_HEIGHT));
 		data.setPosition(Vector.centerOfScreen());
 		data.setMass(PLAYER_DEFAULT_MASS);
-		return new Player(data, loadResources);
+		return new Player(data, loadResources, random);
 	}
 	
 	/**
-	 * Extends the super method which renders the object and
-	 * its boundary box by drawing the shield when necessary.
+	 * Extends the super method which renders the boundary
+	 * box by drawing the shield when necessary.
 	 * @param g - the graphics content used to render.
 	 */
-	public void renderObject(Graphics g) {
-        super.renderObject(g);
+	@Override
+	public void renderOverlay(Graphics g) {
+        super.renderOverlay(g);
         if(shieldState != Shield.STATE_NONE) {
         	g.setLineWidth(2.0f);
         	g.setColor(shieldState == Shield.STATE_FULL ? Color.red : Color.yellow);
-        	Ellipse boundingBox = getBoundingBox();
-        	g.drawOval(boundingBox.getX(), boundingBox.getY(), boundingBox.getWidth()+1, boundingBox.getHeight()+1);
+        	g.drawOval(getMinX(), getMinY(), getMaxX() - getMinX() + 1, getMaxY() - getMinY() + 1);
         	g.setLineWidth(1.0f);
         }
 	}
     
 	/**
-	 * Updates the player movement logic and polls the keyboard.
+	 * Updates the player movement logic and polls the input source.
 	 * The player will be moved realistically in an environment of
-	 * water. Also the user input on the keyboard is handled here.
+	 * water. Without an input source the player doesn't swim.
 	 * @param gc - the container holding the game.
      * @param deltaTime - time elapsed since method was called in milliseconds.
 	 */
     public void objectLogic(GameContainer gc, int deltaTime) {
-        Input keyboardInput = gc.getInput();
-    	movePlayer(keyboardInput);
+        move(inputSource == null ? InputSource.NONE : inputSource.poll());
+    }
+
+    /**
+     * Moves the player one tick in the given directions.
+     * @param moves - the InputSource MOVE_ flags of the directions to swim in.
+     */
+    public void move(int moves) {
+    	movePlayer((moves & InputSource.MOVE_LEFT) != 0, (moves & InputSource.MOVE_RIGHT) != 0,
+    			(moves & InputSource.MOVE_UP) != 0, (moves & InputSource.MOVE_DOWN) != 0);
         getData().applyWaterDrag(WATER_DRAG);
         getData().updatePosition(playerMaxSpeed);
         checkGameEdges();
@@ -107,32 +160,40 @@ public class Player extends Entity {
     }
 
     /**
-     * Handles the keyboard controls so the player is able to move around.
-     * @param input - object to access keyboard button states.
+     * Moves the game clock of the powerup timers forward, the powerups that
+     * ran out expire on the calling thread.
+     * @param deltaTime - game time elapsed since the last call in milliseconds.
+     */
+    public void updateTimers(int deltaTime) {
+        timers.advance(deltaTime);
+    }
+
+    /**
+     * Applies the forces of the controls so the player is able to move around.
+     * @param moveL - true if the player swims to the left.
+     * @param moveR - true if the player swims to the right.
+     * @param moveU - true if the player swims up.
+     * @param moveD - true if the player swims down.
      */
-    private void movePlayer(Input input) {
-        boolean moveL = (input.isKeyDown(Input.KEY_A) || input.isKeyDown(Input.KEY_LEFT));
-        boolean moveR = (input.isKeyDown(Input.KEY_D) || input.isKeyDown(Input.KEY_RIGHT));
-        boolean moveU = (input.isKeyDown(Input.KEY_W) || input.isKeyDown(Input.KEY_UP));
-        boolean moveD = (input.isKeyDown(Input.KEY_S) || input.isKeyDown(Input.KEY_DOWN));
+    private void movePlayer(boolean moveL, boolean moveR, boolean moveU, boolean moveD) {
         float moveForce = poisoned ? -playerMoveForce : playerMoveForce;
         
         if(moveR) {
         	setImageOrientation(poisoned ? Entity.IMAGE_ORIENTATE_LEFT : Entity.IMAGE_ORIENTATE_RIGHT);
-        	getData().applyForce(new Vector(moveForce, 0));
+        	getData().applyForce(moveForce, 0);
         }
         
         if(moveL) {
         	setImageOrientation(poisoned ? Entity.IMAGE_ORIENTATE_RIGHT : Entity.IMAGE_ORIENTATE_LEFT);
-        	getData().applyForce(new Vector(-moveForce, 0));
+        	getData().applyForce(-moveForce, 0);
         }
         
         if(moveU) {
-        	getData().applyForce(new Vector(0, -moveForce));
+        	getData().applyForce(0, -moveForce);
         }
         
         if(moveD) {
-        	getData().applyForce(new Vector(0, moveForce));
+        	getData().applyForce(0, moveForce);
         }
     }
     
@@ -153,23 +214,28 @@ public class Player extends Entity {
         setScore(score + opponentSize * PLAYER_EAT_SCORE_FACTOR);
         float newDimension = PLAYER_WIDTH + Math.round(score * PLAYER_EAT_GROW_FACTOR);
         getData().setDimensions(new Vector(newDimension, newDimension));
-        Main.actionLogger.logLine("Player ate opponent", getClass().getSimpleName());
-        Main.actionLogger.logLine("Player score is " + Math.floor(score), getClass().getSimpleName());
+        Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Player ate opponent");
+        Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Player score is {}", Math.floor(score));
     }
 
     /**
      * Reset player values, can be used when the player dies.
      */
     public void resetPlayerVariables() {
-        Main.actionLogger.logLine("Player resetted", getClass().getSimpleName());
-		Main.actionLogger.logLine("Score was " + LevelState.getScore(), getClass().getSimpleName());
+        Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Player resetted");
+		Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Score was {}", LevelState.getScore());
         getData().setPosition(Vector.centerOfScreen());
         getData().setDimensions(new Vector(PLAYER_WIDTH, PLAYER_HEIGHT));
         getData().setMass(PLAYER_DEFAULT_MASS);
+        getData().getVelocity().set(0, 0);
+        getData().getAcceleration().set(0, 0);
+        updateBoundingbox();
         playerMaxSpeed = PLAYER_DEFAULT_MAX_SPEED;
         playerMoveForce = PLAYER_DEFAULT_FORCE;
         shieldState = Shield.STATE_NONE;
         poisoned = false;
+        lives = 0;
+        timers.clear();
         setScore(0);
     }
 
@@ -177,10 +243,10 @@ public class Player extends Entity {
      * Plays a random available bite sound from the list.
      */
     public void playBiteSound() {
-    	/* Integer between 1 and array length */
-    	int biteSoundNumber = (int) Math.ceil(BITE_SOUNDS.length * Math.random());
-    	 /* Subtract 1 to get array index */
-        musicPlayer.playSound(BITE_SOUNDS[biteSoundNumber - 1]);
+    	if (musicPlayer == null) {
+    		return;
+    	}
+        musicPlayer.playSound(BITE_SOUNDS[random.nextInt(BITE_SOUNDS.length)]);
     }
 
     /**
@@ -219,18 +285,10 @@ public class Player extends Entity {
      * @param time - how long the powerup has to be active.
      */
     public void Speedup(int time) {
-        speedUpTimer.cancel();
         playerMaxSpeed = PLAYER_SPEEDUP_MAX_SPEED;
         playerMoveForce = PLAYER_SPEEDUP_FORCE;
         getData().setMass(PLAYER_SPEEDUP_MASS);
-        speedUpTimer = new Timer();
-        speedUpTimer.schedule(new TimerTask() {
-            public void run() {
-                playerMaxSpeed = PLAYER_DEFAULT_MAX_SPEED;
-                playerMoveForce = PLAYER_DEFAULT_FORCE;
-                getData().setMass(PLAYER_DEFAULT_MASS);
-            }
-        }, time);
+        timers.schedule(speedUpTimer, time);
     }
 
     /**
@@ -238,14 +296,8 @@ public class Player extends Entity {
      * @param time - how long the poison has to be active.
      */
     public void Poison(int time) {
-        poisonTimer.cancel();
         poisoned = true;
-        poisonTimer = new Timer();
-        poisonTimer.schedule(new TimerTask() {
-            public void run() {
-                poisoned = false;
-            }
-        }, time);
+        timers.schedule(poisonTimer, time);
     }
 
     /**
@@ -282,16 +334,11 @@ public class Player extends Entity {
      * @param activeTime - time the shield is active.
      * @param fadeTime - time the shield takes to remove.
      */
-    public void addShield(int activeTime, final int fadeTime) {
+    public void addShield(int activeTime, int fadeTime) {
         shieldState = Shield.STATE_FULL;
-        shieldTimer.cancel();
+        shieldFadeTime = fadeTime;
         shieldRemover.cancel();
-        shieldTimer = new Timer();
-        shieldTimer.schedule(new TimerTask() {
-            public void run() {
-                removeShield(fadeTime);
-            }
-        }, activeTime);
+        timers.schedule(shieldTimer, activeTime);
     }
 
     /**
@@ -301,13 +348,7 @@ public class Player extends Entity {
     public void removeShield(int fadeTime) {
         shieldState = Shield.STATE_HALF;
         shieldTimer.cancel();
-        shieldRemover.cancel();
-        shieldRemover = new Timer();
-        shieldRemover.schedule(new TimerTask() {
-            public void run() {
-                shieldState = Shield.STATE_NONE;
-            }
-        }, fadeTime);
+        timers.schedule(shieldRemover, fadeTime);
     }
     
     /**
@@ -326,6 +367,26 @@ public class Player extends Entity {
 	    shieldState = newState;
 	}
 	
+	/**
+	 * Sets the source of the directions the player swims in.
+	 * @param inputSource - the keyboard, a script, a replay or a bot.
+	 */
+	public void setInputSource(InputSource inputSource) {
+	    this.inputSource = inputSource;
+	}
+
+	public InputSource getInputSource() {
+	    return inputSource;
+	}
+
+	/**
+	 * Checks if the player is poisoned. Used for testing purposes.
+	 * @return true if the controls are reversed, false if not.
+	 */
+	public boolean isPoisoned() {
+	    return poisoned;
+	}
+
 	/**
 	 * Gets the current shield state. Used for testing purposes.
 	 * @return the current state.
@@ -8,6 +8,7 @@ import nl.github.martijn9612.fishy.models.Moveable;
 import nl.github.martijn9612.fishy.models.NonPlayer;
 import nl.github.martijn9612.fishy.models.Vector;
 import nl.github.martijn9612.fishy.utils.MusicPlayer;
+import nl.github.martijn9612.fishy.utils.SpriteBatch;
 
 /**
  * Implementation of the BigOpponent class. 
@@ -93,13 +94,27 @@ public class BigOpponent extends NonPlayer {
 			indicator.renderObject(g);
 		}
     }
+
+    /**
+     * Adds the sprite and the indicator when visible to the batch.
+     * @param batch - the batch collecting the sprites of this frame.
+     */
+    @Override
+    public void renderObject(SpriteBatch batch) {
+    	super.renderObject(batch);
+		if (timeToLive > INDICATOR_REMOVED_AT) {
+			indicator.renderObject(batch);
+		}
+    }
     
     /**
-	 * Stops playing the background music 
-	 * and sets timeToLive to 0.
+	 * Stops playing the background music, releases
+	 * the sprites and sets timeToLive to 0.
 	 */
     @Override
 	public void destroy() {
+		super.destroy();
+		indicator.releaseResources();
 		if (hasOpenGL) {
 			musicPlayer.stopSound(MusicPlayer.BIG_OPPONENT_EVENT);
 		}
@@ -17,7 +17,7 @@ import nl.github.martijn9612.fishy.models.Vector;
  * horizontally with a constant speed.
  */
 public class LinearOpponent extends NonPlayer {
-	private static final String SPRITE_PATH = "resources/opponent-" 
+	static final String SPRITE_PATH = "resources/opponent-" 
 	            + Main.OPPONENT_CHARACTER + ".png";
 
 	/**
@@ -43,49 +43,73 @@ public class LinearOpponent extends NonPlayer {
 	public static LinearOpponent createRandom(Player player, Random random, boolean loadResources) {
 		Moveable data = new Moveable();
 		boolean spawnsLeft = random.nextBoolean();
-		data.setDimensions(getRandomDimensions(player, random));
-		data.setVelocity(getRandomVelocity(random, spawnsLeft));
-		data.setPosition(getRandomPosition(random, spawnsLeft, data.getDimensions()));
+		int size = getRandomSize(player, random);
+		int speed = getRandomSpeed(random, spawnsLeft);
+		data.setDimensions(new Vector(size, size));
+		data.setVelocity(new Vector(speed, 0));
+		data.setPosition(new Vector(getSpawnX(spawnsLeft, size), getRandomY(random, size)));
 		return new LinearOpponent(data, loadResources);
 	}
+
+	/**
+	 * Reuses this LinearOpponent as a new one at a random screen side location,
+	 * with the same random values createRandom would use.
+	 * @param player - the current Player in the game.
+	 * @param random - an instance to generate random numbers.
+	 */
+	public void reinitialise(Player player, Random random) {
+		boolean spawnsLeft = random.nextBoolean();
+		int size = getRandomSize(player, random);
+		int speed = getRandomSpeed(random, spawnsLeft);
+		getData().reinitialise(getSpawnX(spawnsLeft, size), getRandomY(random, size), speed, 0, size, size);
+		reinitialise(SPRITE_PATH);
+		if (hasOpenGL && speed > 0) {
+			setImageOrientation(Entity.IMAGE_ORIENTATE_RIGHT);
+		}
+	}
 	
 	/**
-	 * Creates a random dimension vector for the LineairOpponent class.
+	 * Creates a random size for the LineairOpponent class.
 	 * @param player - the current Player in the game.
 	 * @param random - an instance to generate random numbers.
-	 * @return Vector with opponent size.
+	 * @return the width and height of the opponent.
 	 */
-	private static Vector getRandomDimensions(Player player, Random random) {
+	static int getRandomSize(Player player, Random random) {
 		int maxSize = (int) (player.getSize() * 2);
 		int minSize = (int) (player.getSize() * 0.5);
-		int size = (random.nextInt((maxSize - minSize)) + minSize);
-		return new Vector(size, size);
+		return (random.nextInt((maxSize - minSize)) + minSize);
 	}
 	
 	/**
-	 * Creates a random position vector for the LineairOpponent class.
+	 * Creates a random y position for the LineairOpponent class.
 	 * @param random - an instance to generate random numbers.
+	 * @param size - the size of the LinearOpponent.
+	 * @return the y position of the opponent.
+	 */
+	static int getRandomY(Random random, int size) {
+		int max = 515 - size;
+		return random.nextInt(Math.abs(max - size)) + size;
+	}
+
+	/**
+	 * Gets the x position just outside the screen side the opponent spawns at.
 	 * @param spawnsLeft - boolean which tells if the opponent spawns left or right.
-	 * @param dimensions - Vector with the dimensions of the LinearOpponent.
-	 * @return Vector with opponent location.
+	 * @param size - the size of the LinearOpponent.
+	 * @return the x position of the opponent.
 	 */
-	private static Vector getRandomPosition(Random random, boolean spawnsLeft, Vector dimensions) {
-		int min = Math.round(dimensions.x);
-		int max = 515 - min;
-		int ypos = random.nextInt(Math.abs(max - min)) + min;
-		int xpos = (spawnsLeft ? 0 - min * 5 : 615 + min * 5);
-		return new Vector(xpos, ypos);
+	static int getSpawnX(boolean spawnsLeft, int size) {
+		return (spawnsLeft ? 0 - size * 5 : 615 + size * 5);
 	}
 	
 	/**
-	 * Creates a random velocity vector for the LineairOpponent class.
+	 * Creates a random horizontal velocity for the LineairOpponent class.
 	 * @param random - an instance to generate random numbers.
 	 * @param spawnsLeft - boolean which tells if the opponent spawns left or right.
-	 * @return Vector with opponent velocity.
+	 * @return the horizontal velocity of the opponent.
 	 */
-	private static Vector getRandomVelocity(Random random, boolean spawnsLeft) {
+	static int getRandomSpeed(Random random, boolean spawnsLeft) {
 		int speed = random.nextInt(4) + 1;
-		return new Vector((spawnsLeft ? speed : -speed), 0);
+		return (spawnsLeft ? speed : -speed);
 	}
 
 	/**
@@ -0,0 +1,363 @@
+package nl.github.martijn9612.fishy.opponents;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.SlickException;
+
+import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.collision.Collision;
+import nl.github.martijn9612.fishy.models.Entity;
+import nl.github.martijn9612.fishy.models.NonPlayer;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.utils.ScaledImageCache;
+import nl.github.martijn9612.fishy.utils.SpriteBatch;
+import nl.github.martijn9612.fishy.utils.TextureCache;
+
+/**
+ * OpponentStore class, keeps the small opponents (linear and sinus) in
+ * parallel primitive arrays instead of one Entity object per opponent.
+ * Updating and collision checks walk through the arrays in order, the only
+ * object kept per opponent is the reference to its scaled sprite.
+ * The movement rules are the ones of LinearOpponent and SinusOpponent.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class OpponentStore {
+	public static final int TYPE_LINEAR = 0;
+	public static final int TYPE_SINUS = 1;
+	private static final int INITIAL_CAPACITY = 32;
+	private static final float MAX_SPEED = 100;
+	private static final String[] SPRITE_PATHS = {LinearOpponent.SPRITE_PATH, SinusOpponent.SINUS_SPRITE_PATH};
+	private final boolean loadResources;
+	private final Image[] originalSprites = new Image[SPRITE_PATHS.length];
+	private final Image[] flippedSprites = new Image[SPRITE_PATHS.length];
+	private float[] positionX = new float[INITIAL_CAPACITY];
+	private float[] positionY = new float[INITIAL_CAPACITY];
+	private float[] velocityX = new float[INITIAL_CAPACITY];
+	private float[] velocityY = new float[INITIAL_CAPACITY];
+	private float[] width = new float[INITIAL_CAPACITY];
+	private float[] height = new float[INITIAL_CAPACITY];
+	private int[] type = new int[INITIAL_CAPACITY];
+	private boolean[] dead = new boolean[INITIAL_CAPACITY];
+	private Image[] sprites = new Image[INITIAL_CAPACITY];
+	private int size = 0;
+	private int deadCount = 0;
+
+	/**
+	 * Creates a new OpponentStore.
+	 * @param loadResources - when true the sprites are loaded, when false not.
+	 */
+	public OpponentStore(boolean loadResources) {
+		this.loadResources = loadResources;
+		if (loadResources) {
+			try {
+				TextureCache textures = TextureCache.getInstance();
+				for (int i = 0; i < SPRITE_PATHS.length; i++) {
+					originalSprites[i] = textures.acquire(SPRITE_PATHS[i]);
+					flippedSprites[i] = textures.getFlipped(SPRITE_PATHS[i]);
+				}
+			} catch (SlickException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Adds an opponent of the given type at a random spawn location, using
+	 * the same rules as LinearOpponent.createRandom and SinusOpponent.createRandom.
+	 * @param opponentType - TYPE_LINEAR or TYPE_SINUS.
+	 * @param player - the current Player in the game.
+	 * @param random - an instance to generate random numbers.
+	 * @return index of the new opponent.
+	 */
+	public int spawnRandom(int opponentType, Player player, Random random) {
+		if (opponentType == TYPE_LINEAR) {
+			boolean spawnsLeft = random.nextBoolean();
+			int size = LinearOpponent.getRandomSize(player, random);
+			int speed = LinearOpponent.getRandomSpeed(random, spawnsLeft);
+			int y = LinearOpponent.getRandomY(random, size);
+			return add(TYPE_LINEAR, LinearOpponent.getSpawnX(spawnsLeft, size), y, speed, 0, size, size);
+		}
+		int size = SinusOpponent.getRandomSize(player, random);
+		int x = SinusOpponent.getRandomX(random, size);
+		return add(TYPE_SINUS, x, SinusOpponent.getSpawnY(), 0, 0, size, size);
+	}
+
+	/**
+	 * Adds an opponent.
+	 * @param opponentType - TYPE_LINEAR or TYPE_SINUS.
+	 * @param x - x position of the opponent.
+	 * @param y - y position of the opponent.
+	 * @param speedX - horizontal velocity of the opponent.
+	 * @param speedY - vertical velocity of the opponent.
+	 * @param opponentWidth - width of the opponent.
+	 * @param opponentHeight - height of the opponent.
+	 * @return index of the new opponent.
+	 */
+	public int add(int opponentType, float x, float y, float speedX, float speedY,
+			float opponentWidth, float opponentHeight) {
+		if (opponentType != TYPE_LINEAR && opponentType != TYPE_SINUS) {
+			throw new IllegalArgumentException("Unknown opponent type: " + opponentType);
+		}
+		if (size == positionX.length) {
+			grow();
+		}
+		int index = size;
+		positionX[index] = x;
+		positionY[index] = y;
+		velocityX[index] = speedX;
+		velocityY[index] = speedY;
+		width[index] = opponentWidth;
+		height[index] = opponentHeight;
+		type[index] = opponentType;
+		dead[index] = false;
+		sprites[index] = loadResources ? getSprite(opponentType, speedX, opponentWidth, opponentHeight) : null;
+		size++;
+		return index;
+	}
+
+	/**
+	 * Moves all live opponents one tick and removes the ones that left the screen.
+	 */
+	public void update() {
+		for (int i = 0; i < size; i++) {
+			if (dead[i]) {
+				continue;
+			}
+			if (type[i] == TYPE_SINUS) {
+				velocityX[i] = 0;
+				velocityY[i] = SinusOpponent.getVelocityY(positionY[i]);
+			}
+			limit(i);
+			positionX[i] += velocityX[i];
+			positionY[i] += velocityY[i];
+			if (NonPlayer.isOffScreen(positionX[i], positionY[i], width[i], height[i])) {
+				remove(i);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a live opponent overlaps the given ellipse.
+	 * @param index - index of the opponent.
+	 * @param centerX - x coordinate of the center of the ellipse.
+	 * @param centerY - y coordinate of the center of the ellipse.
+	 * @param radiusX - horizontal radius of the ellipse.
+	 * @param radiusY - vertical radius of the ellipse.
+	 * @return true if the opponent is alive and overlaps the ellipse.
+	 */
+	public boolean intersects(int index, float centerX, float centerY, float radiusX, float radiusY) {
+		if (dead[index]) {
+			return false;
+		}
+		float opponentRadiusX = width[index] / 2;
+		float opponentRadiusY = height[index] / 2;
+		float opponentCenterX = positionX[index] + opponentRadiusX;
+		float opponentCenterY = positionY[index] + opponentRadiusY;
+		if (Math.abs(opponentCenterX - centerX) > opponentRadiusX + radiusX
+				|| Math.abs(opponentCenterY - centerY) > opponentRadiusY + radiusY) {
+			return false;
+		}
+		return Collision.ellipsesIntersect(centerX, centerY, radiusX, radiusY,
+				opponentCenterX, opponentCenterY, opponentRadiusX, opponentRadiusY);
+	}
+
+	/**
+	 * Marks an opponent dead, it's dropped from the arrays on the next compact.
+	 * @param index - index of the opponent.
+	 */
+	public void remove(int index) {
+		if (!dead[index]) {
+			dead[index] = true;
+			deadCount++;
+		}
+	}
+
+	/**
+	 * Drops the dead opponents in a single pass, keeping the order of the live ones.
+	 */
+	public void compact() {
+		if (deadCount == 0) {
+			return;
+		}
+		int live = 0;
+		for (int i = 0; i < size; i++) {
+			if (!dead[i]) {
+				move(i, live);
+				live++;
+			}
+		}
+		Arrays.fill(sprites, live, size, null);
+		size = live;
+		deadCount = 0;
+	}
+
+	/**
+	 * Removes all opponents.
+	 */
+	public void clear() {
+		Arrays.fill(sprites, 0, size, null);
+		size = 0;
+		deadCount = 0;
+	}
+
+	/**
+	 * Renders all live opponents.
+	 * @param g - the graphics content used to render.
+	 */
+	public void render(Graphics g) {
+		for (int i = 0; i < size; i++) {
+			if (!dead[i] && sprites[i] != null) {
+				g.drawImage(sprites[i], positionX[i], positionY[i]);
+			}
+		}
+	}
+
+	/**
+	 * Adds the sprites of all live opponents to the batch.
+	 * @param batch - the batch collecting the sprites of this frame.
+	 */
+	public void render(SpriteBatch batch) {
+		for (int i = 0; i < size; i++) {
+			if (!dead[i] && sprites[i] != null) {
+				batch.draw(sprites[i], positionX[i], positionY[i]);
+			}
+		}
+	}
+
+	/**
+	 * Renders the boundary boxes of all live opponents when enabled.
+	 * @param g - the graphics content used to render.
+	 */
+	public void renderOverlays(Graphics g) {
+		if (loadResources && Main.DEBUG_MODE) {
+			for (int i = 0; i < size; i++) {
+				if (!dead[i]) {
+					g.drawOval(positionX[i], positionY[i], width[i], height[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of opponents, including the dead ones that weren't dropped yet.
+	 * @return the number of opponents.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of live opponents.
+	 * @return the number of live opponents.
+	 */
+	public int getLiveCount() {
+		return size - deadCount;
+	}
+
+	public boolean isDead(int index) {
+		return dead[index];
+	}
+
+	public int getType(int index) {
+		return type[index];
+	}
+
+	public float getX(int index) {
+		return positionX[index];
+	}
+
+	public float getY(int index) {
+		return positionY[index];
+	}
+
+	public float getVelocityX(int index) {
+		return velocityX[index];
+	}
+
+	public float getVelocityY(int index) {
+		return velocityY[index];
+	}
+
+	public float getWidth(int index) {
+		return width[index];
+	}
+
+	public float getHeight(int index) {
+		return height[index];
+	}
+
+	/**
+	 * Returns the size of the opponent, like Entity.getSize.
+	 * @param index - index of the opponent.
+	 * @return size value.
+	 */
+	public float getSize(int index) {
+		return (width[index] + height[index]) / 2;
+	}
+
+	/**
+	 * Gets the scaled sprite of an opponent from the ScaledImageCache.
+	 * Linear opponents swimming to the right use the flipped sprite.
+	 * @param opponentType - type of the opponent.
+	 * @param speedX - horizontal velocity of the opponent.
+	 * @param opponentWidth - width of the opponent.
+	 * @param opponentHeight - height of the opponent.
+	 * @return the scaled sprite, null when it couldn't be loaded.
+	 */
+	private Image getSprite(int opponentType, float speedX, float opponentWidth, float opponentHeight) {
+		if (originalSprites[opponentType] == null) {
+			return null;
+		}
+		boolean facesRight = opponentType == TYPE_LINEAR && speedX > 0;
+		int orientation = facesRight ? Entity.IMAGE_ORIENTATE_RIGHT : Entity.IMAGE_ORIENTATE_LEFT;
+		Image source = facesRight ? flippedSprites[opponentType] : originalSprites[opponentType];
+		return ScaledImageCache.getInstance().getScaledImage(SPRITE_PATHS[opponentType], source,
+				opponentWidth, opponentHeight, orientation);
+	}
+
+	/**
+	 * Limits the x and y velocity of an opponent to MAX_SPEED like
+	 * Moveable.updatePosition does.
+	 * @param index - index of the opponent.
+	 */
+	private void limit(int index) {
+		velocityX[index] = Math.max(Math.min(velocityX[index], MAX_SPEED), -MAX_SPEED);
+		velocityY[index] = Math.max(Math.min(velocityY[index], MAX_SPEED), -MAX_SPEED);
+	}
+
+	/**
+	 * Moves an opponent to another index.
+	 * @param from - current index of the opponent.
+	 * @param to - new index of the opponent.
+	 */
+	private void move(int from, int to) {
+		positionX[to] = positionX[from];
+		positionY[to] = positionY[from];
+		velocityX[to] = velocityX[from];
+		velocityY[to] = velocityY[from];
+		width[to] = width[from];
+		height[to] = height[from];
+		type[to] = type[from];
+		dead[to] = dead[from];
+		sprites[to] = sprites[from];
+	}
+
+	/**
+	 * Doubles the capacity of all arrays.
+	 */
+	private void grow() {
+		int capacity = positionX.length * 2;
+		positionX = Arrays.copyOf(positionX, capacity);
+		positionY = Arrays.copyOf(positionY, capacity);
+		velocityX = Arrays.copyOf(velocityX, capacity);
+		velocityY = Arrays.copyOf(velocityY, capacity);
+		width = Arrays.copyOf(width, capacity);
+		height = Arrays.copyOf(height, capacity);
+		type = Arrays.copyOf(type, capacity);
+		dead = Arrays.copyOf(dead, capacity);
+		sprites = Arrays.copyOf(sprites, capacity);
+	}
+}
@@ -17,7 +17,7 @@ import nl.github.martijn9612.fishy.models.Vector;
  * Software Engineering Methods Project - Group 11.
  */
 public class SinusOpponent extends NonPlayer {
-    private static final String SINUS_SPRITE_PATH = "resources/squid.png";
+    static final String SINUS_SPRITE_PATH = "resources/squid.png";
     public static final int PIXELS_TO_HALT = 80;
     // PIXELS_TO_HALT / DIVIDER = MAX SPEED THE OPPONENT ACHIEVES
     public static final int DIVIDER = 20;
@@ -42,37 +42,55 @@ public class SinusOpponent extends NonPlayer {
 	 */
 	public static SinusOpponent createRandom(Player player, Random random, boolean loadResources) {
 		Moveable data = new Moveable();
-		data.setDimensions(getRandomDimensions(player, random));
-		data.setPosition(getRandomPosition(random, data.getDimensions()));
+		int size = getRandomSize(player, random);
+		data.setDimensions(new Vector(size, size));
+		data.setPosition(new Vector(getRandomX(random, size), SPAWN_HEIGHT));
 		return new SinusOpponent(data, loadResources);
 	}
+
+	/**
+	 * Reuses this SinusOpponent as a new one at the bottom of the screen,
+	 * with the same random values createRandom would use.
+	 * @param player - the current Player in the game.
+	 * @param random - an instance to generate random numbers.
+	 */
+	public void reinitialise(Player player, Random random) {
+		int size = getRandomSize(player, random);
+		getData().reinitialise(getRandomX(random, size), SPAWN_HEIGHT, 0, 0, size, size);
+		reinitialise(SINUS_SPRITE_PATH);
+	}
 	
     /**
-     * Creates a random dimension vector for the SinusOpponent class.
+     * Creates a random size for the SinusOpponent class.
      * @param player - the current Player in the game.
      * @param random - an instance to generate random numbers.
-     * @return Vector with opponent size.
+     * @return the width and height of the opponent.
      */
-	private static Vector getRandomDimensions(Player player, Random random) {
+	static int getRandomSize(Player player, Random random) {
 		int maxSize = (int) (player.getSize() * 2.0);
 		int minSize = (int) (player.getSize() * 0.5);
-		int size = (random.nextInt((maxSize - minSize)) + minSize);
-		return new Vector(size, size);
+		return (random.nextInt((maxSize - minSize)) + minSize);
 	}
 	
     /**
-     * Creates a random position vector for the SinusOpponent class.
+     * Creates a random x position for the SinusOpponent class.
      * @param random - an instance to generate random numbers.
-     * @param dimensions - Vector with the dimensions of the LinearOpponent.
-     * @return Vector with opponent location.
+     * @param size - the size of the SinusOpponent.
+     * @return the x position of the opponent.
      */
-    private static Vector getRandomPosition(Random random, Vector dimensions) {
-    	int min = (int) Math.round(dimensions.x);
-    	int max = 615 - min;
-		int xpos = random.nextInt(Math.abs(max - min)) + min;
-    	return new Vector(xpos, SPAWN_HEIGHT);
+    static int getRandomX(Random random, int size) {
+    	int max = 615 - size;
+		return random.nextInt(Math.abs(max - size)) + size;
 	}
 
+    /**
+     * Gets the y position the SinusOpponent spawns at.
+     * @return the y position of the opponent.
+     */
+    static int getSpawnY() {
+    	return SPAWN_HEIGHT;
+    }
+
 	/**
      * Moves the opponent towards the top of the screen in a sinusoid motion.
      * @param gc - the container holding the game.
@@ -80,12 +98,22 @@ public class SinusOpponent extends NonPlayer {
      */
     @Override
     public void objectLogic(GameContainer gc, int deltaTime) {
-        if (getData().getPosition().y <= 0) {
-        	getData().setVelocity(new Vector(0, -1));
-        } else {
-        	getData().setVelocity(new Vector(0, -((getData().getPosition().y % PIXELS_TO_HALT) / DIVIDER + 1)));
-        }
+        getData().getVelocity().set(0, getVelocityY(getData().getPosition().y));
         getData().updatePosition(100);
         updateBoundingbox();
     }
+
+    /**
+     * Gets the vertical speed of a SinusOpponent at the given height. The
+     * opponent slows down every PIXELS_TO_HALT pixels, and moves up at a
+     * constant speed once it's above the screen.
+     * @param positionY - y position of the opponent.
+     * @return the vertical velocity.
+     */
+    static float getVelocityY(float positionY) {
+        if (positionY <= 0) {
+            return -1;
+        }
+        return -((positionY % PIXELS_TO_HALT) / DIVIDER + 1);
+    }
 }
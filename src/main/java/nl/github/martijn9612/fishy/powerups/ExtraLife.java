@@ -13,6 +13,7 @@ import nl.github.martijn9612.fishy.models.Vector;
  */
 public class ExtraLife extends Powerup {
     private static final String SPRITE_PATH = "resources/ExtraLife-fish.png";
+    public static final int CHANCE = 30;
     private int chance;
     
     /**
@@ -42,7 +43,7 @@ public class ExtraLife extends Powerup {
     	data.setDimensions(new Vector(16,16));
     	data.setVelocity(getRandomVelocity(random, spawnsLeft));
     	data.setPosition(getRandomPosition(random, spawnsLeft, data.getDimensions()));
-        return new ExtraLife(data, loadResources, 30);
+        return new ExtraLife(data, loadResources, CHANCE);
     }
     
     /**
@@ -13,6 +13,7 @@ import nl.github.martijn9612.fishy.models.Vector;
  */
 public class Poison extends Powerup {
     private static final String SPRITE_PATH = "resources/poison.png";
+    public static final int CHANCE = 30;
     private int chance;
 
     /**
@@ -42,7 +43,7 @@ public class Poison extends Powerup {
     	data.setDimensions(new Vector(32,32));
     	data.setVelocity(getRandomVelocity(random, spawnsLeft));
     	data.setPosition(getRandomPosition(random, spawnsLeft, data.getDimensions()));
-        return new Poison(data, loadResources, 30);
+        return new Poison(data, loadResources, CHANCE);
     }
     
     /**
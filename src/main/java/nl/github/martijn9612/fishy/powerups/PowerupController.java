@@ -1,7 +1,11 @@
 package nl.github.martijn9612.fishy.powerups;
 
+import java.util.Random;
+
 import nl.github.martijn9612.fishy.Main;
 import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.utils.ActionLogger;
+import nl.github.martijn9612.fishy.utils.SpriteBatch;
 
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
@@ -13,9 +17,34 @@ import org.newdawn.slick.state.StateBasedGame;
  * Software Engineering Methods Project - Group 11.
  */
 public class PowerupController {
-    private PowerupFactory powerfac = new PowerupFactory(true);
+    private static final String LOG_NAME = PowerupController.class.getSimpleName();
+    private PowerupFactory powerfac;
     private Powerup power = null;
 
+    /**
+     * Creates a new PowerupController which loads the OpenGL resources.
+     */
+    public PowerupController() {
+        this(true);
+    }
+
+    /**
+     * Creates a new PowerupController.
+     * @param loadResources - when true the OpenGL resources are loaded, when false not.
+     */
+    public PowerupController(boolean loadResources) {
+        powerfac = new PowerupFactory(loadResources);
+    }
+
+    /**
+     * Creates a new PowerupController.
+     * @param loadResources - when true the OpenGL resources are loaded, when false not.
+     * @param random - the random stream used for spawning the powerups.
+     */
+    public PowerupController(boolean loadResources, Random random) {
+        powerfac = new PowerupFactory(loadResources, random);
+    }
+
     /**
      * Spawns a Powerup when none are present.
      */
@@ -49,20 +78,47 @@ public class PowerupController {
         }
     }
 
+    /**
+     * Adds the sprite of the Powerup to the batch.
+     * @param batch - the batch collecting the sprites of this frame.
+     */
+    public void renderOpponents(SpriteBatch batch) {
+        if (!(power == null)) {
+            power.renderObject(batch);
+        }
+    }
+
+    /**
+     * Renders the overlay of the Powerup, after the batch is flushed.
+     * @param graph - the graphics content used to render the powerups.
+     */
+    public void renderOverlays(Graphics graph) {
+        if (!(power == null)) {
+            power.renderOverlay(graph);
+        }
+    }
+
     /**
      * Check if the powerup collides with the Player.
      * @param player - the current Player in the game.
      * @param sbg - the game content.
      */
     public void collide(Player player, StateBasedGame sbg) {
+        collide(player);
+    }
+
+    /**
+     * Check if the powerup collides with the Player.
+     * @param player - the current Player in the game.
+     */
+    public void collide(Player player) {
         if (!(power == null)) {
             if (power.intersects(player)) {
-                String log = "Player collides with powerup "
-                        + power.getClass().getSimpleName();
+                Main.actionLogger.log(ActionLogger.INFO, LOG_NAME, "Player collides with powerup {}",
+                        power.getClass().getSimpleName());
                 player.playBiteSound();
                 power.Effect(player);
                 remove();
-                Main.actionLogger.logLine(log, getClass().getSimpleName());
             }
         }
     }
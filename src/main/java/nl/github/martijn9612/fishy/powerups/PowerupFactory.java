@@ -1,15 +1,33 @@
 package nl.github.martijn9612.fishy.powerups;
 
-import java.util.ArrayList;
 import java.util.Random;
 
+import nl.github.martijn9612.fishy.utils.GameRandom;
+
 /**
  * Implements the PowerupFactory.
  * Software Engineering Methods Project - Group 11.
  */
 public class PowerupFactory {
-    private ArrayList<Powerup> powers = new ArrayList<Powerup>();
-    private Random rand = new Random();
+    public static final int TYPE_EXTRALIFE = 0;
+    public static final int TYPE_SPEEDUP = 1;
+    public static final int TYPE_POISON = 2;
+    public static final int TYPE_SHIELD = 3;
+    public static final int POWERUP_TYPES = 4;
+    private static final int CHANCE_RANGE = 1001;
+
+    /**
+     * The chance for each powerup type to be spawned once it is chosen,
+     * in promille. Indexed by the TYPE_ constants.
+     */
+    private static final int[] POWERUP_CHANCES = {
+        ExtraLife.CHANCE,
+        Speedup.CHANCE,
+        Poison.CHANCE,
+        Shield.CHANCE
+    };
+
+    private Random rand;
     private Powerup powerup;
     private boolean loadResources;
 
@@ -18,56 +36,62 @@ public class PowerupFactory {
      * @param loadResources - true if OpenGL context should be loaded, false if not.
      */
     public PowerupFactory(Boolean loadResources) {
+        this(loadResources, new GameRandom());
+    }
+
+    /**
+     * Creates a new PowerupFactory.
+     * @param loadResources - true if OpenGL context should be loaded, false if not.
+     * @param random - the random stream used for spawning the powerups.
+     */
+    public PowerupFactory(boolean loadResources, Random random) {
         this.loadResources = loadResources;
+        this.rand = random;
     }
 
     /**
-     * Spawns a Powerup.
+     * Spawns a Powerup. The type is chosen and checked against its chance
+     * first, so only the chosen Powerup is created, and only when it spawns.
      * @return Either null if no Powerup should be returned or a new Powerup.
      */
     public Powerup spawnPowerup() {
-        setupFactory();
-        int pow = rand.nextInt(powers.size());
-        Powerup power = powers.get(pow);
-        int chance = power.getChance();
-        int random = rand.nextInt(1001);
-        if (random < chance) {
-            powerup = power;
+        int type = rand.nextInt(POWERUP_TYPES);
+        int random = rand.nextInt(CHANCE_RANGE);
+        if (random < getChance(type)) {
+            powerup = createPowerup(type);
         } else {
             powerup = null;
         }
-
-        clearFactory();
         return powerup;
     }
 
     /**
-     * Sets up the PowerupFactory so that every time the powerups are different.
-     */
-    public void setupFactory() {
-        Powerup extralife = ExtraLife.createPowerup(rand, loadResources);
-        Powerup speedup = Speedup.createPowerup(rand, loadResources);
-        Powerup poison = Poison.createPowerup(rand, loadResources);
-        Powerup shield = Shield.createPowerup(rand, loadResources);
-        powers.add(extralife);
-        powers.add(speedup);
-        powers.add(poison);
-        powers.add(shield);
-    }
-
-    /**
-     * Clears the PowerupFactory so it doesn't get too big.
+     * Creates a new Powerup of the given type.
+     * @param type - one of the TYPE_ constants.
+     * @return a new Powerup of the given type.
      */
-    public void clearFactory() {
-        powers.clear();
+    public Powerup createPowerup(int type) {
+        switch (type) {
+            case TYPE_EXTRALIFE:
+                return ExtraLife.createPowerup(rand, loadResources);
+            case TYPE_SPEEDUP:
+                return Speedup.createPowerup(rand, loadResources);
+            case TYPE_POISON:
+                return Poison.createPowerup(rand, loadResources);
+            case TYPE_SHIELD:
+                return Shield.createPowerup(rand, loadResources);
+            default:
+                throw new IllegalArgumentException("Unknown powerup type " + type);
+        }
     }
 
     /**
-     * Returns all the powerups in the list.
-     * @return powers containing all the powerups.
+     * Gets the chance that a Powerup of the given type is spawned once chosen.
+     * @param type - one of the TYPE_ constants.
+     * @return the chance of the type, in promille.
      */
-    public ArrayList<Powerup> getPowerups() {
-        return powers;
+    public static int getChance(int type) {
+        return POWERUP_CHANCES[type];
     }
 
     /**
@@ -13,6 +13,7 @@ import java.util.Random;
  */
 public class Shield extends Powerup {
     private static final String SPRITE_PATH = "resources/shield.png";
+    public static final int CHANCE = 30;
 	public static final int STATE_FULL = 2;
 	public static final int STATE_HALF = 1;
 	public static final int STATE_NONE = 0;
@@ -45,7 +46,7 @@ public class Shield extends Powerup {
     	data.setDimensions(new Vector(32,32));
     	data.setVelocity(getRandomVelocity(random, spawnsLeft));
     	data.setPosition(getRandomPosition(random, spawnsLeft, data.getDimensions()));
-        return new Shield(data, loadResources, 30);
+        return new Shield(data, loadResources, CHANCE);
     }
 
     /**
@@ -14,6 +14,7 @@ import nl.github.martijn9612.fishy.models.Vector;
  */
 public class Speedup extends Powerup {
     private static final String SPRITE_PATH = "resources/speedUp-fish.png" ;
+    public static final int CHANCE = 100;
     private int chance;
 
     /**
@@ -43,7 +44,7 @@ public class Speedup extends Powerup {
     	data.setDimensions(new Vector(16,16));
     	data.setVelocity(getRandomVelocity(random, spawnsLeft));
     	data.setPosition(getRandomPosition(random, spawnsLeft, data.getDimensions()));
-        return new Speedup(data, loadResources, 100);
+        return new Speedup(data, loadResources, CHANCE);
     }
 
     /**
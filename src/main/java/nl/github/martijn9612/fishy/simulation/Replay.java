@@ -0,0 +1,232 @@
+package nl.github.martijn9612.fishy.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import nl.github.martijn9612.fishy.input.InputSource;
+import nl.github.martijn9612.fishy.input.ReplayInput;
+import nl.github.martijn9612.fishy.utils.FixedTimestep;
+
+/**
+ * Replay class, the seed and the input of every tick of a match. A
+ * Simulation started with the seed and fed the input plays the match again
+ * exactly, so a replay is all that's needed to watch or check a match.
+ * In a file the input is stored as runs of ticks with the same MOVE_ flags,
+ * every run is a single varint holding the flags in the lowest four bits
+ * and the length above them. A player mostly holds the same keys for many
+ * ticks, so a minute of play takes a few hundred bytes. The tick rate is
+ * stored instead of a tick length, the ticks are played with the lengths
+ * FixedTimestep gives for that rate.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class Replay {
+	public static final String FILE_EXTENSION = ".fshr";
+	private static final int MAGIC = 0x46534852;
+	private static final int VERSION = 2;
+	private static final int FLAG_BITS = 4;
+	private final long seed;
+	private final int tickRate;
+	private final int[] inputs;
+
+	/**
+	 * Creates a new Replay.
+	 * @param seed - the seed of the match.
+	 * @param tickRate - number of ticks per second.
+	 * @param inputs - the MOVE_ flags of every tick.
+	 */
+	public Replay(long seed, int tickRate, int[] inputs) {
+		if (tickRate <= 0) {
+			throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+		}
+		this.seed = seed;
+		this.tickRate = tickRate;
+		this.inputs = Arrays.copyOf(inputs, inputs.length);
+		for (int i = 0; i < this.inputs.length; i++) {
+			this.inputs[i] &= InputSource.ALL_MOVES;
+		}
+	}
+
+	/**
+	 * Writes the replay to a stream, the stream isn't closed.
+	 * @param out - the stream to write to.
+	 * @throws IOException - when writing fails.
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeLong(seed);
+		writeVarint(data, tickRate);
+		writeVarint(data, inputs.length);
+		int start = 0;
+		while (start < inputs.length) {
+			int end = start + 1;
+			while (end < inputs.length && inputs[end] == inputs[start]) {
+				end++;
+			}
+			writeVarint(data, ((long) (end - start - 1) << FLAG_BITS) | inputs[start]);
+			start = end;
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads a replay from a stream, the stream isn't closed.
+	 * @param in - the stream to read from.
+	 * @return the replay.
+	 * @throws IOException - when reading fails or the data isn't a valid replay.
+	 */
+	public static Replay read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a replay file");
+		}
+		int version = data.readUnsignedByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported replay version: " + version);
+		}
+		long seed = data.readLong();
+		long tickRate = readVarint(data);
+		long tickCount = readVarint(data);
+		if (tickRate <= 0 || tickRate > Integer.MAX_VALUE || tickCount > Integer.MAX_VALUE) {
+			throw new IOException("Corrupt replay header");
+		}
+		int[] inputs = new int[(int) tickCount];
+		int position = 0;
+		while (position < inputs.length) {
+			long run = readVarint(data);
+			long length = (run >>> FLAG_BITS) + 1;
+			if (length > inputs.length - position) {
+				throw new IOException("Replay run passes the end of the match");
+			}
+			int moves = (int) (run & InputSource.ALL_MOVES);
+			Arrays.fill(inputs, position, position + (int) length, moves);
+			position += (int) length;
+		}
+		return new Replay(seed, (int) tickRate, inputs);
+	}
+
+	/**
+	 * Saves the replay to a file.
+	 * @param file - the file to write.
+	 * @throws IOException - when writing fails.
+	 */
+	public void save(File file) throws IOException {
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+		try {
+			write(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Loads a replay from a file.
+	 * @param file - the file to read.
+	 * @return the replay.
+	 * @throws IOException - when reading fails or the file isn't a valid replay.
+	 */
+	public static Replay load(File file) throws IOException {
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			return read(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Writes an unsigned varint, seven bits per byte with the high bit set
+	 * on every byte but the last.
+	 * @param out - the stream to write to.
+	 * @param value - the value to write, not negative.
+	 * @throws IOException - when writing fails.
+	 */
+	private static void writeVarint(DataOutputStream out, long value) throws IOException {
+		long rest = value;
+		while ((rest & ~0x7FL) != 0) {
+			out.writeByte((int) ((rest & 0x7F) | 0x80));
+			rest >>>= 7;
+		}
+		out.writeByte((int) rest);
+	}
+
+	/**
+	 * Reads an unsigned varint written by writeVarint.
+	 * @param in - the stream to read from.
+	 * @return the value.
+	 * @throws IOException - when the stream ends or the varint is too long.
+	 */
+	private static long readVarint(DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.read();
+			if (b < 0) {
+				throw new EOFException("Replay ends in the middle of a value");
+			}
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Corrupt varint in replay");
+	}
+
+	/**
+	 * Creates an input source that plays the recorded input back.
+	 * @return a new ReplayInput.
+	 */
+	public ReplayInput createInput() {
+		return new ReplayInput(inputs);
+	}
+
+	/**
+	 * Gets the seed of the match.
+	 * @return the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Gets the tick rate of the match.
+	 * @return the number of ticks per second.
+	 */
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * Creates a timestep giving the tick lengths the match was played with.
+	 * @return a new FixedTimestep at the tick rate of the match.
+	 */
+	public FixedTimestep createTimestep() {
+		return new FixedTimestep(tickRate, 1);
+	}
+
+	/**
+	 * Gets the number of recorded ticks.
+	 * @return the number of ticks.
+	 */
+	public int getTickCount() {
+		return inputs.length;
+	}
+
+	/**
+	 * Gets a copy of the recorded input.
+	 * @return the MOVE_ flags of every tick.
+	 */
+	public int[] getInputs() {
+		return Arrays.copyOf(inputs, inputs.length);
+	}
+}
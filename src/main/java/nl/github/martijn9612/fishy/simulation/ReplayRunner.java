@@ -0,0 +1,119 @@
+package nl.github.martijn9612.fishy.simulation;
+
+import java.io.File;
+import java.io.IOException;
+
+import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.utils.FixedTimestep;
+
+/**
+ * Plays a recorded match again in a headless Simulation, either as fast as
+ * possible to check the outcome of a replay, or at the speed of the game.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class ReplayRunner {
+	private static final long NANOS_PER_MILLI = 1000000L;
+	private final Replay replay;
+	private final Simulation simulation;
+
+	/**
+	 * Plays the replay file given as first argument.
+	 * @param args - the replay file and optionally --realtime.
+	 * @throws IOException - when the replay can't be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("Usage: ReplayRunner <replay" + Replay.FILE_EXTENSION + "> [--realtime]");
+			return;
+		}
+		boolean realTime = args.length > 1 && args[1].equals("--realtime");
+		ReplayRunner runner = new ReplayRunner(Replay.load(new File(args[0])));
+		long start = System.nanoTime();
+		int outcome = runner.run(realTime);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long ticks = runner.getSimulation().getTickCount();
+		double gameSeconds = (double) ticks / runner.replay.getTickRate();
+		System.out.println("Seed: " + runner.replay.getSeed());
+		System.out.println("Outcome: " + getOutcomeName(outcome) + " after " + ticks + " of "
+				+ runner.replay.getTickCount() + " ticks");
+		System.out.println("Score: " + Math.round(runner.getSimulation().getPlayer().getScore()));
+		System.out.println("Played in " + Math.round(seconds * 1000) + " ms, "
+				+ Math.round(gameSeconds / Math.max(seconds, 1e-9)) + "x real time");
+		Main.actionLogger.close();
+	}
+
+	/**
+	 * Creates a new ReplayRunner with a new Simulation started with the seed of the replay.
+	 * @param replay - the replay to play.
+	 */
+	public ReplayRunner(Replay replay) {
+		this.replay = replay;
+		simulation = new Simulation(false, replay.getSeed());
+		Player player = simulation.getPlayer();
+		player.setInputSource(replay.createInput());
+	}
+
+	/**
+	 * Plays the replay until the match ended or the recorded input ran out.
+	 * @param realTime - when true every tick waits for its moment in game time, when false not.
+	 * @return RUNNING when the match didn't finish, WON or LOST otherwise.
+	 */
+	public int run(boolean realTime) {
+		FixedTimestep timestep = replay.createTimestep();
+		long start = System.nanoTime();
+		long elapsedMillis = 0;
+		int outcome = Simulation.RUNNING;
+		for (int i = 0; i < replay.getTickCount() && outcome == Simulation.RUNNING; i++) {
+			if (realTime && !waitUntil(start + elapsedMillis * NANOS_PER_MILLI)) {
+				break;
+			}
+			int tickLength = timestep.nextTickLength();
+			outcome = simulation.tick(tickLength);
+			elapsedMillis += tickLength;
+		}
+		return outcome;
+	}
+
+	/**
+	 * Sleeps until the given moment.
+	 * @param deadline - the moment to wait for, in System.nanoTime.
+	 * @return true if the moment was reached, false if the thread was interrupted.
+	 */
+	private static boolean waitUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > 0) {
+			try {
+				Thread.sleep(remaining / NANOS_PER_MILLI, (int) (remaining % NANOS_PER_MILLI));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			remaining = deadline - System.nanoTime();
+		}
+		return true;
+	}
+
+	/**
+	 * Gets a readable name of an outcome of Simulation.tick.
+	 * @param outcome - RUNNING, WON or LOST.
+	 * @return the name of the outcome.
+	 */
+	private static String getOutcomeName(int outcome) {
+		if (outcome == Simulation.WON) {
+			return "won";
+		}
+		if (outcome == Simulation.LOST) {
+			return "lost";
+		}
+		return "unfinished";
+	}
+
+	/**
+	 * Gets the simulation the replay is played in.
+	 * @return the simulation.
+	 */
+	public Simulation getSimulation() {
+		return simulation;
+	}
+}
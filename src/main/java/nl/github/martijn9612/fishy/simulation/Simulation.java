@@ -0,0 +1,137 @@
+package nl.github.martijn9612.fishy.simulation;
+
+import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.OpponentController;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.powerups.PowerupController;
+import nl.github.martijn9612.fishy.utils.GameRandom;
+
+/**
+ * Simulation class, runs the rules of a match (spawning, moving, collisions,
+ * powerups and the win and lose conditions) without a GameContainer or
+ * StateBasedGame. The LevelState runs its ticks through a Simulation, and
+ * without OpenGL resources it runs headless as fast as the CPU allows.
+ * The player is steered by its InputSource, the game objects don't read
+ * the GameContainer, so none is passed.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class Simulation {
+	public static final int RUNNING = 0;
+	public static final int WON = 1;
+	public static final int LOST = 2;
+	public static final int PLAYER_WIN_AT_SCORE = 500;
+	private final GameRandom playerRandom = new GameRandom();
+	private final GameRandom opponentRandom = new GameRandom();
+	private final GameRandom powerupRandom = new GameRandom();
+	private final Player player;
+	private final OpponentController opponentController;
+	private final PowerupController powerupController;
+	private long seed;
+	private long tickCount = 0;
+
+	/**
+	 * Creates a new Simulation with a new player, opponents and powerups.
+	 * @param loadResources - when true the OpenGL resources are loaded, when false not.
+	 */
+	public Simulation(boolean loadResources) {
+		this(loadResources, new GameRandom().nextSeed());
+	}
+
+	/**
+	 * Creates a new Simulation with a new player, opponents and powerups.
+	 * Every subsystem gets its own stream split from the seed, so the same
+	 * seed and the same input always play the same match.
+	 * @param loadResources - when true the OpenGL resources are loaded, when false not.
+	 * @param seed - the seed of the match.
+	 */
+	public Simulation(boolean loadResources, long seed) {
+		player = Player.createPlayer(loadResources, playerRandom);
+		opponentController = new OpponentController(loadResources, Main.OPPONENT_STORE, opponentRandom);
+		powerupController = new PowerupController(loadResources, powerupRandom);
+		setSeed(seed);
+	}
+
+	/**
+	 * Restarts the random streams of the subsystems with a new seed.
+	 * @param newSeed - the seed of the match.
+	 */
+	private void setSeed(long newSeed) {
+		seed = newSeed;
+		GameRandom root = new GameRandom(newSeed);
+		playerRandom.setSeed(root.nextSeed());
+		opponentRandom.setSeed(root.nextSeed());
+		powerupRandom.setSeed(root.nextSeed());
+	}
+
+	/**
+	 * Runs a single tick, the player swims in the directions given by its InputSource.
+	 * @param tickLength - length of a tick in milliseconds.
+	 * @return RUNNING, WON or LOST.
+	 */
+	public int tick(int tickLength) {
+		tickCount++;
+		player.objectLogic(null, tickLength);
+		player.updateTimers(tickLength);
+		opponentController.updateOpponents(null, tickLength);
+		opponentController.spawnOpponents(player);
+		if (opponentController.collide(player)) {
+			return LOST;
+		}
+		powerupController.updatePowerup(null, tickLength);
+		powerupController.SpawnPowerup();
+		powerupController.collide(player);
+		if (player.getScore() >= PLAYER_WIN_AT_SCORE) {
+			Main.actionLogger.logLine("Player won the game", getClass().getSimpleName());
+			return WON;
+		}
+		return RUNNING;
+	}
+
+	/**
+	 * Removes all opponents and the powerup and resets the player, so a new match can start.
+	 */
+	public void reset() {
+		opponentController.reset();
+		player.resetPlayerVariables();
+		powerupController.remove();
+		tickCount = 0;
+	}
+
+	/**
+	 * Starts a new match with the given seed. The match plays the same as
+	 * one of a new Simulation created with that seed.
+	 * @param newSeed - the seed of the match.
+	 */
+	public void reset(long newSeed) {
+		reset();
+		setSeed(newSeed);
+	}
+
+	/**
+	 * Gets the seed of the current match.
+	 * @return the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	public OpponentController getOpponentController() {
+		return opponentController;
+	}
+
+	public PowerupController getPowerupController() {
+		return powerupController;
+	}
+
+	/**
+	 * Gets the number of ticks run since the Simulation was created or reset.
+	 * @return the number of ticks.
+	 */
+	public long getTickCount() {
+		return tickCount;
+	}
+}
@@ -0,0 +1,85 @@
+package nl.github.martijn9612.fishy.simulation;
+
+import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.input.BotInput;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.utils.FixedTimestep;
+import nl.github.martijn9612.fishy.utils.GameRandom;
+
+/**
+ * Runs headless matches from the command line and reports how many ticks
+ * per second were simulated, for balance runs and validation on machines
+ * without a display. The player is steered by a BotInput.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class SimulationRunner {
+	public static final int DEFAULT_MATCHES = 100;
+	public static final int DEFAULT_MAX_TICKS = 36000;
+	private final GameRandom seeds;
+	private int wins = 0;
+	private int losses = 0;
+	private int unfinished = 0;
+	private long ticks = 0;
+	private double totalScore = 0;
+
+	/**
+	 * Runs the matches and prints the results.
+	 * @param args - optional number of matches, maximum ticks per match and seed.
+	 */
+	public static void main(String[] args) {
+		int matches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MATCHES;
+		int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+		SimulationRunner runner = new SimulationRunner(seed);
+		System.out.println("Seed: " + seed);
+		long start = System.nanoTime();
+		for (int i = 0; i < matches; i++) {
+			runner.runMatch(maxTicks);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println("Matches: " + matches + " (won " + runner.wins + ", lost "
+				+ runner.losses + ", unfinished " + runner.unfinished + ")");
+		System.out.println("Average score: " + Math.round(runner.totalScore / Math.max(1, matches)));
+		System.out.println("Simulated ticks: " + runner.ticks + " in " + Math.round(seconds * 1000) + " ms");
+		System.out.println("Simulated fps: " + Math.round(runner.ticks / Math.max(seconds, 1e-9)));
+		Main.actionLogger.close();
+	}
+
+	/**
+	 * Creates a new SimulationRunner, every run with the same seed plays the same matches.
+	 * @param seed - the seed the seeds of the matches are taken from.
+	 */
+	public SimulationRunner(long seed) {
+		seeds = new GameRandom(seed);
+	}
+
+	/**
+	 * Runs a single match until the player won or lost, or the tick limit is reached.
+	 * @param maxTicks - maximum number of ticks of the match.
+	 * @return RUNNING when the match didn't finish, WON or LOST otherwise.
+	 */
+	public int runMatch(int maxTicks) {
+		Simulation simulation = new Simulation(false, seeds.nextLong());
+		Player player = simulation.getPlayer();
+		player.setInputSource(new BotInput(player, simulation.getOpponentController()));
+		FixedTimestep timestep = new FixedTimestep(Main.TICK_RATE, 1);
+		int outcome = Simulation.RUNNING;
+		for (int i = 0; i < maxTicks && outcome == Simulation.RUNNING; i++) {
+			outcome = simulation.tick(timestep.nextTickLength());
+		}
+		ticks += simulation.getTickCount();
+		totalScore += simulation.getPlayer().getScore();
+		if (outcome == Simulation.WON) {
+			wins++;
+		} else if (outcome == Simulation.LOST) {
+			losses++;
+		} else {
+			unfinished++;
+		}
+		return outcome;
+	}
+
+	public long getTicks() {
+		return ticks;
+	}
+}
@@ -17,6 +17,7 @@ import org.newdawn.slick.state.StateBasedGame;
 import nl.github.martijn9612.fishy.Main;
 import nl.github.martijn9612.fishy.models.Button;
 import nl.github.martijn9612.fishy.position.MousePosition;
+import nl.github.martijn9612.fishy.utils.TextureCache;
 
 /**
  * Implements the HelpState which shows instructions to the game.
@@ -110,13 +111,14 @@ public class HelpState extends BasicGameState {
         background = new Image("resources/" + Main.LEVEL_BACKGROUND + ".jpg");
         background.setAlpha(0.1f);
         backButton = new Button(BACK_BUTTON_DRAW_X, BACK_BUTTON_DRAW_Y, BACK_BUTTON_RESOURCE);
-        poison = new Image(POISON_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
-        shield = new Image(SHIELD_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
-        speedup = new Image(SPEEDUP_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
-        extralife = new Image(EXTRALIFE_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
-        fish = new Image(FISH_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
-        squid = new Image(SQUID_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
-        whale = new Image(WHALE_RESOURCE).getScaledCopy(POWERUP_SIZE * 2, POWERUP_SIZE * 2);
+        TextureCache textures = TextureCache.getInstance();
+        poison = textures.acquire(POISON_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
+        shield = textures.acquire(SHIELD_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
+        speedup = textures.acquire(SPEEDUP_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
+        extralife = textures.acquire(EXTRALIFE_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
+        fish = textures.acquire(FISH_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
+        squid = textures.acquire(SQUID_RESOURCE).getScaledCopy(POWERUP_SIZE, POWERUP_SIZE);
+        whale = textures.acquire(WHALE_RESOURCE).getScaledCopy(POWERUP_SIZE * 2, POWERUP_SIZE * 2);
         textFont = new TrueTypeFont(new java.awt.Font("Calibri", java.awt.Font.PLAIN , 16), true);
         titleFont = new TrueTypeFont(new java.awt.Font("Calibri", java.awt.Font.BOLD , 24), true);
         introFont = new TrueTypeFont(new java.awt.Font("Calibri", java.awt.Font.BOLD , 16), true);
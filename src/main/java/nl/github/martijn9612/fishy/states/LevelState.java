@@ -1,5 +1,8 @@
 package nl.github.martijn9612.fishy.states;
 
+import java.io.File;
+import java.io.IOException;
+
 import org.newdawn.slick.Color;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
@@ -12,9 +15,19 @@ import org.newdawn.slick.state.StateBasedGame;
 import nl.github.martijn9612.fishy.Main;
 import nl.github.martijn9612.fishy.OpponentController;
 import nl.github.martijn9612.fishy.ScoreController;
+import nl.github.martijn9612.fishy.input.InputSource;
+import nl.github.martijn9612.fishy.input.KeyboardInput;
+import nl.github.martijn9612.fishy.input.RecordingInput;
 import nl.github.martijn9612.fishy.models.Player;
 import nl.github.martijn9612.fishy.powerups.PowerupController;
+import nl.github.martijn9612.fishy.simulation.Replay;
+import nl.github.martijn9612.fishy.simulation.Simulation;
+import nl.github.martijn9612.fishy.utils.ActionLogger;
+import nl.github.martijn9612.fishy.utils.FixedTimestep;
+import nl.github.martijn9612.fishy.utils.GameRandom;
 import nl.github.martijn9612.fishy.utils.MusicPlayer;
+import nl.github.martijn9612.fishy.utils.SpriteBatch;
+import nl.github.martijn9612.fishy.utils.TextureCache;
 
 /**
  * Implements the Level State of the game.
@@ -29,9 +42,14 @@ public class LevelState extends BasicGameState {
 	private Image background;
 	private OpponentController opponentController;
 	private PowerupController powerupController;
+	private Simulation simulation;
+	private InputSource keyboardInput;
+	private RecordingInput recording;
+	private GameRandom seeds = new GameRandom();
+	private SpriteBatch spriteBatch = new SpriteBatch();
+	private FixedTimestep timestep = new FixedTimestep(Main.TICK_RATE, Main.MAX_CATCH_UP_TICKS);
 	private MusicPlayer musicPlayer = MusicPlayer.getInstance();
 	private boolean nextStateIsHelpState = false;
-    private static final int PLAYER_WIN_AT_SCORE = 500;
     private static final int XPOS_STATE_STRING = 300;
     private static final int YPOS_STATE_STRING = 10;
     private static final int XPOS_SCORE_STRING = 450;
@@ -54,9 +72,12 @@ public class LevelState extends BasicGameState {
      */
 	public void init(GameContainer gc, StateBasedGame sbg) throws SlickException {
 		background = new Image("resources/" + Main.LEVEL_BACKGROUND + ".jpg");
-		opponentController = new OpponentController(true);
-		powerupController = new PowerupController();
-		player = Player.createPlayer(true);
+		simulation = new Simulation(true, seeds.nextSeed());
+		player = simulation.getPlayer();
+		opponentController = simulation.getOpponentController();
+		powerupController = simulation.getPowerupController();
+		keyboardInput = new KeyboardInput(gc.getInput());
+		player.setInputSource(keyboardInput);
 	}
 
 	/**
@@ -70,7 +91,11 @@ public class LevelState extends BasicGameState {
 		super.enter(gameContainer, stateBasedGame);
 		Main.actionLogger.logLine("Entering LevelState", getClass().getSimpleName());
 		musicPlayer.loopSound(MusicPlayer.BG_MUSIC_LEVEL);
+		if (!nextStateIsHelpState) {
+			startMatch();
+		}
 		nextStateIsHelpState = false;
+		timestep.reset();
 	}
 
     /**
@@ -87,13 +112,18 @@ public class LevelState extends BasicGameState {
 		g.drawString(fishPosition, XPOS_STATE_STRING, YPOS_STATE_STRING);
 		g.drawString(score, XPOS_SCORE_STRING, YPOS_STATE_STRING);
 		g.drawString(lives, XPOS_LIVES_STRING, YPOS_STATE_STRING);
-		player.renderObject(g);
-		opponentController.renderOpponents(g);
-		powerupController.renderOpponents(g);
+		player.renderObject(spriteBatch);
+		opponentController.renderOpponents(spriteBatch);
+		powerupController.renderOpponents(spriteBatch);
+		spriteBatch.flush();
+		player.renderOverlay(g);
+		opponentController.renderOverlays(g);
+		powerupController.renderOverlays(g);
 	}
 
     /**
-     * Update the game logic and check if the win condition should be triggered.
+     * Update the game logic, running as many fixed length ticks as fit in
+     * the time that has passed, so the game speed doesn't depend on the frame rate.
      * @param gc - the container holding the game
      * @param sbg - the game holding the state
      * @param delta - time that has passed since last update in milliseconds
@@ -101,6 +131,7 @@ public class LevelState extends BasicGameState {
      */
     public void update(GameContainer gc, StateBasedGame sbg, int delta) throws SlickException {
 		Input input = gc.getInput();
+		TextureCache.getInstance().releaseUnused();
 		
 		if (input.isKeyPressed(Input.KEY_P)) {
 			gc.setPaused(!gc.isPaused());
@@ -108,23 +139,37 @@ public class LevelState extends BasicGameState {
 			sbg.enterState(HelpState.STATE_ID);
 			nextStateIsHelpState = true;
 		}
-		
-		player.objectLogic(gc, delta);
-        opponentController.updateOpponents(gc, delta);
-        opponentController.spawnOpponents(player);
-		opponentController.collide(player, sbg);
-		powerupController.updatePowerup(gc, delta);
-		powerupController.SpawnPowerup();
-		powerupController.collide(player, sbg);
+
+		int ticks = timestep.advance(delta);
+		boolean levelEnded = false;
+		for (int i = 0; i < ticks && !levelEnded; i++) {
+			levelEnded = tick(gc, sbg, timestep.nextTickLength());
+		}
 		fishPosition = player.getData().getPosition().toString();
 		lives = player.getLivesAsString();
+    }
 
-        if (player.getScore() >= PLAYER_WIN_AT_SCORE) {
-            Main.actionLogger.logLine("Player won the game", getClass().getSimpleName());
+    /**
+     * Runs a single tick of the game logic and switches to the win or lose screen when the match ended.
+     * @param gc - the container holding the game
+     * @param sbg - the game holding the state
+     * @param tickLength - length of a tick in milliseconds
+     * @return true if the player won or lost during this tick, false if not.
+     */
+    private boolean tick(GameContainer gc, StateBasedGame sbg, int tickLength) {
+		int outcome = simulation.tick(tickLength);
+		if (outcome == Simulation.LOST) {
+			ScoreController.getInstance().storePlayerScore(player.getScore());
+			sbg.enterState(LoseState.STATE_ID);
+			return true;
+		}
+        if (outcome == Simulation.WON) {
             ScoreController.getInstance().storePlayerScore(player.getScore());
             player.resetPlayerVariables();
             sbg.enterState(WinState.STATE_ID);
+            return true;
         }
+        return false;
     }
 
     /**
@@ -139,9 +184,43 @@ public class LevelState extends BasicGameState {
 		Main.actionLogger.logLine("Leaving LevelState", getClass().getSimpleName());
 		musicPlayer.stopSound(MusicPlayer.BG_MUSIC_LEVEL);
 		if(!nextStateIsHelpState) {
-			opponentController.removeAllOpponents();
-			player.resetPlayerVariables();
-			powerupController.remove();
+			saveReplay();
+			simulation.reset();
+		}
+	}
+
+	/**
+	 * Starts a new match with a new seed, when replays are recorded the
+	 * input of the player is recorded from the first tick.
+	 */
+	private void startMatch() {
+		simulation.reset(seeds.nextSeed());
+		timestep.restart();
+		if (Main.RECORD_REPLAYS) {
+			recording = new RecordingInput(keyboardInput);
+			player.setInputSource(recording);
+		}
+	}
+
+	/**
+	 * Saves the seed and the recorded input of the match that ended to the replay directory.
+	 */
+	private void saveReplay() {
+		if (recording == null || recording.size() == 0) {
+			return;
+		}
+		Replay replay = new Replay(simulation.getSeed(), timestep.getTickRate(), recording.getRecording());
+		recording = null;
+		File directory = new File(Main.REPLAY_DIRECTORY);
+		File file = new File(directory, "replay-" + System.currentTimeMillis() + Replay.FILE_EXTENSION);
+		try {
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				throw new IOException("Can't create " + directory);
+			}
+			replay.save(file);
+			Main.actionLogger.log(ActionLogger.INFO, getClass().getSimpleName(), "Replay saved to {}", file.getPath());
+		} catch (IOException e) {
+			e.printStackTrace();
 		}
 	}
     
@@ -1,71 +1,816 @@
 package nl.github.martijn9612.fishy.utils;
 
-import java.io.FileWriter;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 import nl.github.martijn9612.fishy.Main;
 
 /**
  * This class logs to a file to observe the behaviour of a program.
+ * Logging only puts the line in a ring buffer, a background thread formats
+ * the lines and appends them to a RotatingLogFile, so the game thread never
+ * waits for the disk. The log file has a fixed size, when it's full it's
+ * rolled over and only the last few files are kept. When the buffer is full the
+ * overflow policy decides whether lines are dropped, the logging thread
+ * waits, or only a sample of the lines is kept.
+ * Every line has a level, lines below the threshold of the class they are
+ * logged in are skipped before any text is built. The thresholds can be
+ * changed while the game runs, with setLevel or configure, and are read
+ * from the fishy.log system property at startup.
+ * A line is kept in the buffer as its text with {} placeholders and its
+ * arguments, it's only built on the writer thread. The logger can also
+ * write the events in the binary layout of BinaryLogFormat instead, which
+ * is read back with the LogDecoder.
  * Software Engineering Methods Project - Group 11.
  */
 public class ActionLogger {
     public static final boolean APPEND = true;
-    private FileWriter fileWriter;
-    private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    public static final String DEFAULT_FILE = "log.txt";
+    public static final String BINARY_FILE = "log.bin";
+    public static final String CONFIG_PROPERTY = "fishy.log";
+    public static final int TRACE = 0;
+    public static final int DEBUG = 1;
+    public static final int INFO = 2;
+    public static final int WARN = 3;
+    public static final int ERROR = 4;
+    public static final int OFF = 5;
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_FILES = 5;
+    public static final int OVERFLOW_DROP = 0;
+    public static final int OVERFLOW_BLOCK = 1;
+    public static final int OVERFLOW_SAMPLE = 2;
+    public static final int SAMPLE_RATE = 16;
+    private static final String[] LEVEL_NAMES = {"TRACE", "DEBUG", "INFO", "WARN", "ERROR", "OFF"};
+    private static final String PLACEHOLDER = "{}";
+    private static final double MAX_WHOLE_NUMBER = 1e15;
+    private static final String DROPPED_TEXT = "{} log lines dropped";
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long FLUSH_TIMEOUT = TimeUnit.SECONDS.toNanos(2);
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+    private final LogRingBuffer buffer;
+    private final int overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private final SimpleDateFormat dateFormat = createDateFormat();
+    private final Map<String, Integer> strings = new HashMap<String, Integer>();
+    private final boolean binary;
+    private final long startMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final Thread writer;
+    private final Thread shutdownHook;
+    private final LogRingBuffer.LogEvent droppedEvent = new LogRingBuffer.LogEvent(0);
+    private RotatingLogFile logFile;
+    private boolean fileHasRecords = false;
+    private volatile boolean running = true;
+    private volatile long written = 0;
+    private volatile int level = INFO;
+    private volatile Map<String, Integer> classLevels = Collections.emptyMap();
 
     /**
-     * Instantiates a new FileWriter to log to a file, each time overwriting the old file.
+     * Instantiates a new logger to log to log.txt, or log.bin when the
+     * binary log is switched on. The log of the previous session is kept as log.txt.1.
      */
     public ActionLogger() {
+        this(new File(Main.BINARY_LOG ? BINARY_FILE : DEFAULT_FILE), DEFAULT_CAPACITY, OVERFLOW_BLOCK,
+                Main.BINARY_LOG);
+    }
+
+    /**
+     * Instantiates a new logger writing text.
+     * @param file - the file to log to.
+     * @param capacity - maximum number of lines waiting to be written.
+     * @param overflowPolicy - OVERFLOW_DROP, OVERFLOW_BLOCK or OVERFLOW_SAMPLE.
+     */
+    public ActionLogger(File file, int capacity, int overflowPolicy) {
+        this(file, capacity, overflowPolicy, false);
+    }
+
+    /**
+     * Instantiates a new logger with files of the default size.
+     * @param file - the file to log to.
+     * @param capacity - maximum number of lines waiting to be written.
+     * @param overflowPolicy - OVERFLOW_DROP, OVERFLOW_BLOCK or OVERFLOW_SAMPLE.
+     * @param binary - when true the events are written as binary records, when false as text.
+     */
+    public ActionLogger(File file, int capacity, int overflowPolicy, boolean binary) {
+        this(file, capacity, overflowPolicy, binary, DEFAULT_SEGMENT_SIZE, DEFAULT_FILES);
+    }
+
+    /**
+     * Instantiates a new logger.
+     * @param file - the file to log to.
+     * @param capacity - maximum number of lines waiting to be written.
+     * @param overflowPolicy - OVERFLOW_DROP, OVERFLOW_BLOCK or OVERFLOW_SAMPLE.
+     * @param binary - when true the events are written as binary records, when false as text.
+     * @param segmentSize - size of a log file in bytes.
+     * @param maxFiles - number of log files kept, including the current one.
+     */
+    public ActionLogger(File file, int capacity, int overflowPolicy, boolean binary, int segmentSize,
+            int maxFiles) {
+        if (overflowPolicy < OVERFLOW_DROP || overflowPolicy > OVERFLOW_SAMPLE) {
+            throw new IllegalArgumentException("Unknown overflow policy: " + overflowPolicy);
+        }
+        this.buffer = new LogRingBuffer(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.binary = binary;
+        if (binary) {
+            appendHeader();
+        }
+        if (Main.DEBUG_MODE) {
+            level = DEBUG;
+        }
+        String config = System.getProperty(CONFIG_PROPERTY);
+        if (config != null) {
+            configureFromProperty(config);
+        }
         try {
-            fileWriter = new FileWriter("log.txt", false);
-            fileWriter.close();
+            logFile = new RotatingLogFile(file, segmentSize, maxFiles, binary ? BinaryLogFormat.EVENT_SIZE : 0);
         } catch (Exception e) {
             System.out.println(e.toString());
         }
+        writer = new Thread(new Runnable() {
+            public void run() {
+                writeLoop();
+            }
+        }, "ActionLogger");
+        writer.setDaemon(true);
+        writer.start();
+        shutdownHook = new Thread(new Runnable() {
+            public void run() {
+                close();
+            }
+        }, "ActionLogger shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
     }
 
     /**
-     * Logs one line to file to log in.
+     * Logs one line to file to log in, at level INFO.
      * @param text - Text to log.
      * @param className - Class the log is called in.
      */
 	public void logLine(String text, String className) {
-		logLine(text, className, false);
+		log(INFO, className, text);
 	}
 
     /**
      * Logs one line to file to log in.
      * @param text - Text to log.
      * @param className - Class the log is called in.
-     * @param isError - Adds additional error text if set to true.
+     * @param isError - Logs at level ERROR, with additional error text, if set to true.
      */
 	public void logLine(String text, String className, boolean isError) {
-		try {
-            fileWriter = new FileWriter("log.txt", APPEND);
-            String logMessage = "[ " + getTimeStamp() + "] - " + text + " - " + className + "\n";
-			if (isError) {
-				logMessage = "[ERROR!]" + logMessage;
+		log(isError ? ERROR : INFO, className, text);
+	}
+
+    /**
+     * Logs one line when the level is enabled for the class.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @param text - Text to log.
+     */
+	public void log(int lineLevel, String className, String text) {
+		if (isEnabled(lineLevel, className)) {
+			LogRingBuffer.LogEvent event = claim(lineLevel, className, text);
+			if (event != null) {
+				buffer.publish(event);
+			}
+		}
+	}
+
+    /**
+     * Logs one line when the level is enabled for the class, the {} in the
+     * format is replaced by the argument only then.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @param format - Text to log with a {} placeholder.
+     * @param arg - the value of the placeholder.
+     */
+	public void log(int lineLevel, String className, String format, Object arg) {
+		if (isEnabled(lineLevel, className)) {
+			LogRingBuffer.LogEvent event = claim(lineLevel, className, format);
+			if (event != null) {
+				buffer.publish(event.setArgument(0, String.valueOf(arg)));
+			}
+		}
+	}
+
+    /**
+     * Logs one line when the level is enabled for the class, the {} in the
+     * format is replaced by the number. The number is kept as a number, so
+     * nothing is built on the calling thread.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @param format - Text to log with a {} placeholder.
+     * @param value - the value of the placeholder.
+     */
+	public void log(int lineLevel, String className, String format, double value) {
+		if (isEnabled(lineLevel, className)) {
+			LogRingBuffer.LogEvent event = claim(lineLevel, className, format);
+			if (event != null) {
+				buffer.publish(event.setArgument(0, value));
+			}
+		}
+	}
+
+    /**
+     * Logs one line when the level is enabled for the class, the two {} in
+     * the format are replaced by the numbers.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @param format - Text to log with two {} placeholders.
+     * @param value1 - the value of the first placeholder.
+     * @param value2 - the value of the second placeholder.
+     */
+	public void log(int lineLevel, String className, String format, double value1, double value2) {
+		if (isEnabled(lineLevel, className)) {
+			LogRingBuffer.LogEvent event = claim(lineLevel, className, format);
+			if (event != null) {
+				buffer.publish(event.setArgument(0, value1).setArgument(1, value2));
+			}
+		}
+	}
+
+    /**
+     * Logs one line when the level is enabled for the class, the two {} in
+     * the format are replaced by the arguments only then.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @param format - Text to log with two {} placeholders.
+     * @param arg1 - the value of the first placeholder.
+     * @param arg2 - the value of the second placeholder.
+     */
+	public void log(int lineLevel, String className, String format, Object arg1, Object arg2) {
+		if (isEnabled(lineLevel, className)) {
+			LogRingBuffer.LogEvent event = claim(lineLevel, className, format);
+			if (event != null) {
+				buffer.publish(event.setArgument(0, String.valueOf(arg1)).setArgument(1, String.valueOf(arg2)));
+			}
+		}
+	}
+
+    /**
+     * Logs one line when the level is enabled for the class, the text is only built then.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @param message - builds the text to log.
+     */
+	public void log(int lineLevel, String className, Supplier<String> message) {
+		if (isEnabled(lineLevel, className)) {
+			log(lineLevel, className, message.get());
+		}
+	}
+
+    /**
+     * Checks whether lines of a level logged in a class are written.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @return true if the line would be written, false if it's skipped.
+     */
+	public boolean isEnabled(int lineLevel, String className) {
+		Map<String, Integer> levels = classLevels;
+		if (!levels.isEmpty()) {
+			Integer classLevel = levels.get(className);
+			if (classLevel != null) {
+				return lineLevel >= classLevel && lineLevel < OFF;
+			}
+		}
+		return lineLevel >= level && lineLevel < OFF;
+	}
+
+    /**
+     * Sets the threshold of all classes without a threshold of their own.
+     * @param newLevel - the lowest level that's written, OFF to write nothing.
+     */
+	public void setLevel(int newLevel) {
+		level = checkLevel(newLevel);
+	}
+
+    /**
+     * Gets the threshold of all classes without a threshold of their own.
+     * @return the lowest level that's written.
+     */
+	public int getLevel() {
+		return level;
+	}
+
+    /**
+     * Sets the threshold of a single class.
+     * @param className - the class, as passed when logging.
+     * @param newLevel - the lowest level that's written, or -1 to use the threshold of all classes again.
+     */
+	public synchronized void setLevel(String className, int newLevel) {
+		Map<String, Integer> levels = new HashMap<String, Integer>(classLevels);
+		if (newLevel < 0) {
+			levels.remove(className);
+		} else {
+			levels.put(className, checkLevel(newLevel));
+		}
+		classLevels = levels;
+	}
+
+    /**
+     * Sets the thresholds from a text like "INFO,OpponentController=TRACE",
+     * an entry without a class sets the threshold of all classes.
+     * @param config - comma separated thresholds.
+     */
+	public synchronized void configure(String config) {
+		for (String entry : config.split(",")) {
+			configureEntry(entry);
+		}
+	}
+
+    /**
+     * Sets the thresholds from the system property, an entry with an
+     * unknown level is reported and skipped so a typo doesn't stop the game.
+     * @param config - comma separated thresholds.
+     */
+	private synchronized void configureFromProperty(String config) {
+		for (String entry : config.split(",")) {
+			try {
+				configureEntry(entry);
+			} catch (IllegalArgumentException e) {
+				System.err.println("Ignoring " + CONFIG_PROPERTY + " entry \"" + entry.trim() + "\": "
+						+ e.getMessage());
+			}
+		}
+	}
+
+    /**
+     * Sets one threshold, like "INFO" or "OpponentController=TRACE".
+     * @param entry - the threshold, empty entries are skipped.
+     */
+	private void configureEntry(String entry) {
+		String trimmed = entry.trim();
+		if (trimmed.isEmpty()) {
+			return;
+		}
+		int separator = trimmed.indexOf('=');
+		if (separator < 0) {
+			setLevel(parseLevel(trimmed));
+		} else {
+			setLevel(trimmed.substring(0, separator).trim(),
+					parseLevel(trimmed.substring(separator + 1).trim()));
+		}
+	}
+
+    /**
+     * Gets the level with the given name.
+     * @param name - name of the level, like DEBUG, in any case.
+     * @return the level.
+     */
+	public static int parseLevel(String name) {
+		for (int i = 0; i < LEVEL_NAMES.length; i++) {
+			if (LEVEL_NAMES[i].equalsIgnoreCase(name)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown log level: " + name);
+	}
+
+    /**
+     * Gets the name of a level.
+     * @param lineLevel - the level.
+     * @return the name of the level, like DEBUG.
+     */
+	public static String getLevelName(int lineLevel) {
+		return LEVEL_NAMES[checkLevel(lineLevel)];
+	}
+
+    /**
+     * Checks that a level exists.
+     * @param lineLevel - the level to check.
+     * @return the level.
+     */
+	private static int checkLevel(int lineLevel) {
+		if (lineLevel < TRACE || lineLevel > OFF) {
+			throw new IllegalArgumentException("Unknown log level: " + lineLevel);
+		}
+		return lineLevel;
+	}
+
+    /**
+     * Claims a slot in the buffer for a line, it's written by the writer
+     * thread after it's published. What happens when the buffer is full
+     * depends on the overflow policy.
+     * @param lineLevel - level of the line.
+     * @param className - Class the log is called in.
+     * @param text - Text to log, with a {} for every argument.
+     * @return the filled slot, or null when the line is dropped.
+     */
+	private LogRingBuffer.LogEvent claim(int lineLevel, String className, String text) {
+		if (!running) {
+			return null;
+		}
+		LogRingBuffer.LogEvent event = buffer.claim();
+		if (event == null) {
+			boolean wait = overflowPolicy == OVERFLOW_BLOCK || (overflowPolicy == OVERFLOW_SAMPLE
+					&& overflows.getAndIncrement() % SAMPLE_RATE == 0);
+			if (!wait) {
+				dropped.incrementAndGet();
+				return null;
+			}
+			LockSupport.unpark(writer);
+			while ((event = buffer.claim()) == null) {
+				if (!running) {
+					dropped.incrementAndGet();
+					return null;
+				}
+				Thread.yield();
 			}
-			if (Main.DEBUG_MODE) {
-				System.out.print(logMessage);
+		}
+		return event.set(System.nanoTime(), lineLevel, className, text);
+	}
+
+    /**
+     * Replaces the {} placeholders of a format by the arguments.
+     * @param format - text with placeholders.
+     * @param arg1 - the value of the first placeholder.
+     * @param arg2 - the value of the second placeholder.
+     * @param count - the number of arguments.
+     * @return the text.
+     */
+	static String formatText(String format, String arg1, String arg2, int count) {
+		if (count == 0) {
+			return format;
+		}
+		StringBuilder builder = new StringBuilder(format.length() + 16);
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			int placeholder = format.indexOf(PLACEHOLDER, start);
+			if (placeholder < 0) {
+				break;
 			}
-			fileWriter.write(logMessage);
-            fileWriter.close();
+			builder.append(format, start, placeholder).append(i == 0 ? arg1 : arg2);
+			start = placeholder + PLACEHOLDER.length();
+		}
+		return builder.append(format, start, format.length()).toString();
+	}
+
+    /**
+     * Formats a number argument. Whole numbers are written without a
+     * fraction, so an int or long logged through the double overloads
+     * looks the same as before.
+     * @param value - the number.
+     * @return the number as text.
+     */
+	static String formatNumber(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < MAX_WHOLE_NUMBER) {
+			return Long.toString((long) value);
+		}
+		return String.valueOf(value);
+	}
+
+    /**
+     * Formats a log line.
+     * @param dateFormat - format of the timestamp, only used by one thread.
+     * @param time - the moment of the event in milliseconds.
+     * @param text - Text to log.
+     * @param className - Class the log is called in.
+     * @param isError - Adds additional error text if set to true.
+     * @return the line, ending with a newline.
+     */
+	static String formatLine(SimpleDateFormat dateFormat, long time, String text, String className,
+			boolean isError) {
+		String logMessage = "[ " + dateFormat.format(new Date(time)) + "] - " + text + " - " + className + "\n";
+		if (isError) {
+			logMessage = "[ERROR!]" + logMessage;
+		}
+		return logMessage;
+	}
+
+    /**
+     * Creates the format of the timestamps.
+     * @return a new date format.
+     */
+	static SimpleDateFormat createDateFormat() {
+		return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+	}
+
+    /**
+     * Waits until all lines logged before this call are written to the file.
+     */
+    public void flush() {
+        long target = buffer.getTail();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT;
+        LockSupport.unpark(writer);
+        while (written < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(this, IDLE_WAIT / 10);
+        }
+    }
+
+    /**
+     * Writes all waiting lines, stops the writer thread and closes the file.
+     * Lines logged after closing are ignored. A logger that isn't closed is
+     * closed when the JVM shuts down, so the file is cut to its written size.
+     */
+    public void close() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The JVM is shutting down, this is the shutdown hook.
+        }
+        flush();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(FLUSH_TIMEOUT));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of lines dropped because the buffer was full.
+     * @return the number of dropped lines since the last report in the file.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Runs on the writer thread, takes the lines from the buffer until the logger is closed.
+     */
+    private void writeLoop() {
+        while (true) {
+            LogRingBuffer.LogEvent event = buffer.peek();
+            if (event != null) {
+                if (binary) {
+                    appendBinary(event);
+                } else {
+                    appendText(event);
+                }
+                buffer.advance();
+                continue;
+            }
+            long droppedLines = dropped.getAndSet(0);
+            if (droppedLines > 0) {
+                droppedEvent.set(System.nanoTime(), ERROR, getClass().getSimpleName(), DROPPED_TEXT)
+                        .setArgument(0, String.valueOf(droppedLines));
+                if (binary) {
+                    appendBinary(droppedEvent);
+                } else {
+                    appendText(droppedEvent);
+                }
+            }
+            writeOut();
+            written = buffer.getHead();
+            if (!running) {
+                break;
+            }
+            LockSupport.parkNanos(this, IDLE_WAIT);
+        }
+        closeLogFile();
+    }
+
+    /**
+     * Builds the line of an event and adds it to the write buffer.
+     * @param event - the event to write.
+     */
+    private void appendText(LogRingBuffer.LogEvent event) {
+        int count = event.getArgumentKind(1) != LogRingBuffer.ARG_NONE ? 2
+                : event.getArgumentKind(0) != LogRingBuffer.ARG_NONE ? 1 : 0;
+        String text = formatText(event.getText(), getArgument(event, 0), getArgument(event, 1), count);
+        long time = startMillis + (event.getNanoTime() - startNanos) / NANOS_PER_MILLI;
+        String logMessage = formatLine(dateFormat, time, text, event.getClassName(), event.getLevel() >= ERROR);
+        if (Main.DEBUG_MODE) {
+            System.out.print(logMessage);
+        }
+        append(logMessage);
+    }
+
+    /**
+     * Gets an argument of an event as text.
+     * @param event - the event.
+     * @param index - 0 for the first argument, 1 for the second.
+     * @return the argument, or null if the event doesn't have it.
+     */
+    private static String getArgument(LogRingBuffer.LogEvent event, int index) {
+        int kind = event.getArgumentKind(index);
+        if (kind == LogRingBuffer.ARG_NUMBER) {
+            return formatNumber(event.getNumber(index));
+        }
+        return kind == LogRingBuffer.ARG_TEXT ? event.getArgumentText(index) : null;
+    }
+
+    /**
+     * Adds an event to the write buffer as a binary record, the texts it
+     * refers to are added first when they are new.
+     * @param event - the event to write.
+     */
+    private void appendBinary(LogRingBuffer.LogEvent event) {
+        boolean rolledOver = ensureRoom(getBinarySize(event));
+        if (rolledOver) {
+            // The new file starts an empty string table, so the texts have to be written again
+            ensureRoom(getBinarySize(event));
+        }
+        int text = intern(event.getText());
+        int className = intern(event.getClassName());
+        appendEvent(event.getNanoTime(), event.getLevel(), text, className,
+                event.getArgumentKind(0), getArgumentBits(event, 0),
+                event.getArgumentKind(1), getArgumentBits(event, 1));
+    }
+
+    /**
+     * Gets the most bytes an event takes in the binary log, including the
+     * string records of the texts that weren't written before.
+     * @param event - the event.
+     * @return the size in bytes.
+     */
+    private int getBinarySize(LogRingBuffer.LogEvent event) {
+        int size = BinaryLogFormat.EVENT_SIZE + getStringSize(event.getText()) + getStringSize(event.getClassName());
+        for (int i = 0; i < 2; i++) {
+            if (event.getArgumentKind(i) == LogRingBuffer.ARG_TEXT) {
+                size += getStringSize(event.getArgumentText(i));
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the most bytes the string record of a text takes.
+     * @param value - the text.
+     * @return the size in bytes, 0 if the text was written before.
+     */
+    private int getStringSize(String value) {
+        String key = String.valueOf(value);
+        if (strings.containsKey(key)) {
+            return 0;
+        }
+        return BinaryLogFormat.STRING_HEADER_SIZE + Math.min(key.length() * 3, BinaryLogFormat.MAX_STRING_BYTES);
+    }
+
+    /**
+     * Adds the header of the binary log to the write buffer, every log file
+     * starts with it and has its own string records.
+     */
+    private void appendHeader() {
+        writeBuffer.putInt(BinaryLogFormat.MAGIC).put((byte) BinaryLogFormat.VERSION)
+                .putLong(startMillis).putLong(startNanos);
+        strings.clear();
+        intern(BinaryLogFormat.TABLE_FULL);
+    }
+
+    /**
+     * Makes room for a record in the write buffer, and rolls the log file
+     * over when the record doesn't fit in it anymore. Records never cross
+     * two files, so every file can be read on its own.
+     * @param size - the size of the record in bytes.
+     * @return true if the log file was rolled over, false if not.
+     */
+    private boolean ensureRoom(int size) {
+        if (writeBuffer.remaining() < size) {
+            writeOut();
+        }
+        if (logFile == null || !fileHasRecords || logFile.remaining() - writeBuffer.position() >= size) {
+            return false;
+        }
+        writeOut();
+        try {
+            logFile.roll();
+        } catch (IOException e) {
+            System.out.println("Unable to roll over log file!");
+            e.printStackTrace();
+            closeLogFile();
+        }
+        fileHasRecords = false;
+        if (binary) {
+            appendHeader();
+        }
+        return true;
+    }
+
+    /**
+     * Gets an argument of an event as the value of a binary record.
+     * @param event - the event.
+     * @param index - 0 for the first argument, 1 for the second.
+     * @return the bits of a number, or the id of a text.
+     */
+    private long getArgumentBits(LogRingBuffer.LogEvent event, int index) {
+        int kind = event.getArgumentKind(index);
+        if (kind == LogRingBuffer.ARG_NUMBER) {
+            return Double.doubleToRawLongBits(event.getNumber(index));
+        }
+        return kind == LogRingBuffer.ARG_TEXT ? intern(event.getArgumentText(index)) : 0;
+    }
+
+    /**
+     * Adds an event record to the write buffer.
+     * @param nanoTime - the moment of the event in System.nanoTime.
+     * @param eventLevel - the level of the event.
+     * @param text - id of the text of the event.
+     * @param className - id of the class name.
+     * @param kind1 - kind of the first argument.
+     * @param value1 - value of the first argument.
+     * @param kind2 - kind of the second argument.
+     * @param value2 - value of the second argument.
+     */
+    private void appendEvent(long nanoTime, int eventLevel, int text, int className,
+            int kind1, long value1, int kind2, long value2) {
+        if (writeBuffer.remaining() < BinaryLogFormat.EVENT_SIZE) {
+            writeOut();
+        }
+        writeBuffer.put((byte) BinaryLogFormat.RECORD_EVENT).put((byte) eventLevel)
+                .put((byte) (kind1 | (kind2 << BinaryLogFormat.KIND_BITS)))
+                .putShort((short) text).putShort((short) className)
+                .putLong(nanoTime).putLong(value1).putLong(value2);
+        fileHasRecords = true;
+    }
+
+    /**
+     * Gets the id of a text in the binary log, a string record is added
+     * the first time a text is seen.
+     * @param value - the text.
+     * @return the id of the text.
+     */
+    private int intern(String value) {
+        String key = String.valueOf(value);
+        Integer id = strings.get(key);
+        if (id != null) {
+            return id;
+        }
+        if (strings.size() >= BinaryLogFormat.MAX_STRINGS) {
+            return 0;
+        }
+        id = strings.size();
+        strings.put(key, id);
+        byte[] bytes = key.getBytes(CHARSET);
+        int length = Math.min(bytes.length, BinaryLogFormat.MAX_STRING_BYTES);
+        if (writeBuffer.remaining() < BinaryLogFormat.STRING_HEADER_SIZE + length) {
+            writeOut();
+        }
+        writeBuffer.put((byte) BinaryLogFormat.RECORD_STRING).putShort((short) (int) id)
+                .putShort((short) length).put(bytes, 0, length);
+        return id;
+    }
+
+    /**
+     * Adds a line to the write buffer, writing the buffer out first when it's full.
+     * @param logMessage - the formatted line.
+     */
+    private void append(String logMessage) {
+        byte[] bytes = logMessage.getBytes(CHARSET);
+        ensureRoom(bytes.length);
+        if (bytes.length > writeBuffer.remaining()) {
+            write(ByteBuffer.wrap(bytes));
+        } else {
+            writeBuffer.put(bytes);
+        }
+        fileHasRecords = true;
+    }
+
+    /**
+     * Writes the contents of the write buffer to the file.
+     */
+    private void writeOut() {
+        writeBuffer.flip();
+        write(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    /**
+     * Writes bytes to the file, when the file can't be written they are discarded.
+     * @param bytes - the bytes to write.
+     */
+    private void write(ByteBuffer bytes) {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            logFile.write(bytes);
         } catch (IOException e) {
             System.out.println("Unable to log to file!");
             e.printStackTrace();
+            closeLogFile();
         }
-	}
+    }
 
     /**
-     * Gets the current time to specify the moment the log was made.
-     * @return String with the current time.
+     * Closes the file.
      */
-    private String getTimeStamp() {
-        return dateFormat.format(new Date());
+    private void closeLogFile() {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            logFile.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        logFile = null;
     }
 }
@@ -0,0 +1,234 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Packs the sprites in the resources folder into one or a few texture atlas
+ * pages, together with an index describing where each sprite is placed.
+ * Backgrounds (jpg files) are drawn full screen and are not packed.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class AtlasPacker {
+	public static final String RESOURCE_DIRECTORY = "resources";
+	public static final String ATLAS_DIRECTORY = "atlas";
+	public static final String INDEX_FILE = "sprites.idx";
+	public static final int PAGE_SIZE = 2048;
+	public static final int MAX_SPRITE_SIZE = 512;
+	private static final int PADDING = 2;
+	private static final String[] SPRITE_EXTENSIONS = {".png", ".gif"};
+
+	/**
+	 * Packs the sprites from the command line, so the atlas can be built
+	 * ahead of time instead of on first launch.
+	 * @param args - optional resource folder and atlas folder.
+	 */
+	public static void main(String[] args) {
+		File resources = new File(args.length > 0 ? args[0] : RESOURCE_DIRECTORY);
+		File atlas = new File(args.length > 1 ? args[1] : ATLAS_DIRECTORY);
+		try {
+			List<AtlasRegion> regions = new AtlasPacker().pack(resources, atlas);
+			System.out.println("Packed " + regions.size() + " sprites into " + atlas.getPath());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Gets the file of an atlas page.
+	 * @param atlasDirectory - folder holding the atlas.
+	 * @param page - index of the page.
+	 * @return File of the page image.
+	 */
+	public static File getPageFile(File atlasDirectory, int page) {
+		return new File(atlasDirectory, "sprites-" + page + ".png");
+	}
+
+	/**
+	 * Checks whether the atlas has to be packed (again), which is the case
+	 * when there is no index or a sprite changed after the index was written.
+	 * @param resourceDirectory - folder holding the sprites.
+	 * @param atlasDirectory - folder holding the atlas.
+	 * @return true if the atlas is missing or out of date.
+	 */
+	public boolean isOutdated(File resourceDirectory, File atlasDirectory) {
+		File index = new File(atlasDirectory, INDEX_FILE);
+		if (!index.isFile()) {
+			return true;
+		}
+		for (File sprite : getSprites(resourceDirectory)) {
+			if (sprite.lastModified() > index.lastModified()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Packs all sprites of the resource folder into atlas pages and writes
+	 * the pages and the index to the atlas folder. Sprites larger than
+	 * MAX_SPRITE_SIZE are scaled down, they are never drawn bigger than that.
+	 * @param resourceDirectory - folder holding the sprites.
+	 * @param atlasDirectory - folder to write the atlas to.
+	 * @return the regions of all packed sprites.
+	 * @throws IOException - when a sprite can't be read or the atlas can't be written.
+	 */
+	public List<AtlasRegion> pack(File resourceDirectory, File atlasDirectory) throws IOException {
+		List<BufferedImage> images = new ArrayList<BufferedImage>();
+		List<String> resources = new ArrayList<String>();
+		for (File sprite : getSprites(resourceDirectory)) {
+			BufferedImage image = ImageIO.read(sprite);
+			if (image != null) {
+				images.add(limitSize(image));
+				resources.add(resourceDirectory.getPath().replace('\\', '/') + "/" + sprite.getName());
+			}
+		}
+		List<AtlasRegion> regions = placeSprites(resources, images);
+		writeAtlas(atlasDirectory, regions, images);
+		return regions;
+	}
+
+	/**
+	 * Places the sprites on pages in rows, tallest sprites first.
+	 * @param resources - resource paths of the sprites.
+	 * @param images - the sprites, in the same order as the resource paths.
+	 * @return the region of each sprite, in the same order as the resource paths.
+	 */
+	private List<AtlasRegion> placeSprites(List<String> resources, final List<BufferedImage> images) {
+		List<Integer> order = new ArrayList<Integer>();
+		for (int i = 0; i < images.size(); i++) {
+			order.add(i);
+		}
+		Collections.sort(order, new Comparator<Integer>() {
+			public int compare(Integer first, Integer second) {
+				return images.get(second).getHeight() - images.get(first).getHeight();
+			}
+		});
+
+		AtlasRegion[] regions = new AtlasRegion[images.size()];
+		int page = 0;
+		int x = 0;
+		int y = 0;
+		int rowHeight = 0;
+		for (int i : order) {
+			int width = images.get(i).getWidth();
+			int height = images.get(i).getHeight();
+			if (x + width > PAGE_SIZE) {
+				x = 0;
+				y += rowHeight + PADDING;
+				rowHeight = 0;
+			}
+			if (y + height > PAGE_SIZE) {
+				page++;
+				x = 0;
+				y = 0;
+				rowHeight = 0;
+			}
+			regions[i] = new AtlasRegion(resources.get(i), page, x, y, width, height);
+			x += width + PADDING;
+			rowHeight = Math.max(rowHeight, height);
+		}
+		return Arrays.asList(regions);
+	}
+
+	/**
+	 * Draws the sprites onto the pages and writes the pages and the index.
+	 * @param atlasDirectory - folder to write the atlas to.
+	 * @param regions - the region of each sprite.
+	 * @param images - the sprites, in the same order as the regions.
+	 * @throws IOException - when the atlas can't be written.
+	 */
+	private void writeAtlas(File atlasDirectory, List<AtlasRegion> regions,
+			List<BufferedImage> images) throws IOException {
+		if (!atlasDirectory.isDirectory() && !atlasDirectory.mkdirs()) {
+			throw new IOException("Unable to create " + atlasDirectory.getPath());
+		}
+		int pages = 0;
+		for (AtlasRegion region : regions) {
+			pages = Math.max(pages, region.getPage() + 1);
+		}
+		for (int page = 0; page < pages; page++) {
+			int height = 1;
+			for (AtlasRegion region : regions) {
+				if (region.getPage() == page) {
+					height = Math.max(height, region.getY() + region.getHeight());
+				}
+			}
+			BufferedImage pageImage = new BufferedImage(PAGE_SIZE, height, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D graphics = pageImage.createGraphics();
+			for (int i = 0; i < regions.size(); i++) {
+				AtlasRegion region = regions.get(i);
+				if (region.getPage() == page) {
+					graphics.drawImage(images.get(i), region.getX(), region.getY(), null);
+				}
+			}
+			graphics.dispose();
+			ImageIO.write(pageImage, "png", getPageFile(atlasDirectory, page));
+		}
+
+		FileWriter indexWriter = new FileWriter(new File(atlasDirectory, INDEX_FILE), false);
+		try {
+			for (AtlasRegion region : regions) {
+				indexWriter.write(region.toIndexLine() + "\n");
+			}
+		} finally {
+			indexWriter.close();
+		}
+	}
+
+	/**
+	 * Scales a sprite down when it's larger than MAX_SPRITE_SIZE.
+	 * @param image - the sprite.
+	 * @return the sprite itself, or a smaller copy of it.
+	 */
+	private BufferedImage limitSize(BufferedImage image) {
+		int largest = Math.max(image.getWidth(), image.getHeight());
+		if (largest <= MAX_SPRITE_SIZE) {
+			return image;
+		}
+		float scale = (float) MAX_SPRITE_SIZE / largest;
+		int width = Math.max(1, Math.round(image.getWidth() * scale));
+		int height = Math.max(1, Math.round(image.getHeight() * scale));
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = scaled.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+				RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		graphics.drawImage(image, 0, 0, width, height, null);
+		graphics.dispose();
+		return scaled;
+	}
+
+	/**
+	 * Gets the sprite files of the resource folder, sorted by name.
+	 * @param resourceDirectory - folder holding the sprites.
+	 * @return the sprite files.
+	 */
+	private List<File> getSprites(File resourceDirectory) {
+		List<File> sprites = new ArrayList<File>();
+		File[] files = resourceDirectory.listFiles();
+		if (files == null) {
+			return sprites;
+		}
+		Arrays.sort(files);
+		for (File file : files) {
+			String name = file.getName().toLowerCase();
+			for (String extension : SPRITE_EXTENSIONS) {
+				if (file.isFile() && name.endsWith(extension)) {
+					sprites.add(file);
+				}
+			}
+		}
+		return sprites;
+	}
+}
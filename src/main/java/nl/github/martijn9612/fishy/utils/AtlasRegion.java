@@ -0,0 +1,94 @@
+package nl.github.martijn9612.fishy.utils;
+
+/**
+ * Implements the location of one sprite inside a texture atlas page.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class AtlasRegion {
+	private static final String SEPARATOR = "\t";
+	private static final int FIELDS = 6;
+	private String resource;
+	private int page;
+	private int x;
+	private int y;
+	private int width;
+	private int height;
+
+	/**
+	 * Creates a new AtlasRegion.
+	 * @param resource - resource path of the sprite, like "resources/squid.png".
+	 * @param page - index of the atlas page holding the sprite.
+	 * @param x - x position of the sprite on the page.
+	 * @param y - y position of the sprite on the page.
+	 * @param width - width of the sprite on the page.
+	 * @param height - height of the sprite on the page.
+	 */
+	public AtlasRegion(String resource, int page, int x, int y, int width, int height) {
+		this.resource = resource;
+		this.page = page;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Reads a region from a line of the atlas index.
+	 * @param line - line written by toIndexLine.
+	 * @return the AtlasRegion described by the line.
+	 * @throws IllegalArgumentException - when the line isn't a valid region.
+	 */
+	public static AtlasRegion fromIndexLine(String line) {
+		String[] fields = line.split(SEPARATOR);
+		if (fields.length != FIELDS) {
+			throw new IllegalArgumentException("Invalid atlas index line: " + line);
+		}
+		return new AtlasRegion(fields[0], Integer.parseInt(fields[1]),
+				Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+				Integer.parseInt(fields[4]), Integer.parseInt(fields[5]));
+	}
+
+	/**
+	 * Gives the line describing this region in the atlas index.
+	 * @return line for the atlas index.
+	 */
+	public String toIndexLine() {
+		return resource + SEPARATOR + page + SEPARATOR + x + SEPARATOR + y
+				+ SEPARATOR + width + SEPARATOR + height;
+	}
+
+	/**
+	 * Checks whether this region shares pixels with the other region.
+	 * @param other - region to check against.
+	 * @return true if both regions are on the same page and overlap.
+	 */
+	public boolean overlaps(AtlasRegion other) {
+		return page == other.page
+				&& x < other.x + other.width && other.x < x + width
+				&& y < other.y + other.height && other.y < y + height;
+	}
+
+	public String getResource() {
+		return resource;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+}
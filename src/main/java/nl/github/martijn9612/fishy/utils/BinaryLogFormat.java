@@ -0,0 +1,38 @@
+package nl.github.martijn9612.fishy.utils;
+
+/**
+ * BinaryLogFormat class, the layout of the binary log written by the
+ * ActionLogger and read by the LogDecoder.
+ * The file starts with a header holding the wall clock time and the
+ * System.nanoTime of the moment the log was opened, so the decoder can turn
+ * the nanoTime of every event into a date. Then follow records, each
+ * starting with a record type byte:
+ * a string record gives a text an id, the text of an event, the class
+ * names and text arguments are written only once and referred to by id.
+ * An event record has a fixed layout: level, argument kinds, text id,
+ * class id, nanoTime and two arguments, a number as the bits of a double
+ * or the id of a text. The unused end of a log file may be filled with
+ * zero bytes, a zero record type ends the log.
+ * Software Engineering Methods Project - Group 11.
+ */
+public final class BinaryLogFormat {
+    public static final int MAGIC = 0x4653484C;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 4 + 1 + 8 + 8;
+    public static final int RECORD_END = 0;
+    public static final int RECORD_STRING = 1;
+    public static final int RECORD_EVENT = 2;
+    public static final int STRING_HEADER_SIZE = 1 + 2 + 2;
+    public static final int EVENT_SIZE = 1 + 1 + 1 + 2 + 2 + 8 + 8 + 8;
+    public static final int MAX_STRING_BYTES = 4096;
+    public static final int MAX_STRINGS = 1 << 16;
+    public static final String TABLE_FULL = "<string table full>";
+    public static final int KIND_BITS = 2;
+    public static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    /**
+     * The format only has constants.
+     */
+    private BinaryLogFormat() {
+    }
+}
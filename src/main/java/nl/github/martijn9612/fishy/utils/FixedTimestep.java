@@ -0,0 +1,105 @@
+package nl.github.martijn9612.fishy.utils;
+
+/**
+ * FixedTimestep class, turns the variable time between frames into a number
+ * of fixed length simulation ticks. Time that doesn't fill a whole tick is
+ * carried over to the next frame. After a long stall only a limited number
+ * of ticks is caught up, the rest of the time is dropped so the game slows
+ * down instead of freezing while it tries to catch up.
+ * A tick usually isn't a whole number of milliseconds, at 60 ticks per
+ * second it's 16.67. The game logic takes whole milliseconds, so
+ * nextTickLength gives 17, 16 and 17 milliseconds in turn, which add up to
+ * exactly the time that passed.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class FixedTimestep {
+	private static final double MILLIS_PER_SECOND = 1000.0;
+	private final double tickLength;
+	private final int maxTicksPerUpdate;
+	private final int tickRate;
+	private double accumulator = 0;
+	private long tickCount = 0;
+
+	/**
+	 * Creates a new FixedTimestep.
+	 * @param tickRate - number of ticks per second.
+	 * @param maxTicksPerUpdate - maximum number of ticks run in a single update.
+	 */
+	public FixedTimestep(int tickRate, int maxTicksPerUpdate) {
+		if (tickRate <= 0 || maxTicksPerUpdate <= 0) {
+			throw new IllegalArgumentException("Tick rate and catch up limit must be positive");
+		}
+		this.tickRate = tickRate;
+		this.tickLength = MILLIS_PER_SECOND / tickRate;
+		this.maxTicksPerUpdate = maxTicksPerUpdate;
+	}
+
+	/**
+	 * Adds the time passed since the last update and gives the number of ticks to run.
+	 * @param delta - time that has passed since last update in milliseconds.
+	 * @return the number of ticks to run, at most maxTicksPerUpdate.
+	 */
+	public int advance(int delta) {
+		accumulator += Math.max(0, delta);
+		int ticks = (int) (accumulator / tickLength);
+		if (ticks > maxTicksPerUpdate) {
+			ticks = maxTicksPerUpdate;
+			accumulator %= tickLength;
+		} else {
+			accumulator -= ticks * tickLength;
+		}
+		return ticks;
+	}
+
+	/**
+	 * Drops the time that hasn't been used for a tick yet.
+	 */
+	public void reset() {
+		accumulator = 0;
+	}
+
+	/**
+	 * Starts counting the ticks from zero again, so the lengths given by
+	 * nextTickLength repeat the same way for every match.
+	 */
+	public void restart() {
+		accumulator = 0;
+		tickCount = 0;
+	}
+
+	/**
+	 * Gets the length of the next tick in whole milliseconds. The part of a
+	 * millisecond that is left over is carried to the following ticks, so
+	 * the lengths of all ticks add up to the real time they cover.
+	 * @return the tick length in milliseconds.
+	 */
+	public int nextTickLength() {
+		long start = Math.round(tickCount * tickLength);
+		tickCount++;
+		return (int) (Math.round(tickCount * tickLength) - start);
+	}
+
+	/**
+	 * Gets the exact length of a single tick.
+	 * @return the tick length in milliseconds.
+	 */
+	public double getTickLength() {
+		return tickLength;
+	}
+
+	/**
+	 * Gets the number of ticks per second.
+	 * @return the tick rate.
+	 */
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * Gets the time carried over to the next update.
+	 * @return the carried over time in milliseconds.
+	 */
+	public double getAccumulator() {
+		return accumulator;
+	}
+}
@@ -0,0 +1,121 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.Random;
+
+/**
+ * GameRandom class, a fast seedable random stream for the game logic.
+ * It extends Random so it can be passed everywhere a Random is expected,
+ * but the numbers come from the SplitMix64 generator of SplittableRandom
+ * instead of the synchronised generator of Random. A stream is meant to be
+ * used by a single subsystem on the game thread, split gives an independent
+ * stream for another subsystem. The same seed always gives the same numbers.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class GameRandom extends Random {
+	private static final long serialVersionUID = 1L;
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+	private long state;
+
+	/**
+	 * Creates a new GameRandom with a seed based on the current time.
+	 */
+	public GameRandom() {
+		this(mix(System.nanoTime() ^ GOLDEN_GAMMA));
+	}
+
+	/**
+	 * Creates a new GameRandom.
+	 * @param seed - the seed of the stream.
+	 */
+	public GameRandom(long seed) {
+		super(seed);
+		this.state = seed;
+	}
+
+	/**
+	 * Creates a new stream, independent of this one, for another subsystem.
+	 * The numbers of both streams depend only on the seed and the order of
+	 * the splits.
+	 * @return a new GameRandom.
+	 */
+	public GameRandom split() {
+		return new GameRandom(nextSeed());
+	}
+
+	/**
+	 * Gets a seed for another stream, split uses these seeds as well.
+	 * @return a new seed.
+	 */
+	public long nextSeed() {
+		return mix(nextLong());
+	}
+
+	/**
+	 * Restarts the stream with a new seed.
+	 * @param seed - the new seed.
+	 */
+	@Override
+	public void setSeed(long seed) {
+		this.state = seed;
+	}
+
+	/**
+	 * Gets the next random bits, all other methods of Random use these.
+	 * @param bits - number of random bits, at most 32.
+	 * @return an int with the random bits in the lowest positions.
+	 */
+	@Override
+	protected int next(int bits) {
+		return (int) (nextLong() >>> (64 - bits));
+	}
+
+	/**
+	 * Gets the next random long of the SplitMix64 sequence.
+	 * @return a random long.
+	 */
+	@Override
+	public long nextLong() {
+		state += GOLDEN_GAMMA;
+		return mix(state);
+	}
+
+	/**
+	 * Gets a random int, taken from the high bits of a random long.
+	 * @return a random int.
+	 */
+	@Override
+	public int nextInt() {
+		return (int) (nextLong() >>> 32);
+	}
+
+	/**
+	 * Gets a random double in [0, 1), with 53 random bits.
+	 * @return a random double.
+	 */
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * Gets a random boolean.
+	 * @return a random boolean.
+	 */
+	@Override
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	/**
+	 * The SplitMix64 finaliser, spreads the bits of the input over the output.
+	 * @param value - the value to mix.
+	 * @return the mixed value.
+	 */
+	private static long mix(long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
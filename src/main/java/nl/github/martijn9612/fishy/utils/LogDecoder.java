@@ -0,0 +1,233 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+
+/**
+ * LogDecoder class, reads a binary log written by the ActionLogger and turns
+ * the events back into the lines of the text log. Run from the command line
+ * it prints the lines of a file, optionally only those of a level and up or
+ * of a single class.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class LogDecoder {
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+    private final DataInputStream in;
+    private final ArrayList<String> strings = new ArrayList<String>();
+    private final SimpleDateFormat dateFormat = ActionLogger.createDateFormat();
+    private final long startMillis;
+    private final long startNanos;
+    private boolean truncated = false;
+    private long nanoTime;
+    private int level;
+    private String className;
+    private String text;
+
+    /**
+     * Prints the lines of binary logs, rolled over logs are given oldest first.
+     * @param args - the files, optionally followed by --level LEVEL and --class NAME.
+     * @throws IOException - when a file can't be read or isn't a binary log.
+     */
+    public static void main(String[] args) throws IOException {
+        ArrayList<String> files = new ArrayList<String>();
+        int minimumLevel = ActionLogger.TRACE;
+        String onlyClass = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--level") && i + 1 < args.length) {
+                minimumLevel = ActionLogger.parseLevel(args[++i]);
+            } else if (args[i].equals("--class") && i + 1 < args.length) {
+                onlyClass = args[++i];
+            } else if (args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            } else {
+                files.add(args[i]);
+            }
+        }
+        if (files.isEmpty()) {
+            System.out.println("Usage: LogDecoder <log.bin.1> <log.bin> [--level LEVEL] [--class NAME]");
+            return;
+        }
+        for (String name : files) {
+            InputStream file = new BufferedInputStream(new FileInputStream(name));
+            try {
+                LogDecoder decoder = new LogDecoder(file);
+                while (decoder.next()) {
+                    if (decoder.getLevel() >= minimumLevel
+                            && (onlyClass == null || onlyClass.equals(decoder.getClassName()))) {
+                        System.out.print(decoder.formatLine());
+                    }
+                }
+                if (decoder.isTruncated()) {
+                    System.err.println(name + " ends in the middle of a record");
+                }
+            } finally {
+                file.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a new LogDecoder and reads the header of the log.
+     * @param stream - the binary log, it isn't closed.
+     * @throws IOException - when reading fails or the stream isn't a binary log.
+     */
+    public LogDecoder(InputStream stream) throws IOException {
+        in = new DataInputStream(stream);
+        if (in.readInt() != BinaryLogFormat.MAGIC) {
+            throw new IOException("Not a binary log");
+        }
+        int version = in.readUnsignedByte();
+        if (version != BinaryLogFormat.VERSION) {
+            throw new IOException("Unsupported binary log version: " + version);
+        }
+        startMillis = in.readLong();
+        startNanos = in.readLong();
+    }
+
+    /**
+     * Reads the next event, the string records before it are remembered.
+     * A record cut off at the end of the log, left by a crash, ends the log.
+     * @return true if an event was read, false at the end of the log.
+     * @throws IOException - when reading fails or the log is corrupt.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            int record = in.read();
+            if (record < 0 || record == BinaryLogFormat.RECORD_END) {
+                return false;
+            }
+            try {
+                if (record == BinaryLogFormat.RECORD_STRING) {
+                    readString();
+                } else if (record == BinaryLogFormat.RECORD_EVENT) {
+                    readEvent();
+                    return true;
+                } else {
+                    throw new IOException("Unknown record type: " + record);
+                }
+            } catch (EOFException e) {
+                truncated = true;
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads a string record.
+     * @throws IOException - when reading fails or the ids are out of order.
+     */
+    private void readString() throws IOException {
+        int id = in.readUnsignedShort();
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        if (id != strings.size()) {
+            throw new IOException("String " + id + " out of order");
+        }
+        strings.add(new String(bytes, CHARSET));
+    }
+
+    /**
+     * Reads an event record and builds its text.
+     * @throws IOException - when reading fails or the event refers to an unknown string.
+     */
+    private void readEvent() throws IOException {
+        int eventLevel = in.readUnsignedByte();
+        int kinds = in.readUnsignedByte();
+        int textId = in.readUnsignedShort();
+        int classId = in.readUnsignedShort();
+        long time = in.readLong();
+        long value1 = in.readLong();
+        long value2 = in.readLong();
+        int kind1 = kinds & BinaryLogFormat.KIND_MASK;
+        int kind2 = (kinds >> BinaryLogFormat.KIND_BITS) & BinaryLogFormat.KIND_MASK;
+        int count = kind2 != LogRingBuffer.ARG_NONE ? 2 : kind1 != LogRingBuffer.ARG_NONE ? 1 : 0;
+        nanoTime = time;
+        level = eventLevel;
+        className = getString(classId);
+        text = ActionLogger.formatText(getString(textId), getArgument(kind1, value1),
+                getArgument(kind2, value2), count);
+    }
+
+    /**
+     * Gets the text of an argument.
+     * @param kind - the kind of the argument.
+     * @param value - the bits of a number, or the id of a text.
+     * @return the argument as text, or null if there is no argument.
+     * @throws IOException - when the argument refers to an unknown string.
+     */
+    private String getArgument(int kind, long value) throws IOException {
+        if (kind == LogRingBuffer.ARG_NUMBER) {
+            return ActionLogger.formatNumber(Double.longBitsToDouble(value));
+        }
+        return kind == LogRingBuffer.ARG_TEXT ? getString((int) value) : null;
+    }
+
+    /**
+     * Gets a string defined earlier in the log.
+     * @param id - the id of the string.
+     * @return the string.
+     * @throws IOException - when the string wasn't defined.
+     */
+    private String getString(int id) throws IOException {
+        if (id >= strings.size()) {
+            throw new IOException("Unknown string " + id);
+        }
+        return strings.get(id);
+    }
+
+    /**
+     * Gets the current event as a line of the text log.
+     * @return the line, ending with a newline.
+     */
+    public String formatLine() {
+        return ActionLogger.formatLine(dateFormat, getTime(), text, className, level >= ActionLogger.ERROR);
+    }
+
+    /**
+     * Gets the moment of the current event.
+     * @return the time in milliseconds since the epoch.
+     */
+    public long getTime() {
+        return startMillis + (nanoTime - startNanos) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Gets the level of the current event.
+     * @return one of the levels of ActionLogger.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the class the current event was logged in.
+     * @return the class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Gets the text of the current event, with the arguments filled in.
+     * @return the text.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Checks whether the log ended in the middle of a record.
+     * @return true if the last record was cut off, false if not.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
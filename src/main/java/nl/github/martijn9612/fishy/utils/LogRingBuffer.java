@@ -0,0 +1,262 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogRingBuffer class, a bounded lock-free queue of log events between the
+ * threads that log and the single thread that writes the log file.
+ * The events are allocated once and reused, so logging doesn't create
+ * garbage. Every slot has a sequence number telling whether it's free for
+ * the producers or published for the consumer, a producer claims a slot
+ * with a single compare-and-set on the tail, fills it and publishes it.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class LogRingBuffer {
+    public static final int ARG_NONE = 0;
+    public static final int ARG_NUMBER = 1;
+    public static final int ARG_TEXT = 2;
+    private final LogEvent[] events;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0;
+
+    /**
+     * Creates a new LogRingBuffer.
+     * @param capacity - maximum number of waiting events, rounded up to a power of two.
+     */
+    public LogRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        events = new LogEvent[size];
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            events[i] = new LogEvent(i);
+        }
+    }
+
+    /**
+     * Claims a free slot, can be called from any thread. The slot has to be
+     * filled and handed to publish, the consumer doesn't see it before.
+     * @return the claimed event, or null if the buffer is full.
+     */
+    public LogEvent claim() {
+        long position = tail.get();
+        while (true) {
+            LogEvent event = events[(int) (position & mask)];
+            long difference = event.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    event.position = position;
+                    event.kind1 = ARG_NONE;
+                    event.kind2 = ARG_NONE;
+                    return event;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands a filled event to the consumer.
+     * @param event - an event returned by claim.
+     */
+    public void publish(LogEvent event) {
+        event.sequence = event.position + 1;
+    }
+
+    /**
+     * Gets the oldest published event without removing it, only the
+     * consumer thread may call this.
+     * @return the oldest event, or null if there is none.
+     */
+    public LogEvent peek() {
+        LogEvent event = events[(int) (head & mask)];
+        if (event.sequence != head + 1) {
+            return null;
+        }
+        return event;
+    }
+
+    /**
+     * Removes the event returned by peek, so its slot can be reused.
+     */
+    public void advance() {
+        LogEvent event = events[(int) (head & mask)];
+        event.text = null;
+        event.className = null;
+        event.text1 = null;
+        event.text2 = null;
+        event.sequence = head + events.length;
+        head++;
+    }
+
+    /**
+     * Gets the number of events removed by the consumer.
+     * @return the number of consumed events.
+     */
+    public long getHead() {
+        return head;
+    }
+
+    /**
+     * Gets the number of events claimed by the producers.
+     * @return the number of claimed events.
+     */
+    public long getTail() {
+        return tail.get();
+    }
+
+    /**
+     * Gets the number of slots.
+     * @return the capacity of the buffer.
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+    /**
+     * LogEvent class, a slot of the buffer holding a single log line: the
+     * text with {} placeholders and up to two arguments, which are kept
+     * apart so the line is only built by the consumer.
+     */
+    public static class LogEvent {
+        private volatile long sequence;
+        private long position;
+        private long nanoTime;
+        private int level;
+        private String text;
+        private String className;
+        private int kind1;
+        private int kind2;
+        private double number1;
+        private double number2;
+        private String text1;
+        private String text2;
+
+        /**
+         * Creates a new empty event.
+         * @param sequence - the position the slot is first free for.
+         */
+        LogEvent(long sequence) {
+            this.sequence = sequence;
+        }
+
+        /**
+         * Fills the event.
+         * @param nanoTime - the moment of the event in System.nanoTime.
+         * @param level - the level of the event, one of the levels of ActionLogger.
+         * @param className - class the log is called in.
+         * @param text - text to log, with a {} for every argument.
+         * @return this event.
+         */
+        public LogEvent set(long nanoTime, int level, String className, String text) {
+            this.nanoTime = nanoTime;
+            this.level = level;
+            this.className = className;
+            this.text = text;
+            return this;
+        }
+
+        /**
+         * Sets a numeric argument.
+         * @param index - 0 for the first argument, 1 for the second.
+         * @param number - the value of the argument.
+         * @return this event.
+         */
+        public LogEvent setArgument(int index, double number) {
+            if (index == 0) {
+                kind1 = ARG_NUMBER;
+                number1 = number;
+            } else {
+                kind2 = ARG_NUMBER;
+                number2 = number;
+            }
+            return this;
+        }
+
+        /**
+         * Sets a text argument.
+         * @param index - 0 for the first argument, 1 for the second.
+         * @param argument - the value of the argument.
+         * @return this event.
+         */
+        public LogEvent setArgument(int index, String argument) {
+            if (index == 0) {
+                kind1 = ARG_TEXT;
+                text1 = argument;
+            } else {
+                kind2 = ARG_TEXT;
+                text2 = argument;
+            }
+            return this;
+        }
+
+        /**
+         * Gets the moment of the event.
+         * @return the time in System.nanoTime.
+         */
+        public long getNanoTime() {
+            return nanoTime;
+        }
+
+        /**
+         * Gets the level of the event.
+         * @return one of the levels of ActionLogger.
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets the logged text, with the placeholders.
+         * @return the text.
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Gets the class the log is called in.
+         * @return the class name.
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Gets the kind of an argument.
+         * @param index - 0 for the first argument, 1 for the second.
+         * @return ARG_NONE, ARG_NUMBER or ARG_TEXT.
+         */
+        public int getArgumentKind(int index) {
+            return index == 0 ? kind1 : kind2;
+        }
+
+        /**
+         * Gets a numeric argument.
+         * @param index - 0 for the first argument, 1 for the second.
+         * @return the value of the argument.
+         */
+        public double getNumber(int index) {
+            return index == 0 ? number1 : number2;
+        }
+
+        /**
+         * Gets a text argument.
+         * @param index - 0 for the first argument, 1 for the second.
+         * @return the value of the argument.
+         */
+        public String getArgumentText(int index) {
+            return index == 0 ? text1 : text2;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.ArrayList;
+
+/**
+ * ObjectPool class, keeps objects that are no longer used so they can be
+ * handed out again instead of creating new ones. The pool doesn't know how
+ * to create or reset objects, acquire returns null when it's empty and the
+ * caller creates a new object itself. The number of acquires that got an
+ * object (hits) and that didn't (misses) is counted.
+ * Software Engineering Methods Project - Group 11.
+ * @param <T> - the type of the pooled objects.
+ */
+public class ObjectPool<T> {
+	public static final int DEFAULT_MAX_SIZE = 64;
+	private final ArrayList<T> free;
+	private final int maxSize;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Creates a new ObjectPool holding at most DEFAULT_MAX_SIZE objects.
+	 */
+	public ObjectPool() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates a new ObjectPool.
+	 * @param maxSize - maximum number of free objects kept, others are dropped.
+	 */
+	public ObjectPool(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Pool size must be positive");
+		}
+		this.maxSize = maxSize;
+		this.free = new ArrayList<T>(maxSize);
+	}
+
+	/**
+	 * Takes a free object out of the pool.
+	 * @return a free object, or null when the pool is empty.
+	 */
+	public T acquire() {
+		if (free.isEmpty()) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return free.remove(free.size() - 1);
+	}
+
+	/**
+	 * Gives an object back to the pool. When the pool is full the object is dropped.
+	 * @param object - the object that's no longer used.
+	 * @return true if the object was kept, false if it was dropped.
+	 */
+	public boolean release(T object) {
+		if (object == null || free.size() >= maxSize) {
+			return false;
+		}
+		free.add(object);
+		return true;
+	}
+
+	/**
+	 * Drops all free objects, the counters are kept.
+	 */
+	public void clear() {
+		free.clear();
+	}
+
+	public int size() {
+		return free.size();
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+}
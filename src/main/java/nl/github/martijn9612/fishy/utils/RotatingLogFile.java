@@ -0,0 +1,211 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * RotatingLogFile class, a log file of bounded size. The file is written
+ * through a memory-mapped segment of a fixed size, so appending is a copy
+ * into memory without a system call. When the segment is full the file is
+ * rolled over: log.txt becomes log.txt.1, log.txt.1 becomes log.txt.2 and
+ * so on, the oldest file is deleted, and a new segment is mapped.
+ * The mapped pages belong to the operating system, so what was appended
+ * reaches the disk even when the game crashes. A file left by a crash still
+ * has the zero padding of its segment, it's cut off when the log is opened.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class RotatingLogFile {
+    private static final int TRIM_CHUNK_SIZE = 64 * 1024;
+    private final File file;
+    private final int segmentSize;
+    private final int maxFiles;
+    private final int keptPadding;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+
+    /**
+     * Creates a new RotatingLogFile for text, an existing log is rolled over
+     * first so the log of the previous session is kept.
+     * @param file - the current log file, older files get a number appended.
+     * @param segmentSize - size of a file in bytes.
+     * @param maxFiles - number of files kept, including the current one.
+     * @throws IOException - when the file can't be created.
+     */
+    public RotatingLogFile(File file, int segmentSize, int maxFiles) throws IOException {
+        this(file, segmentSize, maxFiles, 0);
+    }
+
+    /**
+     * Creates a new RotatingLogFile, an existing log is rolled over first
+     * so the log of the previous session is kept. The zero padding left
+     * behind in the existing files is cut off.
+     * @param file - the current log file, older files get a number appended.
+     * @param segmentSize - size of a file in bytes.
+     * @param maxFiles - number of files kept, including the current one.
+     * @param keptPadding - zero bytes kept after the last other byte when the
+     * padding is cut off, so a binary record ending in zeros stays whole.
+     * @throws IOException - when the file can't be created.
+     */
+    public RotatingLogFile(File file, int segmentSize, int maxFiles, int keptPadding) throws IOException {
+        if (segmentSize <= 0 || maxFiles <= 0 || keptPadding < 0) {
+            throw new IllegalArgumentException("Segment size and number of files must be positive");
+        }
+        this.file = file;
+        this.segmentSize = segmentSize;
+        this.maxFiles = maxFiles;
+        this.keptPadding = keptPadding;
+        for (int i = 0; i < maxFiles; i++) {
+            trimPadding(getFile(i));
+        }
+        if (file.length() > 0) {
+            rotateFiles();
+        }
+        open();
+    }
+
+    /**
+     * Appends bytes to the log. Bytes that don't fit in the current segment
+     * continue in the next one.
+     * @param bytes - the bytes to append.
+     * @throws IOException - when rolling over fails.
+     */
+    public void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            if (!segment.hasRemaining()) {
+                roll();
+            }
+            int length = Math.min(bytes.remaining(), segment.remaining());
+            ByteBuffer part = bytes.duplicate();
+            part.limit(part.position() + length);
+            segment.put(part);
+            bytes.position(bytes.position() + length);
+        }
+    }
+
+    /**
+     * Gets the space left in the current segment.
+     * @return the number of bytes that fit before the file rolls over.
+     */
+    public int remaining() {
+        return segment.remaining();
+    }
+
+    /**
+     * Closes the current file and starts a new one.
+     * @throws IOException - when the files can't be renamed or created.
+     */
+    public void roll() throws IOException {
+        closeSegment();
+        rotateFiles();
+        open();
+    }
+
+    /**
+     * Closes the log, the file is cut to the bytes written.
+     * @throws IOException - when closing fails.
+     */
+    public void close() throws IOException {
+        if (segment != null) {
+            closeSegment();
+        }
+    }
+
+    /**
+     * Gets a file of the log.
+     * @param index - 0 for the current file, 1 for the file before it and so on.
+     * @return the file.
+     */
+    public File getFile(int index) {
+        if (index == 0) {
+            return file;
+        }
+        return new File(file.getPath() + "." + index);
+    }
+
+    /**
+     * Creates the current file at the full segment size and maps it.
+     * @throws IOException - when the file can't be created.
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    /**
+     * Closes the current file. The unused end of the segment is cut off, on
+     * systems that don't allow cutting a mapped file it stays zero.
+     * @throws IOException - when closing fails.
+     */
+    private void closeSegment() throws IOException {
+        int used = segment.position();
+        segment = null;
+        try {
+            channel.truncate(used);
+        } catch (IOException e) {
+            System.out.println("Unable to cut log file: " + e.getMessage());
+        }
+        channel.close();
+        channel = null;
+    }
+
+    /**
+     * Cuts the zeros off the end of a file that wasn't closed, the file ends
+     * keptPadding bytes after its last byte that isn't zero.
+     * @param target - the file to cut.
+     * @throws IOException - when the file can't be read or cut.
+     */
+    private void trimPadding(File target) throws IOException {
+        if (!target.isFile() || target.length() == 0) {
+            return;
+        }
+        FileChannel in = FileChannel.open(target.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer chunk = ByteBuffer.allocate(TRIM_CHUNK_SIZE);
+            long end = in.size();
+            boolean found = false;
+            while (end > 0 && !found) {
+                long start = Math.max(0, end - TRIM_CHUNK_SIZE);
+                chunk.clear();
+                chunk.limit((int) (end - start));
+                while (chunk.hasRemaining()) {
+                    if (in.read(chunk, start + chunk.position()) < 0) {
+                        break;
+                    }
+                }
+                int last = chunk.position() - 1;
+                while (last >= 0 && chunk.get(last) == 0) {
+                    last--;
+                }
+                found = last >= 0;
+                end = start + last + 1;
+            }
+            long length = Math.min(in.size(), end + keptPadding);
+            if (length < in.size()) {
+                in.truncate(length);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Gives every file the next number, the oldest file is deleted.
+     * @throws IOException - when a file can't be renamed.
+     */
+    private void rotateFiles() throws IOException {
+        Files.deleteIfExists(getFile(maxFiles - 1).toPath());
+        for (int i = maxFiles - 2; i >= 0; i--) {
+            File from = getFile(i);
+            if (from.exists()) {
+                Files.move(from.toPath(), getFile(i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.newdawn.slick.Image;
+
+/**
+ * ScaledImageCache class, responsible for sharing the scaled copies of the
+ * sprites between all entities of (about) the same size. Sizes are rounded
+ * to SIZE_BUCKET pixels and the least recently used copies are evicted when
+ * more than the maximum number of copies are stored.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class ScaledImageCache {
+	public static final int SIZE_BUCKET = 2;
+	public static final int DEFAULT_MAX_ENTRIES = 256;
+
+	private static ScaledImageCache scaledImageCacheInstance = null;
+	private final int maxEntries;
+	private final LinkedHashMap<Key, Image> scaledImages;
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * The ScaledImageCache class is a singleton class,
+	 * so it will always return the same instance.
+	 * @return ScaledImageCache instance.
+	 */
+	public static ScaledImageCache getInstance() {
+		if (scaledImageCacheInstance == null) {
+			scaledImageCacheInstance = new ScaledImageCache(DEFAULT_MAX_ENTRIES);
+		}
+		return scaledImageCacheInstance;
+	}
+
+	/**
+	 * Creates a new cache holding at most the given number of scaled copies.
+	 * @param maxEntries - maximum number of scaled copies to keep.
+	 */
+	protected ScaledImageCache(final int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.scaledImages = new LinkedHashMap<Key, Image>(maxEntries, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Image> eldest) {
+				return size() > ScaledImageCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Gets a scaled copy of the given sprite. The copy is only created
+	 * when no entity requested this resource at this size before.
+	 * @param resource - resource path of the sprite, identifies the texture.
+	 * @param original - the unscaled sprite, already in the given orientation.
+	 * @param width - requested width in pixels.
+	 * @param height - requested height in pixels.
+	 * @param orientation - Entity.IMAGE_ORIENTATE_LEFT or IMAGE_ORIENTATE_RIGHT.
+	 * @return Image - a scaled copy shared with all users of the same key.
+	 */
+	public Image getScaledImage(String resource, Image original, float width, float height,
+			int orientation) {
+		Key key = new Key(resource, quantize(width), quantize(height), orientation);
+		Image scaledImage = scaledImages.get(key);
+		if (scaledImage == null) {
+			misses++;
+			scaledImage = original.getScaledCopy(key.width, key.height);
+			scaledImages.put(key, scaledImage);
+		} else {
+			hits++;
+		}
+		return scaledImage;
+	}
+
+	/**
+	 * Removes all scaled copies of the given resource, used when
+	 * the texture of the resource is freed.
+	 * @param resource - resource path of the sprite.
+	 */
+	public void evict(String resource) {
+		Iterator<Key> iterator = scaledImages.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().resource.equals(resource)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Rounds a size to the nearest size bucket, at least one bucket.
+	 * @param size - size in pixels.
+	 * @return the rounded size in pixels.
+	 */
+	public static int quantize(float size) {
+		return Math.max(SIZE_BUCKET, Math.round(size / SIZE_BUCKET) * SIZE_BUCKET);
+	}
+
+	/**
+	 * Gets the number of scaled copies currently stored.
+	 * @return the number of stored copies.
+	 */
+	public int size() {
+		return scaledImages.size();
+	}
+
+	/**
+	 * Gets the number of requests that were served from the cache.
+	 * @return the number of hits.
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of requests that needed a new scaled copy.
+	 * @return the number of misses.
+	 */
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Identifies a scaled copy by resource, rounded size and orientation.
+	 */
+	private static final class Key {
+		private final String resource;
+		private final int width;
+		private final int height;
+		private final int orientation;
+
+		/**
+		 * Creates a new Key.
+		 * @param resource - resource path of the sprite.
+		 * @param width - rounded width in pixels.
+		 * @param height - rounded height in pixels.
+		 * @param orientation - orientation of the sprite.
+		 */
+		private Key(String resource, int width, int height, int orientation) {
+			this.resource = resource;
+			this.width = width;
+			this.height = height;
+			this.orientation = orientation;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return width == key.width && height == key.height
+					&& orientation == key.orientation && resource.equals(key.resource);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((resource.hashCode() * 31 + width) * 31 + height) * 31 + orientation;
+		}
+	}
+}
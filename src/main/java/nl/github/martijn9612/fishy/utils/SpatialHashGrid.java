@@ -0,0 +1,210 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SpatialHashGrid class, divides the plane into square cells and keeps for
+ * every cell the items whose bounds overlap it. The cells are hashed into a
+ * fixed number of buckets, so items far outside the screen need no extra
+ * memory. Asking which items might overlap an area only looks at the cells
+ * covering that area, so its cost depends on how crowded that area is
+ * instead of on the total number of items.
+ * The buckets hold the index of an insert instead of the item. An item
+ * covering several cells is in several buckets, a query marks every index
+ * with its own stamp so each item is added to the result only once.
+ * Software Engineering Methods Project - Group 11.
+ * @param <T> - type of the stored items.
+ */
+public class SpatialHashGrid<T> {
+	public static final int DEFAULT_CELL_SIZE = 64;
+	public static final int DEFAULT_BUCKET_COUNT = 256;
+	private static final int HASH_PRIME_X = 73856093;
+	private static final int HASH_PRIME_Y = 19349663;
+	private final float cellSize;
+	private static final int INITIAL_BUCKET_CAPACITY = 4;
+	private static final int INITIAL_ITEM_CAPACITY = 64;
+	private final int bucketMask;
+	private final int[][] buckets;
+	private final int[] bucketSizes;
+	private final ArrayList<T> items = new ArrayList<T>();
+	private int[] stamps = new int[INITIAL_ITEM_CAPACITY];
+	private int queryStamp = 0;
+
+	/**
+	 * Creates a new SpatialHashGrid with the default cell size and bucket count.
+	 */
+	public SpatialHashGrid() {
+		this(DEFAULT_CELL_SIZE, DEFAULT_BUCKET_COUNT);
+	}
+
+	/**
+	 * Creates a new SpatialHashGrid.
+	 * @param cellSize - width and height of a cell in pixels.
+	 * @param bucketCount - number of buckets, must be a power of two.
+	 */
+	public SpatialHashGrid(float cellSize, int bucketCount) {
+		if (cellSize <= 0 || bucketCount <= 0 || Integer.bitCount(bucketCount) != 1) {
+			throw new IllegalArgumentException("Cell size must be positive and bucket count a power of two");
+		}
+		this.cellSize = cellSize;
+		this.bucketMask = bucketCount - 1;
+		this.buckets = new int[bucketCount][INITIAL_BUCKET_CAPACITY];
+		this.bucketSizes = new int[bucketCount];
+	}
+
+	/**
+	 * Removes all items, keeping the memory of the buckets for reuse.
+	 */
+	public void clear() {
+		Arrays.fill(bucketSizes, 0);
+		items.clear();
+	}
+
+	/**
+	 * Adds an item to every cell its bounds overlap.
+	 * @param item - the item to add.
+	 * @param minX - left side of the bounds.
+	 * @param minY - top side of the bounds.
+	 * @param maxX - right side of the bounds.
+	 * @param maxY - bottom side of the bounds.
+	 */
+	public void insert(T item, float minX, float minY, float maxX, float maxY) {
+		int firstColumn = toCell(minX);
+		int lastColumn = toCell(maxX);
+		int firstRow = toCell(minY);
+		int lastRow = toCell(maxY);
+		int id = items.size();
+		items.add(item);
+		if (id == stamps.length) {
+			stamps = Arrays.copyOf(stamps, id * 2);
+		}
+		if (coversAllBuckets(firstColumn, lastColumn, firstRow, lastRow)) {
+			for (int bucket = 0; bucket < buckets.length; bucket++) {
+				addToBucket(bucket, id);
+			}
+		} else {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				for (int row = firstRow; row <= lastRow; row++) {
+					addToBucket(getBucket(column, row), id);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the items that might overlap the given bounds. Every item
+	 * whose bounds overlap is returned, but items that are only near the
+	 * bounds may be returned too, so the result still needs an exact check.
+	 * @param minX - left side of the bounds.
+	 * @param minY - top side of the bounds.
+	 * @param maxX - right side of the bounds.
+	 * @param maxY - bottom side of the bounds.
+	 * @param result - list that is cleared and filled with the items, each item once.
+	 * @return the result list.
+	 */
+	public List<T> query(float minX, float minY, float maxX, float maxY, List<T> result) {
+		result.clear();
+		nextQueryStamp();
+		int firstColumn = toCell(minX);
+		int lastColumn = toCell(maxX);
+		int firstRow = toCell(minY);
+		int lastRow = toCell(maxY);
+		if (coversAllBuckets(firstColumn, lastColumn, firstRow, lastRow)) {
+			for (int bucket = 0; bucket < buckets.length; bucket++) {
+				addUnique(bucket, result);
+			}
+		} else {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				for (int row = firstRow; row <= lastRow; row++) {
+					addUnique(getBucket(column, row), result);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of inserted items.
+	 * @return the number of items.
+	 */
+	public int size() {
+		return items.size();
+	}
+
+	/**
+	 * Adds the index of an insert to a bucket, growing the bucket when it's full.
+	 * @param bucket - index of the bucket.
+	 * @param id - index of the insert.
+	 */
+	private void addToBucket(int bucket, int id) {
+		int count = bucketSizes[bucket];
+		if (count == buckets[bucket].length) {
+			buckets[bucket] = Arrays.copyOf(buckets[bucket], count * 2);
+		}
+		buckets[bucket][count] = id;
+		bucketSizes[bucket] = count + 1;
+	}
+
+	/**
+	 * Adds the items of a bucket to the result when this query didn't add
+	 * them yet, an item covering several cells is in several buckets.
+	 * @param bucket - index of the bucket to read.
+	 * @param result - the list to add to.
+	 */
+	private void addUnique(int bucket, List<T> result) {
+		int[] ids = buckets[bucket];
+		for (int i = 0; i < bucketSizes[bucket]; i++) {
+			int id = ids[i];
+			if (stamps[id] != queryStamp) {
+				stamps[id] = queryStamp;
+				result.add(items.get(id));
+			}
+		}
+	}
+
+	/**
+	 * Starts a new query stamp, the stamps are cleared when the counter wraps around.
+	 */
+	private void nextQueryStamp() {
+		queryStamp++;
+		if (queryStamp == 0) {
+			Arrays.fill(stamps, 0);
+			queryStamp = 1;
+		}
+	}
+
+	/**
+	 * Checks whether a range of cells is at least as large as the number of
+	 * buckets, in which case it's cheaper to visit every bucket once.
+	 * @param firstColumn - first column of the range.
+	 * @param lastColumn - last column of the range.
+	 * @param firstRow - first row of the range.
+	 * @param lastRow - last row of the range.
+	 * @return true if every bucket should be visited.
+	 */
+	private boolean coversAllBuckets(int firstColumn, int lastColumn, int firstRow, int lastRow) {
+		long cells = ((long) lastColumn - firstColumn + 1) * ((long) lastRow - firstRow + 1);
+		return cells > bucketMask;
+	}
+
+	/**
+	 * Gets the cell a coordinate falls in.
+	 * @param coordinate - x or y coordinate.
+	 * @return index of the column or row.
+	 */
+	private int toCell(float coordinate) {
+		return (int) Math.floor(coordinate / cellSize);
+	}
+
+	/**
+	 * Gets the bucket a cell is hashed into.
+	 * @param column - column of the cell.
+	 * @param row - row of the cell.
+	 * @return index of the bucket.
+	 */
+	private int getBucket(int column, int row) {
+		return ((column * HASH_PRIME_X) ^ (row * HASH_PRIME_Y)) & bucketMask;
+	}
+}
@@ -0,0 +1,127 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.newdawn.slick.Image;
+import org.newdawn.slick.SlickException;
+
+/**
+ * SpriteAtlas class, responsible for resolving sprite resource paths like
+ * "resources/squid.png" to sub images of the texture atlas pages. The atlas
+ * is packed by the AtlasPacker on first launch, or when a sprite changed.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class SpriteAtlas {
+
+	private static SpriteAtlas spriteAtlasInstance = null;
+	private final File atlasDirectory;
+	private HashMap<String, AtlasRegion> regions = new HashMap<String, AtlasRegion>();
+	private HashMap<Integer, Image> pages = new HashMap<Integer, Image>();
+
+	/**
+	 * The SpriteAtlas class is a singleton class,
+	 * so it will always return the same instance.
+	 * @return SpriteAtlas instance.
+	 */
+	public static SpriteAtlas getInstance() {
+		if (spriteAtlasInstance == null) {
+			spriteAtlasInstance = new SpriteAtlas(new File(AtlasPacker.RESOURCE_DIRECTORY),
+					new File(AtlasPacker.ATLAS_DIRECTORY));
+		}
+		return spriteAtlasInstance;
+	}
+
+	/**
+	 * Creates a new SpriteAtlas, packing the atlas first when it's out of
+	 * date. When the atlas can't be packed or read, the atlas stays empty
+	 * and all sprites are loaded from their own files.
+	 * @param resourceDirectory - folder holding the sprites.
+	 * @param atlasDirectory - folder holding the atlas.
+	 */
+	protected SpriteAtlas(File resourceDirectory, File atlasDirectory) {
+		this.atlasDirectory = atlasDirectory;
+		try {
+			AtlasPacker packer = new AtlasPacker();
+			if (packer.isOutdated(resourceDirectory, atlasDirectory)) {
+				packer.pack(resourceDirectory, atlasDirectory);
+			}
+			readIndex(new File(atlasDirectory, AtlasPacker.INDEX_FILE));
+		} catch (IOException | IllegalArgumentException e) {
+			regions.clear();
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Reads the regions of all sprites from the atlas index.
+	 * @param index - the index file.
+	 * @throws IOException - when the index can't be read.
+	 */
+	private void readIndex(File index) throws IOException {
+		BufferedReader reader = new BufferedReader(new FileReader(index));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isEmpty()) {
+					AtlasRegion region = AtlasRegion.fromIndexLine(line);
+					regions.put(region.getResource(), region);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Checks whether the given sprite is part of the atlas.
+	 * @param resource - string that defines the path to the image file.
+	 * @return true if the sprite is in the atlas, false if not.
+	 */
+	public boolean contains(String resource) {
+		return regions.containsKey(resource);
+	}
+
+	/**
+	 * Gets the region of the given sprite.
+	 * @param resource - string that defines the path to the image file.
+	 * @return the AtlasRegion of the sprite, null if it isn't in the atlas.
+	 */
+	public AtlasRegion getRegion(String resource) {
+		return regions.get(resource);
+	}
+
+	/**
+	 * Gets the given sprite as a sub image of its atlas page. The sub image
+	 * shares the texture of the page, so it must never be destroyed.
+	 * @param resource - string that defines the path to the image file.
+	 * @return Image of the sprite, null if it isn't in the atlas.
+	 * @throws SlickException - when the atlas page can't be loaded.
+	 */
+	public Image getSprite(String resource) throws SlickException {
+		AtlasRegion region = regions.get(resource);
+		if (region == null) {
+			return null;
+		}
+		Image page = getPage(region.getPage());
+		return page.getSubImage(region.getX(), region.getY(), region.getWidth(), region.getHeight());
+	}
+
+	/**
+	 * Gets an atlas page, loading its texture the first time.
+	 * @param page - index of the page.
+	 * @return Image of the whole page.
+	 * @throws SlickException - when the page can't be loaded.
+	 */
+	private Image getPage(int page) throws SlickException {
+		Image pageImage = pages.get(page);
+		if (pageImage == null) {
+			pageImage = new Image(AtlasPacker.getPageFile(atlasDirectory, page).getPath());
+			pages.put(page, pageImage);
+		}
+		return pageImage;
+	}
+}
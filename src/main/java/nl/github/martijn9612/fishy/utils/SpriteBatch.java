@@ -0,0 +1,96 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.Arrays;
+
+import org.newdawn.slick.Image;
+
+/**
+ * SpriteBatch class, collects the sprites drawn during a frame and draws
+ * them grouped by texture, so every texture is bound only once per frame.
+ * With the sprites in the texture atlas, a frame is drawn in a single batch.
+ * Sprites sharing a texture are drawn in the order they were added.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class SpriteBatch {
+	private static final int INITIAL_CAPACITY = 64;
+	private static final long INDEX_MASK = 0xFFFFFFFFL;
+	private Image[] images = new Image[INITIAL_CAPACITY];
+	private float[] positionsX = new float[INITIAL_CAPACITY];
+	private float[] positionsY = new float[INITIAL_CAPACITY];
+	private long[] sortKeys = new long[INITIAL_CAPACITY];
+	private int size = 0;
+	private int batchCount = 0;
+
+	/**
+	 * Adds a sprite to be drawn on the next flush.
+	 * @param image - the sprite to draw.
+	 * @param x - x position of the top left corner.
+	 * @param y - y position of the top left corner.
+	 */
+	public void draw(Image image, float x, float y) {
+		if (size == images.length) {
+			grow();
+		}
+		images[size] = image;
+		positionsX[size] = x;
+		positionsY[size] = y;
+		size++;
+	}
+
+	/**
+	 * Draws all collected sprites, one batch per texture, and empties the batch.
+	 */
+	public void flush() {
+		for (int i = 0; i < size; i++) {
+			long textureId = images[i].getTexture().getTextureID();
+			sortKeys[i] = (textureId << 32) | i;
+		}
+		Arrays.sort(sortKeys, 0, size);
+
+		batchCount = 0;
+		int i = 0;
+		while (i < size) {
+			long textureId = sortKeys[i] >>> 32;
+			Image first = images[(int) (sortKeys[i] & INDEX_MASK)];
+			first.startUse();
+			while (i < size && (sortKeys[i] >>> 32) == textureId) {
+				int index = (int) (sortKeys[i] & INDEX_MASK);
+				Image image = images[index];
+				image.drawEmbedded(positionsX[index], positionsY[index],
+						image.getWidth(), image.getHeight());
+				images[index] = null;
+				i++;
+			}
+			first.endUse();
+			batchCount++;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of sprites waiting for the next flush.
+	 * @return the number of collected sprites.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of batches used by the last flush.
+	 * @return the number of texture binds in the last flush.
+	 */
+	public int getBatchCount() {
+		return batchCount;
+	}
+
+	/**
+	 * Doubles the capacity of the batch.
+	 */
+	private void grow() {
+		int capacity = images.length * 2;
+		images = Arrays.copyOf(images, capacity);
+		positionsX = Arrays.copyOf(positionsX, capacity);
+		positionsY = Arrays.copyOf(positionsY, capacity);
+		sortKeys = Arrays.copyOf(sortKeys, capacity);
+	}
+}
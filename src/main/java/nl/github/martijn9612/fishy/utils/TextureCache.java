@@ -0,0 +1,161 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.newdawn.slick.Image;
+import org.newdawn.slick.SlickException;
+
+/**
+ * TextureCache class, responsible for loading the sprite textures once and
+ * sharing them between all entities that use the same resource.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class TextureCache {
+
+	private static TextureCache textureCacheInstance = null;
+	private HashMap<String, Image> textureResources = new HashMap<String, Image>();
+	private HashMap<String, Image> flippedResources = new HashMap<String, Image>();
+	private HashMap<String, Integer> referenceCounts = new HashMap<String, Integer>();
+	private List<String> unusedResources = new ArrayList<String>();
+	private Set<String> atlasResources = new HashSet<String>();
+
+	/**
+	 * The TextureCache class is a singleton class,
+	 * so it will always return the same instance.
+	 * @return TextureCache instance.
+	 */
+	public static TextureCache getInstance() {
+		if (textureCacheInstance == null) {
+			textureCacheInstance = new TextureCache();
+		}
+		return textureCacheInstance;
+	}
+
+	/**
+	 * The constructor is only used by the singleton getter and for testing.
+	 */
+	protected TextureCache() {
+		// Blank
+	}
+
+	/**
+	 * Get the shared texture for the given resource and register one more
+	 * user of it. The resource is only read from disk the first time, at
+	 * which point the flipped version of the texture is made as well.
+	 * @param resource - string that defines the path to the image file.
+	 * @return Image instance shared between all users of the resource.
+	 * @throws SlickException - when the resource could not be loaded.
+	 */
+	public Image acquire(String resource) throws SlickException {
+		Image texture = textureResources.get(resource);
+		if (texture == null) {
+			texture = loadTexture(resource);
+			textureResources.put(resource, texture);
+			flippedResources.put(resource, texture.getFlippedCopy(true, false));
+		}
+		unusedResources.remove(resource);
+		referenceCounts.put(resource, getReferenceCount(resource) + 1);
+		return texture;
+	}
+
+	/**
+	 * Unregister one user of the given resource. When no users are left the
+	 * texture is marked as unused and freed on the next call to releaseUnused.
+	 * @param resource - string that defines the path to the image file.
+	 */
+	public void release(String resource) {
+		int count = getReferenceCount(resource);
+		if (count <= 0) {
+			return;
+		}
+		if (count == 1) {
+			referenceCounts.remove(resource);
+			unusedResources.add(resource);
+		} else {
+			referenceCounts.put(resource, count - 1);
+		}
+	}
+
+	/**
+	 * Frees the textures that are no longer used by any entity. Freeing is
+	 * deferred to this method so entities removed during an update can still
+	 * be drawn in the same frame, and a texture that is acquired again in the
+	 * meantime doesn't have to be read from disk again. Sprites from the atlas
+	 * share the texture of their page, which is kept.
+	 */
+	public void releaseUnused() {
+		Iterator<String> iterator = unusedResources.iterator();
+		while (iterator.hasNext()) {
+			String resource = iterator.next();
+			iterator.remove();
+			ScaledImageCache.getInstance().evict(resource);
+			flippedResources.remove(resource);
+			Image texture = textureResources.remove(resource);
+			if (!atlasResources.remove(resource)) {
+				destroyTexture(texture);
+			}
+		}
+	}
+
+	/**
+	 * Gets the loaded texture of the given resource flipped over the y axis.
+	 * The flipped copy shares the texture, so it doesn't have to be released.
+	 * @param resource - string that defines the path to the image file.
+	 * @return flipped Image instance, null when the resource isn't loaded.
+	 */
+	public Image getFlipped(String resource) {
+		return flippedResources.get(resource);
+	}
+
+	/**
+	 * Gets the number of users of the given resource.
+	 * @param resource - string that defines the path to the image file.
+	 * @return the number of users, 0 when the resource isn't in use.
+	 */
+	public int getReferenceCount(String resource) {
+		Integer count = referenceCounts.get(resource);
+		return (count == null ? 0 : count);
+	}
+
+	/**
+	 * Checks whether the texture of the given resource is currently loaded.
+	 * @param resource - string that defines the path to the image file.
+	 * @return true if the texture is loaded, false if not.
+	 */
+	public boolean isLoaded(String resource) {
+		return textureResources.containsKey(resource);
+	}
+
+	/**
+	 * Loading textures is only done internally. Sprites that are part of the
+	 * SpriteAtlas are taken from the atlas, other images from their own file.
+	 * @param resource - string that defines the path to the image file.
+	 * @return Image instance containing the texture.
+	 * @throws SlickException - when the resource could not be loaded.
+	 */
+	protected Image loadTexture(String resource) throws SlickException {
+		Image sprite = SpriteAtlas.getInstance().getSprite(resource);
+		if (sprite != null) {
+			atlasResources.add(resource);
+			return sprite;
+		}
+		return new Image(resource);
+	}
+
+	/**
+	 * Frees the OpenGL texture held by the given image.
+	 * @param texture - Image instance to destroy.
+	 */
+	protected void destroyTexture(Image texture) {
+		try {
+			texture.destroy();
+		} catch (SlickException e) {
+			e.printStackTrace();
+		}
+	}
+}
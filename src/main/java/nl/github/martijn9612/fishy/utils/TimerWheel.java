@@ -0,0 +1,206 @@
+package nl.github.martijn9612.fishy.utils;
+
+/**
+ * TimerWheel class, runs tasks after a delay in game time. The time only
+ * moves when advance is called from the game loop, so the tasks run on the
+ * game thread, are held while the game is paused and fire at exactly the
+ * same moment on every run.
+ * The timeouts are kept in a hierarchical wheel with four levels of 64
+ * slots, every level covers 64 times the range of the level below it.
+ * Scheduling and cancelling take constant time, a timeout is moved down a
+ * level when the lower level wraps around, until it expires in level 0.
+ * Software Engineering Methods Project - Group 11.
+ */
+public class TimerWheel {
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	private static final long MAX_RANGE = 1L << (SLOT_BITS * LEVELS);
+	private final Timeout[][] slots = new Timeout[LEVELS][SLOTS];
+	private long currentTime = 0;
+	private int pending = 0;
+
+	/**
+	 * Creates a new timeout for the task and schedules it.
+	 * @param task - the task to run when the timeout expires.
+	 * @param delay - delay in milliseconds of game time, at least one step.
+	 * @return the scheduled timeout, which can be cancelled.
+	 */
+	public Timeout schedule(Runnable task, long delay) {
+		Timeout timeout = new Timeout(task);
+		schedule(timeout, delay);
+		return timeout;
+	}
+
+	/**
+	 * Schedules an existing timeout, so it can be reused without creating a
+	 * new one. When the timeout is still pending it's moved to the new time.
+	 * @param timeout - the timeout to schedule.
+	 * @param delay - delay in milliseconds of game time, at least one step.
+	 */
+	public void schedule(Timeout timeout, long delay) {
+		timeout.cancel();
+		timeout.wheel = this;
+		timeout.deadline = currentTime + Math.max(1, delay);
+		insert(timeout);
+		pending++;
+	}
+
+	/**
+	 * Moves the game time forward and runs all timeouts that expired, in
+	 * the order of their deadlines.
+	 * @param delta - milliseconds of game time that passed.
+	 */
+	public void advance(long delta) {
+		for (long step = 0; step < delta; step++) {
+			if (pending == 0) {
+				currentTime += delta - step;
+				return;
+			}
+			currentTime++;
+			cascade();
+			expire((int) (currentTime & SLOT_MASK));
+		}
+	}
+
+	/**
+	 * Cancels all pending timeouts.
+	 */
+	public void clear() {
+		for (int level = 0; level < LEVELS; level++) {
+			for (int slot = 0; slot < SLOTS; slot++) {
+				while (slots[level][slot] != null) {
+					slots[level][slot].cancel();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the game time that passed since the wheel was created.
+	 * @return the current time in milliseconds.
+	 */
+	public long getTime() {
+		return currentTime;
+	}
+
+	/**
+	 * Gets the number of timeouts waiting to expire.
+	 * @return the number of pending timeouts.
+	 */
+	public int getPendingCount() {
+		return pending;
+	}
+
+	/**
+	 * Moves the timeouts of the higher levels down when the level below
+	 * them wrapped around.
+	 */
+	private void cascade() {
+		for (int level = 1; level < LEVELS; level++) {
+			int shift = SLOT_BITS * level;
+			if ((currentTime & ((1L << shift) - 1)) != 0) {
+				return;
+			}
+			int slot = (int) ((currentTime >> shift) & SLOT_MASK);
+			Timeout timeout = slots[level][slot];
+			slots[level][slot] = null;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				timeout.next = null;
+				timeout.previous = null;
+				insert(timeout);
+				timeout = next;
+			}
+		}
+	}
+
+	/**
+	 * Runs all timeouts in a slot of level 0, they all expire now.
+	 * @param slot - the slot of the current time.
+	 */
+	private void expire(int slot) {
+		Timeout timeout;
+		while ((timeout = slots[0][slot]) != null) {
+			timeout.cancel();
+			timeout.task.run();
+		}
+	}
+
+	/**
+	 * Puts a timeout in the slot matching its deadline, in the lowest
+	 * level that reaches that far. A timeout cascaded down at its deadline
+	 * goes in the slot of the current time, which expires right after the
+	 * cascade.
+	 * @param timeout - the timeout to insert.
+	 */
+	private void insert(Timeout timeout) {
+		long remaining = Math.max(0, timeout.deadline - currentTime);
+		long target = currentTime + Math.min(remaining, MAX_RANGE - 1);
+		int level = 0;
+		while (level < LEVELS - 1 && remaining >= 1L << (SLOT_BITS * (level + 1))) {
+			level++;
+		}
+		int slot = (int) ((target >> (SLOT_BITS * level)) & SLOT_MASK);
+		timeout.level = level;
+		timeout.slot = slot;
+		timeout.next = slots[level][slot];
+		if (timeout.next != null) {
+			timeout.next.previous = timeout;
+		}
+		slots[level][slot] = timeout;
+	}
+
+	/**
+	 * Timeout class, a task scheduled in a TimerWheel. It's linked directly
+	 * into the slot it's waiting in, so cancelling doesn't search the wheel.
+	 */
+	public static class Timeout {
+		private final Runnable task;
+		private TimerWheel wheel;
+		private long deadline;
+		private int level;
+		private int slot;
+		private Timeout previous;
+		private Timeout next;
+
+		/**
+		 * Creates a new timeout, it's scheduled with TimerWheel.schedule.
+		 * @param task - the task to run when the timeout expires.
+		 */
+		public Timeout(Runnable task) {
+			this.task = task;
+		}
+
+		/**
+		 * Cancels the timeout, the task won't run. Cancelling a timeout that
+		 * isn't pending has no effect.
+		 */
+		public void cancel() {
+			if (wheel == null) {
+				return;
+			}
+			if (previous != null) {
+				previous.next = next;
+			} else {
+				wheel.slots[level][slot] = next;
+			}
+			if (next != null) {
+				next.previous = previous;
+			}
+			previous = null;
+			next = null;
+			wheel.pending--;
+			wheel = null;
+		}
+
+		/**
+		 * Checks whether the timeout is waiting to expire.
+		 * @return true if the timeout is pending, false if not.
+		 */
+		public boolean isPending() {
+			return wheel != null;
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * TopKList class, keeps only the best K items offered to it. The items are
+ * kept in a binary heap with the worst kept item at the root, so a new item
+ * is compared with that item only and inserted in O(log K), however many
+ * items were offered before. The sorted view is built when it's asked for
+ * after a change, and kept until the next change.
+ * Items that rank the same keep the order they were offered in.
+ * Software Engineering Methods Project - Group 11.
+ * @param <T> - the type of the items.
+ */
+public class TopKList<T> {
+	private final Object[] items;
+	private final long[] sequences;
+	private final Comparator<? super T> order;
+	private int size = 0;
+	private long nextSequence = 0;
+	private List<T> sortedView = null;
+
+	/**
+	 * Creates a new TopKList.
+	 * @param capacity - the number of items kept.
+	 * @param order - the order of the items, the best item comes first.
+	 */
+	public TopKList(int capacity, Comparator<? super T> order) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.items = new Object[capacity];
+		this.sequences = new long[capacity];
+		this.order = order;
+	}
+
+	/**
+	 * Offers an item, it's kept when there is room or it's better than the
+	 * worst kept item, which is dropped then.
+	 * @param item - the item to offer.
+	 * @return true if the item is kept, false if not.
+	 */
+	public boolean offer(T item) {
+		long sequence = nextSequence++;
+		if (size < items.length) {
+			items[size] = item;
+			sequences[size] = sequence;
+			size++;
+			siftUp(size - 1);
+		} else if (compare(item, sequence, 0) < 0) {
+			items[0] = item;
+			sequences[0] = sequence;
+			siftDown(0);
+		} else {
+			return false;
+		}
+		sortedView = null;
+		return true;
+	}
+
+	/**
+	 * Removes a kept item.
+	 * @param item - the item to remove.
+	 * @return true if the item was kept, false if not.
+	 */
+	public boolean remove(T item) {
+		for (int i = 0; i < size; i++) {
+			if (items[i].equals(item)) {
+				size--;
+				items[i] = items[size];
+				sequences[i] = sequences[size];
+				items[size] = null;
+				if (i < size) {
+					siftDown(i);
+					siftUp(i);
+				}
+				sortedView = null;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the kept items, the best first.
+	 * @return an unmodifiable sorted list of the kept items.
+	 */
+	public List<T> getSortedView() {
+		if (sortedView == null) {
+			Integer[] indices = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				indices[i] = i;
+			}
+			Arrays.sort(indices, new Comparator<Integer>() {
+				public int compare(Integer first, Integer second) {
+					return TopKList.this.compare(get(first), sequences[first], second);
+				}
+			});
+			List<T> sorted = new ArrayList<T>(size);
+			for (Integer index : indices) {
+				sorted.add(get(index));
+			}
+			sortedView = Collections.unmodifiableList(sorted);
+		}
+		return sortedView;
+	}
+
+	/**
+	 * Gets the worst kept item, the one a new item has to beat when the list is full.
+	 * @return the worst kept item, or null if the list is empty.
+	 */
+	public T getWorst() {
+		return size == 0 ? null : get(0);
+	}
+
+	/**
+	 * Removes all items.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			items[i] = null;
+		}
+		size = 0;
+		sortedView = null;
+	}
+
+	/**
+	 * Gets the number of kept items.
+	 * @return the number of items.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of items that can be kept.
+	 * @return the capacity.
+	 */
+	public int getCapacity() {
+		return items.length;
+	}
+
+	/**
+	 * Compares an item with a kept item, ties are broken by the order they were offered in.
+	 * @param item - the item.
+	 * @param sequence - the number of the offer of the item.
+	 * @param index - the position of the kept item in the heap.
+	 * @return less than zero when the item ranks better, more than zero when it ranks worse.
+	 */
+	private int compare(T item, long sequence, int index) {
+		int result = order.compare(item, get(index));
+		if (result != 0) {
+			return result;
+		}
+		return Long.compare(sequence, sequences[index]);
+	}
+
+	/**
+	 * Moves an item up the heap until its parent ranks worse.
+	 * @param index - the position of the item.
+	 */
+	private void siftUp(int index) {
+		int child = index;
+		while (child > 0) {
+			int parent = (child - 1) / 2;
+			if (compare(get(child), sequences[child], parent) <= 0) {
+				return;
+			}
+			swap(child, parent);
+			child = parent;
+		}
+	}
+
+	/**
+	 * Moves an item down the heap until its children rank better.
+	 * @param index - the position of the item.
+	 */
+	private void siftDown(int index) {
+		int parent = index;
+		while (true) {
+			int worst = parent;
+			for (int child = 2 * parent + 1; child <= 2 * parent + 2 && child < size; child++) {
+				if (compare(get(child), sequences[child], worst) > 0) {
+					worst = child;
+				}
+			}
+			if (worst == parent) {
+				return;
+			}
+			swap(parent, worst);
+			parent = worst;
+		}
+	}
+
+	/**
+	 * Swaps two items of the heap.
+	 * @param first - the position of the first item.
+	 * @param second - the position of the second item.
+	 */
+	private void swap(int first, int second) {
+		Object item = items[first];
+		items[first] = items[second];
+		items[second] = item;
+		long sequence = sequences[first];
+		sequences[first] = sequences[second];
+		sequences[second] = sequence;
+	}
+
+	/**
+	 * Gets an item of the heap.
+	 * The unchecked warning is suppressed because only items of type T are stored.
+	 * @param index - the position of the item.
+	 * @return the item.
+	 */
+	@SuppressWarnings("unchecked")
+	private T get(int index) {
+		return (T) items[index];
+	}
+}
@@ -15,6 +15,8 @@ import nl.github.martijn9612.fishy.models.NonPlayer;
 import nl.github.martijn9612.fishy.models.Player;
 import nl.github.martijn9612.fishy.models.Vector;
 import nl.github.martijn9612.fishy.opponents.LinearOpponent;
+import nl.github.martijn9612.fishy.opponents.OpponentStore;
+import nl.github.martijn9612.fishy.opponents.SinusOpponent;
 
 /**
  * Test class for OpponentController.
@@ -83,9 +85,58 @@ public class OpponentControllerTest extends TestCase {
     @Test
     public void testRemove() {
         NonPlayer testopp = new LinearOpponent(opponentData, false);
-        int size = opponentController.getToRemove().size();
+        opponentController.addOpponent(testopp);
+        opponentController.remove(testopp);
+        assertTrue(testopp.isDead());
+        assertEquals(1, opponentController.getDeadCount());
         opponentController.remove(testopp);
-        assertEquals(opponentController.getToRemove().size(), size + 1);
+        assertEquals(1, opponentController.getDeadCount());
+        opponentController.updateOpponents(gc, 0);
+        assertEquals(0, opponentController.getDeadCount());
+        assertFalse(opponentController.getOpponents().contains(testopp));
+    }
+
+    /**
+     * Testcase for removing an opponent that isn't in the list.
+     * The opponent is destroyed but the count of live opponents stays right.
+     */
+    @Test
+    public void testRemoveUnknown() {
+        NonPlayer listed = new LinearOpponent(opponentData, false);
+        opponentController.addOpponent(listed);
+        NonPlayer unknown = new LinearOpponent(new Moveable(), false);
+        opponentController.remove(unknown);
+        assertTrue(unknown.isDead());
+        assertEquals(0, opponentController.getDeadCount());
+        assertEquals(1, opponentController.getOpponentCount());
+        opponentController.remove(listed);
+        opponentController.updateOpponents(gc, 0);
+        opponentController.remove(listed);
+        assertEquals(0, opponentController.getDeadCount());
+        assertEquals(0, opponentController.getOpponentCount());
+    }
+
+    /**
+     * Testcase for the OpponentStore backend.
+     * Small opponents are kept in the store, collisions remove them from it.
+     */
+    @Test
+    public void testOpponentStore() {
+        OpponentController storeController = new OpponentController(false, true);
+        storeController.spawnOpponents(player);
+        assertTrue(storeController.getOpponents().isEmpty());
+        assertEquals(1, storeController.getOpponentCount());
+
+        Vector position = player.getData().getPosition();
+        int index = storeController.getStore().add(OpponentStore.TYPE_LINEAR,
+                position.x + 10, position.y, 0, 0, 32, 32);
+        player.Extralife();
+        assertFalse(storeController.collide(player, sbg));
+        assertTrue(storeController.getStore().isDead(index));
+        assertEquals(0, player.getLives());
+
+        storeController.removeAllOpponents();
+        assertEquals(0, storeController.getOpponentCount());
     }
 
     /**
@@ -95,9 +146,33 @@ public class OpponentControllerTest extends TestCase {
     public void testRemoveAllOpponents() {
         opponentController.spawnOpponents(player);
         opponentController.spawnOpponents(player);
-        int size = opponentController.getToRemove().size();
         opponentController.removeAllOpponents();
-        assertEquals(opponentController.getToRemove().size(), size + 2);
+        assertEquals(2, opponentController.getDeadCount());
+        opponentController.updateOpponents(gc, 0);
+        assertTrue(opponentController.getOpponents().isEmpty());
+    }
+
+    /**
+     * Testcase for removing opponents in a crowded screen.
+     * Every other opponent is removed, the rest keeps its order.
+     */
+    @Test
+    public void testRemoveManyOpponents() {
+        NonPlayer[] added = new NonPlayer[10000];
+        for (int i = 0; i < added.length; i++) {
+            Moveable data = new Moveable();
+            data.setPosition(new Vector(i % 600, 100));
+            added[i] = new LinearOpponent(data, false);
+            opponentController.addOpponent(added[i]);
+        }
+        for (int i = 0; i < added.length; i += 2) {
+            opponentController.remove(added[i]);
+        }
+        opponentController.updateOpponents(gc, 0);
+        assertEquals(added.length / 2, opponentController.getOpponents().size());
+        for (int i = 0; i < added.length / 2; i++) {
+            assertSame(added[2 * i + 1], opponentController.getOpponents().get(i));
+        }
     }
 
     /**
@@ -142,6 +217,60 @@ public class OpponentControllerTest extends TestCase {
         opponentController.collide(player, sbg);
         assertTrue(opponentController.getOpponents().contains(opponent));
     }
+
+    /**
+     * Test for collide.
+     * A larger opponent touching the player costs a life, one far away isn't checked.
+     */
+    @Test
+    public void testCollide2() {
+        Moveable nearData = new Moveable();
+        nearData.setPosition(player.getData().getPosition().copy());
+        nearData.getPosition().x += 10;
+        nearData.setDimensions(new Vector(32, 32));
+        NonPlayer near = new LinearOpponent(nearData, false);
+        NonPlayer far = mock(NonPlayer.class);
+        when(far.getMinX()).thenReturn(-500f);
+        when(far.getMinY()).thenReturn(-500f);
+        when(far.getMaxX()).thenReturn(-480f);
+        when(far.getMaxY()).thenReturn(-480f);
+        opponentController.addOpponent(near);
+        opponentController.addOpponent(far);
+        player.Extralife();
+        assertFalse(opponentController.collide(player, sbg));
+        assertTrue(near.isDead());
+        assertEquals(0, player.getLives());
+        Mockito.verify(far, Mockito.never()).intersects(player);
+    }
     
 
+
+    /**
+     * Testcase for pooling, removed opponents are reused when spawning.
+     */
+    @Test
+    public void testPooledSpawn() {
+        opponentData.setDimensions(new Vector(10, 10));
+        LinearOpponent linear = new LinearOpponent(opponentData, false);
+        Moveable sinusData = new Moveable();
+        sinusData.setPosition(new Vector(100, 100));
+        sinusData.setDimensions(new Vector(10, 10));
+        SinusOpponent sinus = new SinusOpponent(sinusData, false);
+        opponentController.addOpponent(linear);
+        opponentController.addOpponent(sinus);
+        opponentController.remove(linear);
+        opponentController.remove(sinus);
+        opponentController.updateOpponents(gc, 0);
+        assertEquals(1, opponentController.getLinearPool().size());
+        assertEquals(1, opponentController.getSinusPool().size());
+
+        opponentController.spawnOpponents(player);
+        NonPlayer spawned = opponentController.getOpponents().get(0);
+        assertTrue(spawned == linear || spawned == sinus);
+        assertFalse(spawned.isDead());
+        long hits = opponentController.getLinearPool().getHits() + opponentController.getSinusPool().getHits();
+        long misses = opponentController.getLinearPool().getMisses() + opponentController.getSinusPool().getMisses();
+        assertEquals(1, hits);
+        assertEquals(0, misses);
+    }
 }
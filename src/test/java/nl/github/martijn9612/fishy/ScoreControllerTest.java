@@ -1,8 +1,15 @@
 package nl.github.martijn9612.fishy;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
 import junit.framework.TestCase;
 import nl.github.martijn9612.fishy.models.Score;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -12,22 +19,67 @@ import org.junit.Test;
  */
 public class ScoreControllerTest extends TestCase {
 
+    private File directory;
     private ScoreController test;
     
     /**
-     * Setup for the test class.
+     * Setup for the test class, the scores are kept in a temporary
+     * directory so the stored high scores aren't touched.
      */
     @Before
-    protected void setUp() {
-        test = ScoreController.getInstance();
+    protected void setUp() throws IOException {
+        directory = Files.createTempDirectory("scores").toFile();
+        test = new ScoreController(directory);
+    }
+    
+    /**
+     * Deletes the temporary directory.
+     */
+    @After
+    protected void tearDown() {
+        ScoreController.setInstance(null);
+        test.close();
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
     }
     
     /**
-     * Test method for getInstance method.
+     * Test method for getInstance method, the instance is replaced so
+     * the real singleton doesn't create its files.
      */
     @Test
     public void testGetInstance() {
-        assertEquals(test, ScoreController.getInstance());
+        ScoreController.setInstance(test);
+        assertSame(test, ScoreController.getInstance());
+        assertSame(ScoreController.getInstance(), ScoreController.getInstance());
+    }
+    
+    /**
+     * Test that the scores are stored in the directory and loaded again.
+     */
+    @Test
+    public void testScoresStored() {
+        test.addScore(new Score("first", 100.0));
+        test.addScore(new Score("second", 200.0));
+        test.removeScore(test.getScoreList().get(1));
+        test.close();
+        test = new ScoreController(directory);
+        assertEquals(1, test.getScoreList().size());
+        assertEquals("second", test.getScoreList().get(0).getName());
+        assertTrue(new File(directory, "scorehistory.dat").isFile());
+    }
+    
+    /**
+     * Test that the history file is only created when a score is added.
+     */
+    @Test
+    public void testHistoryCreatedLazily() {
+        File historyFile = new File(directory, "scorehistory.dat");
+        assertFalse(historyFile.exists());
+        test.addScore(new Score("first", 100.0));
+        assertTrue(historyFile.isFile());
     }
     
     /**
@@ -48,6 +100,23 @@ public class ScoreControllerTest extends TestCase {
         test.addScore(score);
         assertTrue(test.getScoreList().contains(score));
     }
+
+    /**
+     * Test that the list keeps only the best scores, the best first.
+     */
+    @Test
+    public void testBestScoresKept() {
+        List<Score> added = new ArrayList<Score>();
+        for (int i = 0; i <= ScoreController.MAX_SCORE_ENTRIES; i++) {
+            Score score = new Score("Top", 1000000.0 + i);
+            added.add(score);
+            test.addScore(score);
+        }
+        List<Score> scores = test.getScoreList();
+        assertEquals(ScoreController.MAX_SCORE_ENTRIES, scores.size());
+        assertSame(added.get(ScoreController.MAX_SCORE_ENTRIES), scores.get(0));
+        assertFalse(scores.contains(added.get(0)));
+    }
     
     /**
      * Test method for removeScore method.
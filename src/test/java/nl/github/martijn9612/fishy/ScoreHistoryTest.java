@@ -0,0 +1,60 @@
+package nl.github.martijn9612.fishy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.models.Score;
+
+/**
+ * Test class for ScoreHistory.
+ */
+public class ScoreHistoryTest extends TestCase {
+
+    private File file;
+    private ScoreHistory history;
+
+    /**
+     * Creates a history in a temporary file.
+     */
+    @Override
+    protected void setUp() throws IOException {
+        file = File.createTempFile("scorehistory", ".dat");
+        file.delete();
+        file.deleteOnExit();
+        history = new ScoreHistory(file);
+    }
+
+    /**
+     * Test that the scores are read back in the order they were appended.
+     */
+    @Test
+    public void testAppend() throws IOException {
+        assertTrue(history.readAll().isEmpty());
+        history.append(new Score("first", 10));
+        history.append(new Score("second", 20.5));
+        List<Score> scores = history.readAll();
+        assertEquals(2, scores.size());
+        assertEquals("first", scores.get(0).getName());
+        assertEquals(20.5, scores.get(1).getScore());
+    }
+
+    /**
+     * Test that a score cut off at the end is skipped.
+     */
+    @Test
+    public void testTornScore() throws IOException {
+        history.append(new Score("first", 10));
+        history.append(new Score("second", 20));
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(raf.length() - 3);
+        raf.close();
+        List<Score> scores = history.readAll();
+        assertEquals(1, scores.size());
+        assertEquals("first", scores.get(0).getName());
+    }
+}
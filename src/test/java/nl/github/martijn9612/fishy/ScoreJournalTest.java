@@ -0,0 +1,205 @@
+package nl.github.martijn9612.fishy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.models.Score;
+import nl.github.martijn9612.fishy.utils.TopKList;
+
+/**
+ * Test class for ScoreJournal.
+ */
+public class ScoreJournalTest extends TestCase {
+
+    private File directory;
+    private File journalFile;
+    private File snapshotFile;
+
+    /**
+     * Creates a temporary directory for the journal.
+     */
+    @Override
+    protected void setUp() throws IOException {
+        directory = Files.createTempDirectory("scorejournal").toFile();
+        journalFile = new File(directory, "highscores.journal");
+        snapshotFile = new File(directory, "highscores.snapshot");
+    }
+
+    /**
+     * Deletes the files of the journal.
+     */
+    @Override
+    protected void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     * Test that added and deleted scores are replayed at startup.
+     */
+    @Test
+    public void testReplay() throws IOException {
+        ScoreJournal journal = open(100, newList());
+        journal.append(ScoreJournal.RECORD_ADD, new Score("first", 10));
+        journal.append(ScoreJournal.RECORD_ADD, new Score("second", 20));
+        journal.append(ScoreJournal.RECORD_ADD, new Score("third", 30));
+        journal.append(ScoreJournal.RECORD_DELETE, new Score("second", 20));
+        journal.close();
+        assertEquals(ScoreJournal.HEADER_SIZE + 4 * ScoreJournal.RECORD_SIZE, journalFile.length());
+
+        TopKList<Score> scores = newList();
+        journal = open(100, scores);
+        assertEquals(4, journal.getRecordCount());
+        List<Score> view = scores.getSortedView();
+        assertEquals(2, view.size());
+        assertEquals("third", view.get(0).getName());
+        assertEquals(10.0, view.get(1).getScore());
+        journal.close();
+    }
+
+    /**
+     * Test that a record cut off by a crash is dropped and the journal
+     * continues after the last complete record.
+     */
+    @Test
+    public void testTornRecord() throws IOException {
+        ScoreJournal journal = open(100, newList());
+        journal.append(ScoreJournal.RECORD_ADD, new Score("first", 10));
+        journal.append(ScoreJournal.RECORD_ADD, new Score("second", 20));
+        journal.close();
+        RandomAccessFile raf = new RandomAccessFile(journalFile, "rw");
+        raf.setLength(raf.length() - 5);
+        raf.close();
+
+        TopKList<Score> scores = newList();
+        journal = open(100, scores);
+        assertEquals(1, scores.size());
+        assertEquals(ScoreJournal.HEADER_SIZE + ScoreJournal.RECORD_SIZE, journalFile.length());
+        journal.append(ScoreJournal.RECORD_ADD, new Score("third", 30));
+        journal.close();
+
+        scores = newList();
+        open(100, scores).close();
+        assertEquals(2, scores.size());
+        assertEquals("third", scores.getSortedView().get(0).getName());
+    }
+
+    /**
+     * Test that a damaged record ends the journal.
+     */
+    @Test
+    public void testDamagedRecord() throws IOException {
+        ScoreJournal journal = open(100, newList());
+        journal.append(ScoreJournal.RECORD_ADD, new Score("first", 10));
+        journal.append(ScoreJournal.RECORD_ADD, new Score("second", 20));
+        journal.close();
+        RandomAccessFile raf = new RandomAccessFile(journalFile, "rw");
+        raf.seek(ScoreJournal.HEADER_SIZE + ScoreJournal.RECORD_SIZE + 3);
+        raf.write('x');
+        raf.close();
+
+        TopKList<Score> scores = newList();
+        open(100, scores).close();
+        assertEquals(1, scores.size());
+        assertEquals("first", scores.getSortedView().get(0).getName());
+    }
+
+    /**
+     * Test that the journal is compacted into a snapshot after the threshold.
+     */
+    @Test
+    public void testCompaction() throws IOException {
+        TopKList<Score> scores = newList();
+        ScoreJournal journal = open(4, scores);
+        for (int i = 0; i < 10; i++) {
+            Score score = new Score("player" + i, i);
+            scores.offer(score);
+            journal.append(ScoreJournal.RECORD_ADD, score);
+            if (journal.needsCompaction()) {
+                journal.compact(scores.getSortedView());
+                journal.awaitCompaction();
+            }
+        }
+        journal.close();
+        assertEquals(2, journal.getGeneration());
+        assertEquals(2, journal.getRecordCount());
+        assertTrue(snapshotFile.isFile());
+        assertFalse(new File(journalFile.getPath() + ".old").exists());
+
+        TopKList<Score> loaded = newList();
+        open(4, loaded).close();
+        assertEquals(5, loaded.size());
+        assertEquals("player9", loaded.getSortedView().get(0).getName());
+        assertEquals(5.0, loaded.getSortedView().get(4).getScore());
+    }
+
+    /**
+     * Test that a compaction that didn't finish is completed at startup.
+     */
+    @Test
+    public void testInterruptedCompaction() throws IOException {
+        ScoreJournal journal = open(100, newList());
+        journal.append(ScoreJournal.RECORD_ADD, new Score("first", 10));
+        journal.append(ScoreJournal.RECORD_ADD, new Score("second", 20));
+        journal.close();
+        File previousFile = new File(journalFile.getPath() + ".old");
+        assertTrue(journalFile.renameTo(previousFile));
+
+        TopKList<Score> scores = newList();
+        journal = open(100, scores);
+        assertEquals(2, scores.size());
+        assertFalse(previousFile.exists());
+        assertTrue(snapshotFile.isFile());
+        assertEquals(1, journal.getGeneration());
+        journal.append(ScoreJournal.RECORD_DELETE, new Score("first", 10));
+        journal.close();
+
+        scores = newList();
+        open(100, scores).close();
+        assertEquals(1, scores.size());
+        assertEquals("second", scores.getSortedView().get(0).getName());
+    }
+
+    /**
+     * Test that long names are cut off at whole characters.
+     */
+    @Test
+    public void testEncodeName() {
+        assertEquals(5, ScoreJournal.encodeName("abcde").length);
+        assertEquals(ScoreJournal.NAME_BYTES, ScoreJournal.encodeName(new String(new char[40]).replace('\0', 'a')).length);
+        assertEquals(30, ScoreJournal.encodeName(new String(new char[11]).replace("\0", "\u20ac")).length);
+    }
+
+    /**
+     * Opens the journal in the temporary directory and loads it.
+     * @param threshold - the compact threshold.
+     * @param scores - the list the scores are loaded into.
+     * @return the loaded journal.
+     */
+    private ScoreJournal open(int threshold, TopKList<Score> scores) throws IOException {
+        ScoreJournal journal = new ScoreJournal(journalFile, snapshotFile, threshold);
+        journal.load(scores);
+        return journal;
+    }
+
+    /**
+     * Creates a list for five scores, the best first.
+     * @return the list.
+     */
+    private TopKList<Score> newList() {
+        return new TopKList<Score>(5, new Comparator<Score>() {
+            public int compare(Score first, Score second) {
+                return first.compareTo(second);
+            }
+        });
+    }
+}
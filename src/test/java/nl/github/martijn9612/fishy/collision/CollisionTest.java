@@ -0,0 +1,92 @@
+package nl.github.martijn9612.fishy.collision;
+
+import org.junit.Test;
+import org.newdawn.slick.geom.Ellipse;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for Collision and BoundingEllipse.
+ */
+public class CollisionTest extends TestCase {
+
+    /**
+     * Test circles that overlap, touch and are apart.
+     */
+    @Test
+    public void testCirclesIntersect() {
+        assertTrue(Collision.circlesIntersect(0, 0, 5, 6, 0, 2));
+        assertTrue(Collision.circlesIntersect(0, 0, 5, 3, 4, 0));
+        assertFalse(Collision.circlesIntersect(0, 0, 5, 8, 0, 2.5f));
+    }
+
+    /**
+     * Test that a circle inside another circle overlaps it.
+     */
+    @Test
+    public void testCircleInsideCircle() {
+        assertTrue(Collision.circlesIntersect(0, 0, 50, 1, 1, 2));
+    }
+
+    /**
+     * Test ellipses lined up along the axes, where the test is exact.
+     */
+    @Test
+    public void testEllipsesAlongAxes() {
+        assertTrue(Collision.ellipsesIntersect(0, 0, 10, 2, 14, 0, 4, 4));
+        assertFalse(Collision.ellipsesIntersect(0, 0, 10, 2, 15, 0, 4, 4));
+        assertTrue(Collision.ellipsesIntersect(0, 0, 10, 2, 0, 6, 4, 4));
+        assertFalse(Collision.ellipsesIntersect(0, 0, 10, 2, 0, 7, 4, 4));
+    }
+
+    /**
+     * Test ellipses on a diagonal.
+     */
+    @Test
+    public void testEllipsesDiagonal() {
+        assertTrue(Collision.ellipsesIntersect(0, 0, 10, 5, 4, 4, 2, 2));
+        assertFalse(Collision.ellipsesIntersect(0, 0, 10, 5, 12, 12, 2, 2));
+    }
+
+    /**
+     * Test ellipses with the same center and empty ellipses.
+     */
+    @Test
+    public void testEllipsesDegenerate() {
+        assertTrue(Collision.ellipsesIntersect(3, 3, 10, 5, 3, 3, 0, 0));
+        assertFalse(Collision.ellipsesIntersect(0, 0, 0, 0, 5, 0, 0, 1));
+    }
+
+    /**
+     * Test that a BoundingEllipse fills the rectangle it's set to.
+     */
+    @Test
+    public void testBoundingEllipse() {
+        BoundingEllipse ellipse = new BoundingEllipse();
+        ellipse.set(10, 20, 30, 40);
+        assertEquals(25f, ellipse.getCenterX());
+        assertEquals(40f, ellipse.getCenterY());
+        assertEquals(10f, ellipse.getMinX());
+        assertEquals(20f, ellipse.getMinY());
+        assertEquals(40f, ellipse.getMaxX());
+        assertEquals(60f, ellipse.getMaxY());
+
+        Ellipse slickEllipse = ellipse.toEllipse();
+        assertEquals(10f, slickEllipse.getX(), 0.01f);
+        assertEquals(30f, slickEllipse.getWidth(), 0.01f);
+    }
+
+    /**
+     * Test BoundingEllipse intersection.
+     */
+    @Test
+    public void testBoundingEllipseIntersects() {
+        BoundingEllipse first = new BoundingEllipse();
+        BoundingEllipse second = new BoundingEllipse();
+        first.set(0, 0, 16, 16);
+        second.set(15, 0, 16, 16);
+        assertTrue(first.intersects(second));
+        second.set(17, 0, 16, 16);
+        assertFalse(first.intersects(second));
+    }
+}
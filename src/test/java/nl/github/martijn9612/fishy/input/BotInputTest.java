@@ -0,0 +1,60 @@
+package nl.github.martijn9612.fishy.input;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.OpponentController;
+import nl.github.martijn9612.fishy.models.Moveable;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.models.Vector;
+import nl.github.martijn9612.fishy.opponents.LinearOpponent;
+
+/**
+ * Test class for BotInput.
+ */
+public class BotInputTest extends TestCase {
+
+    private final Player player = Player.createPlayer(false);
+    private final OpponentController opponentController = new OpponentController(false);
+    private final BotInput bot = new BotInput(player, opponentController);
+
+    /**
+     * Creates an opponent next to the player.
+     * @param dx - horizontal distance to the player.
+     * @param dy - vertical distance to the player.
+     * @param size - size of the opponent.
+     */
+    private void addOpponent(float dx, float dy, float size) {
+        Moveable data = new Moveable();
+        Vector position = player.getData().getPosition();
+        data.setPosition(new Vector(position.x + dx, position.y + dy));
+        data.setDimensions(new Vector(size, size));
+        opponentController.addOpponent(new LinearOpponent(data, false));
+    }
+
+    /**
+     * Test that the bot stands still without opponents.
+     */
+    @Test
+    public void testNoOpponents() {
+        assertEquals(InputSource.NONE, bot.poll());
+    }
+
+    /**
+     * Test that the bot chases a smaller opponent.
+     */
+    @Test
+    public void testChase() {
+        addOpponent(100, -100, 4);
+        assertEquals(InputSource.MOVE_RIGHT | InputSource.MOVE_UP, bot.poll());
+    }
+
+    /**
+     * Test that the bot flees from a bigger opponent.
+     */
+    @Test
+    public void testFlee() {
+        addOpponent(100, 8 - 30, 60);
+        assertEquals(InputSource.MOVE_LEFT, bot.poll());
+    }
+}
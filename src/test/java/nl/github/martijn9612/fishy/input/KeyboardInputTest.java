@@ -0,0 +1,48 @@
+package nl.github.martijn9612.fishy.input;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.newdawn.slick.Input;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for KeyboardInput.
+ */
+public class KeyboardInputTest extends TestCase {
+
+    private final Input input = mock(Input.class);
+    private final KeyboardInput keyboard = new KeyboardInput(input);
+
+    /**
+     * Test that no keys give no directions.
+     */
+    @Test
+    public void testNoKeys() {
+        assertEquals(InputSource.NONE, keyboard.poll());
+    }
+
+    /**
+     * Test that both the arrow keys and WASD are read.
+     */
+    @Test
+    public void testKeys() {
+        when(input.isKeyDown(Input.KEY_A)).thenReturn(true);
+        when(input.isKeyDown(Input.KEY_UP)).thenReturn(true);
+        assertEquals(InputSource.MOVE_LEFT | InputSource.MOVE_UP, keyboard.poll());
+    }
+
+    /**
+     * Test that all four directions can be held at once.
+     */
+    @Test
+    public void testAllKeys() {
+        when(input.isKeyDown(Input.KEY_RIGHT)).thenReturn(true);
+        when(input.isKeyDown(Input.KEY_LEFT)).thenReturn(true);
+        when(input.isKeyDown(Input.KEY_W)).thenReturn(true);
+        when(input.isKeyDown(Input.KEY_S)).thenReturn(true);
+        assertEquals(InputSource.ALL_MOVES, keyboard.poll());
+    }
+}
@@ -0,0 +1,34 @@
+package nl.github.martijn9612.fishy.input;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for RecordingInput and ReplayInput.
+ */
+public class ReplayInputTest extends TestCase {
+
+    /**
+     * Test that a replay gives the recorded input tick by tick.
+     */
+    @Test
+    public void testRecordAndReplay() {
+        ScriptedInput script = new ScriptedInput()
+                .add(InputSource.MOVE_LEFT, 700)
+                .add(InputSource.MOVE_DOWN, 700);
+        RecordingInput recorder = new RecordingInput(script);
+        int[] expected = new int[1500];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = recorder.poll();
+        }
+        assertEquals(1500, recorder.size());
+
+        ReplayInput replay = new ReplayInput(recorder.getRecording());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], replay.poll());
+        }
+        assertTrue(replay.isFinished());
+        assertEquals(InputSource.NONE, replay.poll());
+    }
+}
@@ -0,0 +1,57 @@
+package nl.github.martijn9612.fishy.input;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for ScriptedInput.
+ */
+public class ScriptedInputTest extends TestCase {
+
+    /**
+     * Test that every step lasts its number of ticks and the script then stops.
+     */
+    @Test
+    public void testSteps() {
+        ScriptedInput script = new ScriptedInput()
+                .add(InputSource.MOVE_LEFT, 2)
+                .add(InputSource.MOVE_UP | InputSource.MOVE_RIGHT, 1);
+        assertEquals(InputSource.MOVE_LEFT, script.poll());
+        assertEquals(InputSource.MOVE_LEFT, script.poll());
+        assertEquals(InputSource.MOVE_UP | InputSource.MOVE_RIGHT, script.poll());
+        assertTrue(script.isFinished());
+        assertEquals(InputSource.NONE, script.poll());
+    }
+
+    /**
+     * Test that a looping script starts over.
+     */
+    @Test
+    public void testLoop() {
+        ScriptedInput script = new ScriptedInput(true)
+                .add(InputSource.MOVE_DOWN, 1)
+                .add(InputSource.NONE, 1);
+        for (int i = 0; i < 20; i++) {
+            script.add(InputSource.MOVE_LEFT, 1);
+        }
+        for (int i = 0; i < 22; i++) {
+            script.poll();
+        }
+        assertFalse(script.isFinished());
+        assertEquals(InputSource.MOVE_DOWN, script.poll());
+    }
+
+    /**
+     * Test that empty steps are rejected.
+     */
+    @Test
+    public void testEmptyStep() {
+        try {
+            new ScriptedInput().add(InputSource.MOVE_UP, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package nl.github.martijn9612.fishy.models;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class MoveableTest extends TestCase {
+
+    private static final float EPSILON = 1e-5f;
+    private static final int TICKS = 100000;
+    private static final long ALLOCATION_MARGIN = 4096;
+    private Moveable data;
+
+    @Override
+    protected void setUp() {
+        data = new Moveable();
+        data.setMass(2);
+    }
+
+    @Test
+    public void testApplyForce() {
+        data.applyForce(4, -2);
+        assertEquals(2, data.getAcceleration().x, EPSILON);
+        assertEquals(-1, data.getAcceleration().y, EPSILON);
+    }
+
+    @Test
+    public void testApplyForceVector() {
+        Vector force = new Vector(4, -2);
+        data.applyForce(force);
+        assertEquals(new Vector(2, -1), data.getAcceleration());
+        assertEquals(new Vector(4, -2), force);
+    }
+
+    @Test
+    public void testApplyWaterDrag() {
+        data.setVelocity(new Vector(3, 4));
+        data.applyWaterDrag(0.1f);
+        // |drag| = 0.1 * 5^2 = 2.5 against (0.6, 0.8), divided by a mass of 2.
+        assertEquals(-0.75f, data.getAcceleration().x, EPSILON);
+        assertEquals(-1f, data.getAcceleration().y, EPSILON);
+    }
+
+    @Test
+    public void testApplyWaterDragStandingStill() {
+        data.applyWaterDrag(0.1f);
+        assertEquals(new Vector(0, 0), data.getAcceleration());
+    }
+
+    @Test
+    public void testUpdatePosition() {
+        data.applyForce(2, 0);
+        data.updatePosition(5);
+        assertEquals(new Vector(1, 0), data.getVelocity());
+        assertEquals(new Vector(1, 0), data.getPosition());
+        assertEquals(new Vector(0, 0), data.getAcceleration());
+    }
+
+    @Test
+    public void testPhysicsTickDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+        long threadId = Thread.currentThread().getId();
+        runPhysicsTicks(TICKS);
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        runPhysicsTicks(TICKS);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue("Physics ticks allocated " + allocated + " bytes", allocated < ALLOCATION_MARGIN);
+    }
+
+    /**
+     * Runs the physics of the player for the given number of ticks,
+     * steering in a different direction every tick.
+     * @param ticks - number of ticks to run.
+     */
+    private void runPhysicsTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            data.applyForce((i & 1) == 0 ? 1 : -1, (i & 2) == 0 ? 1 : -1);
+            data.applyWaterDrag(0.1f);
+            data.updatePosition(4);
+        }
+    }
+}
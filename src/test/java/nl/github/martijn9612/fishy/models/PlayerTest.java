@@ -8,6 +8,7 @@ import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Input;
 
 import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.input.KeyboardInput;
 import nl.github.martijn9612.fishy.powerups.Shield;
 
 public class PlayerTest extends TestCase {
@@ -25,6 +26,7 @@ public class PlayerTest extends TestCase {
         opponentData.setVelocity(new Vector(0, 0));
         opponentData.setDimensions(new Vector(16, 16));
         when(gc.getInput()).thenReturn(input);
+        player.setInputSource(new KeyboardInput(input));
     };
 
     @Test
@@ -124,15 +126,20 @@ public class PlayerTest extends TestCase {
     
     @Test
     public void testSpeedup() {
-        //NOT FINISHED!
-        player.Speedup(0);
-
+        player.Speedup(100);
+        assertEquals(3f, player.getData().getMass());
+        player.updateTimers(99);
+        assertEquals(3f, player.getData().getMass());
+        player.updateTimers(1);
+        assertEquals(5f, player.getData().getMass());
     }
     
     @Test
     public void testPoison() {
-        //NOT FINISHED!
-        player.Poison(0);
+        player.Poison(100);
+        assertTrue(player.isPoisoned());
+        player.updateTimers(100);
+        assertFalse(player.isPoisoned());
     }
     
     @Test
@@ -160,6 +167,10 @@ public class PlayerTest extends TestCase {
         player.setShieldState(Shield.STATE_HALF);
         player.addShield(0, 0);
         assertEquals(Shield.STATE_FULL, player.getShieldState());
+        player.updateTimers(1);
+        assertEquals(Shield.STATE_HALF, player.getShieldState());
+        player.updateTimers(1);
+        assertEquals(Shield.STATE_NONE, player.getShieldState());
 
     }
     
@@ -168,6 +179,8 @@ public class PlayerTest extends TestCase {
         player.setShieldState(Shield.STATE_FULL);
         player.removeShield(1);
         assertEquals(Shield.STATE_HALF, player.getShieldState());
+        player.updateTimers(1);
+        assertEquals(Shield.STATE_NONE, player.getShieldState());
     }
     
     @Test
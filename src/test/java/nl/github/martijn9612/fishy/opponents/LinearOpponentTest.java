@@ -79,4 +79,28 @@ public class LinearOpponentTest extends TestCase {
         
         assertTrue(test.getData().getVelocity().equals(testVector));
     }
+
+    /**
+     * Test case for reinitialise, a reused opponent gets the same values as a new one.
+     */
+    @Test
+    public void testReinitialise() {
+        when(random.nextInt(4)).thenReturn(1);
+        when(random.nextBoolean()).thenReturn(false);
+        LinearOpponent expected = LinearOpponent.createRandom(player, random, false);
+        Moveable opponentData = new Moveable();
+        opponentData.setPosition(new Vector(300, 300));
+        opponentData.setDimensions(new Vector(40, 40));
+        opponentData.setVelocity(new Vector(3, 0));
+        LinearOpponent test = new LinearOpponent(opponentData, false);
+        test.destroy();
+        test.reinitialise(player, random);
+
+        assertFalse(test.isDead());
+        assertSame(opponentData, test.getData());
+        assertTrue(test.getData().getPosition().equals(expected.getData().getPosition()));
+        assertTrue(test.getData().getVelocity().equals(expected.getData().getVelocity()));
+        assertTrue(test.getData().getDimensions().equals(expected.getData().getDimensions()));
+        assertEquals(expected.getMinX(), test.getMinX(), 0.001f);
+    }
 }
@@ -0,0 +1,151 @@
+package nl.github.martijn9612.fishy.opponents;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.models.Moveable;
+import nl.github.martijn9612.fishy.models.Player;
+import nl.github.martijn9612.fishy.models.Vector;
+
+/**
+ * Test class for OpponentStore.
+ */
+public class OpponentStoreTest extends TestCase {
+
+    private OpponentStore store = new OpponentStore(false);
+
+    /**
+     * Test that a linear opponent moves like a LinearOpponent.
+     */
+    @Test
+    public void testUpdateLinear() {
+        int index = store.add(OpponentStore.TYPE_LINEAR, 100, 200, 3, 0, 20, 20);
+        Moveable data = new Moveable();
+        data.setPosition(new Vector(100, 200));
+        data.setVelocity(new Vector(3, 0));
+        data.setDimensions(new Vector(20, 20));
+        LinearOpponent entity = new LinearOpponent(data, false);
+        for (int i = 0; i < 10; i++) {
+            store.update();
+            entity.objectLogic(null, 0);
+        }
+        assertEquals(entity.getData().getPosition().x, store.getX(index), 0.001f);
+        assertEquals(entity.getData().getPosition().y, store.getY(index), 0.001f);
+    }
+
+    /**
+     * Test that a fast opponent is limited to the same speed as a LinearOpponent.
+     */
+    @Test
+    public void testSpeedLimit() {
+        int index = store.add(OpponentStore.TYPE_LINEAR, 0, 0, 150, -120, 20, 20);
+        Moveable data = new Moveable();
+        data.setVelocity(new Vector(150, -120));
+        data.setDimensions(new Vector(20, 20));
+        LinearOpponent entity = new LinearOpponent(data, false);
+        store.update();
+        entity.objectLogic(null, 0);
+        assertEquals(entity.getData().getPosition().x, store.getX(index), 0.001f);
+        assertEquals(entity.getData().getPosition().y, store.getY(index), 0.001f);
+        assertEquals(100, store.getVelocityX(index), 0.001f);
+        assertEquals(-100, store.getVelocityY(index), 0.001f);
+    }
+
+    /**
+     * Test that a sinus opponent moves like a SinusOpponent.
+     */
+    @Test
+    public void testUpdateSinus() {
+        int index = store.add(OpponentStore.TYPE_SINUS, 300, Main.WINDOW_HEIGHT, 0, 0, 20, 20);
+        Moveable data = new Moveable();
+        data.setPosition(new Vector(300, Main.WINDOW_HEIGHT));
+        data.setDimensions(new Vector(20, 20));
+        SinusOpponent entity = new SinusOpponent(data, false);
+        for (int i = 0; i < 50; i++) {
+            store.update();
+            entity.objectLogic(null, 0);
+        }
+        assertEquals(entity.getData().getPosition().y, store.getY(index), 0.001f);
+        assertEquals(entity.getData().getVelocity().y, store.getVelocityY(index), 0.001f);
+    }
+
+    /**
+     * Test that opponents leaving the screen are removed and the rest keeps its order.
+     */
+    @Test
+    public void testOffScreenRemoved() {
+        store.add(OpponentStore.TYPE_LINEAR, -200, 100, -1, 0, 20, 20);
+        store.add(OpponentStore.TYPE_LINEAR, 100, 100, 1, 0, 20, 20);
+        store.add(OpponentStore.TYPE_LINEAR, 200, 100, 1, 0, 30, 30);
+        store.update();
+        assertTrue(store.isDead(0));
+        assertEquals(2, store.getLiveCount());
+        store.compact();
+        assertEquals(2, store.size());
+        assertEquals(101, store.getX(0), 0.001f);
+        assertEquals(30, store.getWidth(1), 0.001f);
+    }
+
+    /**
+     * Test intersection with an ellipse, dead opponents never intersect.
+     */
+    @Test
+    public void testIntersects() {
+        int index = store.add(OpponentStore.TYPE_LINEAR, 0, 0, 0, 0, 20, 20);
+        assertTrue(store.intersects(index, 25, 10, 8, 8));
+        assertFalse(store.intersects(index, 40, 10, 8, 8));
+        store.remove(index);
+        assertFalse(store.intersects(index, 25, 10, 8, 8));
+    }
+
+    /**
+     * Test that the store grows beyond its initial capacity.
+     */
+    @Test
+    public void testGrow() {
+        for (int i = 0; i < 1000; i++) {
+            store.add(OpponentStore.TYPE_SINUS, i % 600, 100, 0, 0, 10, 10);
+        }
+        assertEquals(1000, store.size());
+        assertEquals(999 % 600, store.getX(999), 0.001f);
+        store.clear();
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * Test that spawnRandom uses the spawn rules of LinearOpponent.
+     */
+    @Test
+    public void testSpawnRandom() {
+        Random random = mock(Random.class);
+        when(random.nextBoolean()).thenReturn(true);
+        when(random.nextInt(anyInt())).thenReturn(1);
+        Player player = mock(Player.class);
+        when(player.getSize()).thenReturn(16f);
+        int index = store.spawnRandom(OpponentStore.TYPE_LINEAR, player, random);
+        assertEquals(OpponentStore.TYPE_LINEAR, store.getType(index));
+        assertEquals(9, store.getWidth(index), 0.001f);
+        assertEquals(2, store.getVelocityX(index), 0.001f);
+        assertEquals(-9 * 5, store.getX(index), 0.001f);
+    }
+
+    /**
+     * Test that unknown types are rejected.
+     */
+    @Test
+    public void testUnknownType() {
+        try {
+            store.add(5, 0, 0, 0, 0, 1, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+}
@@ -18,12 +18,25 @@ public class PowerFactoryTest extends TestCase {
     PowerupFactory factory = new PowerupFactory(false);
     
     /**
-     * Test for setupFactory.
+     * Test for createPowerup.
      */
     @Test
-    public void testSetupFactory() {
-        factory.setupFactory();
-        assertEquals(4, factory.getPowerups().size());
+    public void testCreatePowerup() {
+        assertTrue(factory.createPowerup(PowerupFactory.TYPE_EXTRALIFE) instanceof ExtraLife);
+        assertTrue(factory.createPowerup(PowerupFactory.TYPE_SPEEDUP) instanceof Speedup);
+        assertTrue(factory.createPowerup(PowerupFactory.TYPE_POISON) instanceof Poison);
+        assertTrue(factory.createPowerup(PowerupFactory.TYPE_SHIELD) instanceof Shield);
+    }
+    
+    /**
+     * Test for getChance.
+     */
+    @Test
+    public void testGetChance() {
+        for (int type = 0; type < PowerupFactory.POWERUP_TYPES; type++) {
+            int chance = factory.createPowerup(type).getChance();
+            assertEquals(chance, PowerupFactory.getChance(type));
+        }
     }
     
     /**
@@ -32,12 +45,11 @@ public class PowerFactoryTest extends TestCase {
      */
     @Test
     public void testSpawnPowerup1() {
-        factory.setupFactory();
         Random randommock = mock(Random.class);
         factory.setRandom(randommock);
-        when(randommock.nextInt(factory.getPowerups().size())).thenReturn(1);
+        when(randommock.nextInt(PowerupFactory.POWERUP_TYPES)).thenReturn(1);
         when(randommock.nextInt(1001)).thenReturn(1);
-        factory.spawnPowerup();
+        assertTrue(factory.spawnPowerup() instanceof Speedup);
         assertFalse(factory.getPowerup() == null);
         
     }
@@ -48,21 +60,11 @@ public class PowerFactoryTest extends TestCase {
      */
     @Test
     public void testSpawnPowerup2() {
-        factory.setupFactory();
         Random randommock = mock(Random.class);
         factory.setRandom(randommock);  
-        when(randommock.nextInt(factory.getPowerups().size())).thenReturn(1);
+        when(randommock.nextInt(PowerupFactory.POWERUP_TYPES)).thenReturn(1);
         when(randommock.nextInt(1001)).thenReturn(200);
         factory.spawnPowerup();
         assertTrue(factory.getPowerup() == null);
     }
-    
-    /**
-     * Test for clearFactory.
-     */
-    @Test 
-    public void testClearFactory() {
-        factory.clearFactory();
-        assertTrue(factory.getPowerups().isEmpty());
-    }
 }
@@ -0,0 +1,106 @@
+package nl.github.martijn9612.fishy.simulation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.Main;
+import nl.github.martijn9612.fishy.input.BotInput;
+import nl.github.martijn9612.fishy.input.InputSource;
+import nl.github.martijn9612.fishy.input.RecordingInput;
+import nl.github.martijn9612.fishy.utils.FixedTimestep;
+
+/**
+ * Test class for Replay and ReplayRunner.
+ */
+public class ReplayTest extends TestCase {
+
+    /**
+     * Test that a replay is read back the same as it was written.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        int[] inputs = {0, 0, InputSource.MOVE_LEFT, InputSource.MOVE_LEFT | InputSource.MOVE_UP, 0, 15};
+        Replay replay = read(write(new Replay(-123456789L, 60, inputs)));
+        assertEquals(-123456789L, replay.getSeed());
+        assertEquals(60, replay.getTickRate());
+        assertTrue(Arrays.equals(inputs, replay.getInputs()));
+    }
+
+    /**
+     * Test that long runs of the same input take a few bytes.
+     */
+    @Test
+    public void testCompact() throws IOException {
+        int[] inputs = new int[36000];
+        Arrays.fill(inputs, 0, 20000, InputSource.MOVE_RIGHT);
+        byte[] bytes = write(new Replay(1, 60, inputs));
+        assertTrue(bytes.length < 30);
+        assertTrue(Arrays.equals(inputs, read(bytes).getInputs()));
+    }
+
+    /**
+     * Test that data that isn't a replay is rejected.
+     */
+    @Test
+    public void testBadMagic() {
+        try {
+            read(new byte[] {1, 2, 3, 4, 1, 0, 0, 0, 0, 0, 0, 0, 0, 17, 0});
+            fail();
+        } catch (IOException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    /**
+     * Test that a replay cut off in the middle is rejected.
+     */
+    @Test
+    public void testTruncated() throws IOException {
+        int[] inputs = {1, 2, 4, 8, 1, 2, 4, 8};
+        byte[] bytes = write(new Replay(1, 60, inputs));
+        try {
+            read(Arrays.copyOf(bytes, bytes.length - 3));
+            fail();
+        } catch (IOException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    /**
+     * Test that playing a recorded match gives the same outcome and score.
+     */
+    @Test
+    public void testPlayback() throws IOException {
+        Simulation simulation = new Simulation(false, 99);
+        RecordingInput recording = new RecordingInput(
+                new BotInput(simulation.getPlayer(), simulation.getOpponentController()));
+        simulation.getPlayer().setInputSource(recording);
+        FixedTimestep timestep = new FixedTimestep(Main.TICK_RATE, 1);
+        int outcome = Simulation.RUNNING;
+        for (int i = 0; i < 3000 && outcome == Simulation.RUNNING; i++) {
+            outcome = simulation.tick(timestep.nextTickLength());
+        }
+        Replay replay = read(write(new Replay(99, Main.TICK_RATE, recording.getRecording())));
+        ReplayRunner runner = new ReplayRunner(replay);
+        assertEquals(outcome, runner.run(false));
+        assertEquals(simulation.getTickCount(), runner.getSimulation().getTickCount());
+        assertEquals(simulation.getPlayer().getScore(), runner.getSimulation().getPlayer().getScore());
+        assertEquals(simulation.getPlayer().getData().getPosition(),
+                runner.getSimulation().getPlayer().getData().getPosition());
+    }
+
+    private static byte[] write(Replay replay) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        replay.write(out);
+        return out.toByteArray();
+    }
+
+    private static Replay read(byte[] bytes) throws IOException {
+        return Replay.read(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,126 @@
+package nl.github.martijn9612.fishy.simulation;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.input.BotInput;
+import nl.github.martijn9612.fishy.input.InputSource;
+import nl.github.martijn9612.fishy.input.ScriptedInput;
+import nl.github.martijn9612.fishy.models.Moveable;
+import nl.github.martijn9612.fishy.models.Vector;
+import nl.github.martijn9612.fishy.opponents.LinearOpponent;
+
+/**
+ * Test class for Simulation and SimulationRunner.
+ */
+public class SimulationTest extends TestCase {
+
+    private static final int TICK_LENGTH = 17;
+    private Simulation simulation = new Simulation(false);
+
+    /**
+     * Test that a tick moves the player and spawns an opponent.
+     */
+    @Test
+    public void testTick() {
+        float x = simulation.getPlayer().getData().getPosition().x;
+        simulation.getPlayer().setInputSource(new ScriptedInput().add(InputSource.MOVE_RIGHT, 1));
+        assertEquals(Simulation.RUNNING, simulation.tick(TICK_LENGTH));
+        assertTrue(simulation.getPlayer().getData().getPosition().x > x);
+        assertEquals(1, simulation.getOpponentController().getOpponentCount());
+        assertEquals(1, simulation.getTickCount());
+    }
+
+    /**
+     * Test that the match is won at the winning score.
+     */
+    @Test
+    public void testWon() {
+        simulation.getPlayer().setScore(Simulation.PLAYER_WIN_AT_SCORE);
+        assertEquals(Simulation.WON, simulation.tick(TICK_LENGTH));
+    }
+
+    /**
+     * Test that the match is lost when a bigger opponent hits the player.
+     */
+    @Test
+    public void testLost() {
+        Moveable data = new Moveable();
+        Vector position = simulation.getPlayer().getData().getPosition();
+        data.setPosition(new Vector(position.x - 42, position.y - 42));
+        data.setDimensions(new Vector(100, 100));
+        simulation.getOpponentController().addOpponent(new LinearOpponent(data, false));
+        assertEquals(Simulation.LOST, simulation.tick(TICK_LENGTH));
+    }
+
+    /**
+     * Test that reset clears the match.
+     */
+    @Test
+    public void testReset() {
+        simulation.tick(TICK_LENGTH);
+        simulation.reset();
+        simulation.getOpponentController().updateOpponents(null, 0);
+        assertEquals(0, simulation.getOpponentController().getOpponentCount());
+        assertEquals(0, simulation.getTickCount());
+    }
+
+    /**
+     * Test that the same seed and the same input play the same match.
+     */
+    @Test
+    public void testDeterministic() {
+        Simulation first = new Simulation(false, 42);
+        Simulation second = new Simulation(false, 42);
+        first.getPlayer().setInputSource(new BotInput(first.getPlayer(), first.getOpponentController()));
+        second.getPlayer().setInputSource(new BotInput(second.getPlayer(), second.getOpponentController()));
+        for (int i = 0; i < 2000; i++) {
+            int outcome = first.tick(TICK_LENGTH);
+            assertEquals(outcome, second.tick(TICK_LENGTH));
+            assertEquals(first.getPlayer().getData().getPosition(), second.getPlayer().getData().getPosition());
+            assertEquals(first.getPlayer().getScore(), second.getPlayer().getScore());
+            assertEquals(first.getOpponentController().getOpponentCount(),
+                    second.getOpponentController().getOpponentCount());
+            if (outcome != Simulation.RUNNING) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Test that a reset with a seed plays the same match as a new Simulation with that seed.
+     */
+    @Test
+    public void testResetWithSeed() {
+        Simulation fresh = new Simulation(false, 7);
+        simulation.getPlayer().setInputSource(new BotInput(simulation.getPlayer(), simulation.getOpponentController()));
+        for (int i = 0; i < 500; i++) {
+            simulation.tick(TICK_LENGTH);
+        }
+        simulation.reset(7);
+        assertEquals(7, simulation.getSeed());
+        fresh.getPlayer().setInputSource(new BotInput(fresh.getPlayer(), fresh.getOpponentController()));
+        for (int i = 0; i < 1000; i++) {
+            int outcome = fresh.tick(TICK_LENGTH);
+            assertEquals(outcome, simulation.tick(TICK_LENGTH));
+            assertEquals(fresh.getPlayer().getData().getPosition(), simulation.getPlayer().getData().getPosition());
+            assertEquals(fresh.getPlayer().getScore(), simulation.getPlayer().getScore());
+            if (outcome != Simulation.RUNNING) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Test that the runner stops a match at the tick limit.
+     */
+    @Test
+    public void testRunMatch() {
+        SimulationRunner runner = new SimulationRunner(1);
+        int outcome = runner.runMatch(100);
+        assertTrue(runner.getTicks() > 0 && runner.getTicks() <= 100);
+        if (runner.getTicks() < 100) {
+            assertTrue(outcome == Simulation.WON || outcome == Simulation.LOST);
+        }
+    }
+}
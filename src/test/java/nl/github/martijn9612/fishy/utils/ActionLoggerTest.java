@@ -0,0 +1,249 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for ActionLogger.
+ */
+public class ActionLoggerTest extends TestCase {
+
+    private static final Pattern DROPPED = Pattern.compile(".* - (\\d+) log lines dropped - ActionLogger");
+    private static final Pattern LINE = Pattern.compile("\\[ [0-9: .-]+\\] - line (\\d+) - Test");
+    private File file;
+
+    /**
+     * Creates a temporary log file.
+     */
+    @Override
+    public void setUp() throws IOException {
+        file = File.createTempFile("actionlogger", ".txt");
+        file.deleteOnExit();
+    }
+
+    /**
+     * Deletes the rolled over log files.
+     */
+    @Override
+    public void tearDown() {
+        for (int i = 1; i < ActionLogger.DEFAULT_FILES; i++) {
+            new File(file.getPath() + "." + i).delete();
+        }
+    }
+
+    /**
+     * Test that the lines are written in order and in the log format after
+     * a flush, the open log file is padded with zeros.
+     */
+    @Test
+    public void testFlush() throws IOException {
+        ActionLogger logger = new ActionLogger(file, 16, ActionLogger.OVERFLOW_BLOCK);
+        for (int i = 0; i < 1000; i++) {
+            logger.logLine("line " + i, "Test", i == 999);
+        }
+        logger.flush();
+        assertEquals(ActionLogger.DEFAULT_SEGMENT_SIZE, file.length());
+        String text = new String(Files.readAllBytes(file.toPath()), "UTF-8");
+        List<String> lines = Arrays.asList(text.substring(0, text.indexOf('\0')).split("\n"));
+        assertEquals(1000, lines.size());
+        assertTrue(lines.get(0).matches("\\[ \\d{4}-\\d{2}-\\d{2} [0-9:.]+\\] - line 0 - Test"));
+        assertTrue(lines.get(999).startsWith("[ERROR!][ "));
+        assertTrue(lines.get(999).endsWith(" - line 999 - Test"));
+        logger.close();
+    }
+
+    /**
+     * Test that the old log is overwritten and lines logged after closing are ignored.
+     */
+    @Test
+    public void testClose() throws IOException {
+        Files.write(file.toPath(), "old log\n".getBytes("UTF-8"));
+        ActionLogger logger = new ActionLogger(file, 16, ActionLogger.OVERFLOW_BLOCK);
+        logger.logLine("new log", "Test");
+        logger.close();
+        logger.logLine("too late", "Test");
+        List<String> lines = read();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("new log"));
+    }
+
+    /**
+     * Test that every line is either written or counted as dropped.
+     */
+    @Test
+    public void testDrop() throws IOException {
+        checkAccounted(ActionLogger.OVERFLOW_DROP);
+    }
+
+    /**
+     * Test that every line is either written or counted as dropped when sampling.
+     */
+    @Test
+    public void testSample() throws IOException {
+        checkAccounted(ActionLogger.OVERFLOW_SAMPLE);
+    }
+
+    /**
+     * Test that lines below the threshold are skipped and per-class thresholds win.
+     */
+    @Test
+    public void testLevels() throws IOException {
+        ActionLogger logger = new ActionLogger(file, 16, ActionLogger.OVERFLOW_BLOCK);
+        assertEquals(ActionLogger.INFO, logger.getLevel());
+        logger.log(ActionLogger.DEBUG, "Test", "skipped");
+        logger.log(ActionLogger.WARN, "Test", "size {} of {}", 3, "fish");
+        logger.setLevel("Noisy", ActionLogger.TRACE);
+        logger.log(ActionLogger.TRACE, "Noisy", "trace {}", 1);
+        logger.setLevel(ActionLogger.ERROR);
+        logger.logLine("skipped", "Test");
+        logger.logLine("error", "Test", true);
+        logger.setLevel("Noisy", -1);
+        logger.log(ActionLogger.TRACE, "Noisy", "skipped");
+        logger.close();
+        List<String> lines = read();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).endsWith(" - size 3 of fish - Test"));
+        assertTrue(lines.get(1).endsWith(" - trace 1 - Noisy"));
+        assertTrue(lines.get(2).startsWith("[ERROR!]"));
+    }
+
+    /**
+     * Test that whole numbers are written without a fraction.
+     */
+    @Test
+    public void testFormatNumber() {
+        assertEquals("1", ActionLogger.formatNumber(1));
+        assertEquals("-42", ActionLogger.formatNumber(-42L));
+        assertEquals("12.5", ActionLogger.formatNumber(12.5));
+        assertEquals("1.0E20", ActionLogger.formatNumber(1e20));
+        assertEquals("NaN", ActionLogger.formatNumber(Double.NaN));
+    }
+
+    /**
+     * Test that a supplier is only called when the level is enabled.
+     */
+    @Test
+    public void testSupplier() {
+        ActionLogger logger = new ActionLogger(file, 16, ActionLogger.OVERFLOW_BLOCK);
+        final int[] calls = new int[1];
+        Supplier<String> message = new Supplier<String>() {
+            public String get() {
+                calls[0]++;
+                return "built";
+            }
+        };
+        logger.log(ActionLogger.DEBUG, "Test", message);
+        assertEquals(0, calls[0]);
+        logger.log(ActionLogger.INFO, "Test", message);
+        assertEquals(1, calls[0]);
+        logger.close();
+    }
+
+    /**
+     * Test that the thresholds are read from a configuration text.
+     */
+    @Test
+    public void testConfigure() {
+        ActionLogger logger = new ActionLogger(file, 16, ActionLogger.OVERFLOW_BLOCK);
+        logger.configure("warn, Player = debug ,OpponentController=OFF");
+        assertEquals(ActionLogger.WARN, logger.getLevel());
+        assertTrue(logger.isEnabled(ActionLogger.DEBUG, "Player"));
+        assertFalse(logger.isEnabled(ActionLogger.INFO, "Test"));
+        assertFalse(logger.isEnabled(ActionLogger.ERROR, "OpponentController"));
+        assertEquals("DEBUG", ActionLogger.getLevelName(ActionLogger.DEBUG));
+        try {
+            logger.configure("LOUD");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+        logger.close();
+    }
+
+    /**
+     * Test that an unknown level in the system property is skipped instead
+     * of stopping the logger from being created.
+     */
+    @Test
+    public void testConfigureProperty() {
+        System.setProperty(ActionLogger.CONFIG_PROPERTY, "LOUD,Player=DEBUG,Test=QUIET");
+        try {
+            ActionLogger logger = new ActionLogger(file, 16, ActionLogger.OVERFLOW_BLOCK);
+            assertEquals(ActionLogger.INFO, logger.getLevel());
+            assertTrue(logger.isEnabled(ActionLogger.DEBUG, "Player"));
+            assertFalse(logger.isEnabled(ActionLogger.DEBUG, "Test"));
+            logger.close();
+        } finally {
+            System.clearProperty(ActionLogger.CONFIG_PROPERTY);
+        }
+    }
+
+    /**
+     * Test that the log is rolled over between lines and only the newest files are kept.
+     */
+    @Test
+    public void testRollOver() throws IOException {
+        ActionLogger logger = new ActionLogger(file, 16, ActionLogger.OVERFLOW_BLOCK, false, 1024, 3);
+        for (int i = 0; i < 500; i++) {
+            logger.logLine("line " + i, "Test");
+        }
+        logger.close();
+        assertFalse(new File(file.getPath() + ".3").exists());
+        int previous = Integer.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            File part = new File(i == 0 ? file.getPath() : file.getPath() + "." + i);
+            assertTrue(part.length() <= 1024);
+            List<String> lines = Files.readAllLines(part.toPath(), Charset.forName("UTF-8"));
+            assertFalse(lines.isEmpty());
+            for (int j = lines.size() - 1; j >= 0; j--) {
+                Matcher matcher = LINE.matcher(lines.get(j));
+                assertTrue(lines.get(j), matcher.matches());
+                int number = Integer.parseInt(matcher.group(1));
+                assertEquals(previous == Integer.MAX_VALUE ? 499 : previous - 1, number);
+                previous = number;
+            }
+        }
+    }
+
+    /**
+     * Test that unknown overflow policies are rejected.
+     */
+    @Test
+    public void testUnknownPolicy() {
+        try {
+            new ActionLogger(file, 16, 3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    private void checkAccounted(int overflowPolicy) throws IOException {
+        ActionLogger logger = new ActionLogger(file, 2, overflowPolicy);
+        for (int i = 0; i < 5000; i++) {
+            logger.logLine("line " + i, "Test");
+        }
+        logger.close();
+        long accounted = logger.getDroppedCount();
+        for (String line : read()) {
+            Matcher matcher = DROPPED.matcher(line);
+            accounted += matcher.matches() ? Long.parseLong(matcher.group(1)) : 1;
+        }
+        assertEquals(5000, accounted);
+    }
+
+    private List<String> read() throws IOException {
+        return Files.readAllLines(file.toPath(), Charset.forName("UTF-8"));
+    }
+}
@@ -0,0 +1,142 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for AtlasPacker, AtlasRegion and the index of SpriteAtlas.
+ */
+public class AtlasPackerTest extends TestCase {
+
+    private File resourceDirectory;
+    private File atlasDirectory;
+    private AtlasPacker packer = new AtlasPacker();
+
+    /**
+     * Setup before execution.
+     * @throws IOException - when the temporary folders can't be created.
+     */
+    @Override
+    protected void setUp() throws IOException {
+        File root = Files.createTempDirectory("fishy-atlas").toFile();
+        resourceDirectory = new File(root, "resources");
+        atlasDirectory = new File(root, "atlas");
+        assertTrue(resourceDirectory.mkdirs());
+        writeSprite("small.png", 16, 16);
+        writeSprite("button.gif", 350, 150);
+        writeSprite("large.png", 1024, 768);
+        writeSprite("background.jpg", 64, 64);
+    }
+
+    /**
+     * Writes a sprite of the given size to the resource folder.
+     * @param name - file name of the sprite.
+     * @param width - width of the sprite.
+     * @param height - height of the sprite.
+     * @throws IOException - when the sprite can't be written.
+     */
+    private void writeSprite(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        String format = name.substring(name.lastIndexOf('.') + 1);
+        ImageIO.write(image, format, new File(resourceDirectory, name));
+    }
+
+    /**
+     * Test that all sprites except backgrounds are packed without overlap.
+     * @throws IOException - when the atlas can't be packed.
+     */
+    @Test
+    public void testPack() throws IOException {
+        List<AtlasRegion> regions = packer.pack(resourceDirectory, atlasDirectory);
+        assertEquals(3, regions.size());
+        for (AtlasRegion region : regions) {
+            assertTrue(region.getResource().endsWith(".png") || region.getResource().endsWith(".gif"));
+            assertTrue(region.getX() + region.getWidth() <= AtlasPacker.PAGE_SIZE);
+            assertTrue(region.getY() + region.getHeight() <= AtlasPacker.PAGE_SIZE);
+            for (AtlasRegion other : regions) {
+                assertTrue(region == other || !region.overlaps(other));
+            }
+        }
+        assertTrue(AtlasPacker.getPageFile(atlasDirectory, 0).isFile());
+    }
+
+    /**
+     * Test that large sprites are scaled down and small sprites keep their size.
+     * @throws IOException - when the atlas can't be packed.
+     */
+    @Test
+    public void testSpriteSizeIsLimited() throws IOException {
+        List<AtlasRegion> regions = packer.pack(resourceDirectory, atlasDirectory);
+        for (AtlasRegion region : regions) {
+            if (region.getResource().endsWith("large.png")) {
+                assertEquals(AtlasPacker.MAX_SPRITE_SIZE, region.getWidth());
+                assertEquals(384, region.getHeight());
+            } else if (region.getResource().endsWith("button.gif")) {
+                assertEquals(350, region.getWidth());
+                assertEquals(150, region.getHeight());
+            }
+        }
+    }
+
+    /**
+     * Test that the atlas is only packed again when it's out of date.
+     * @throws IOException - when the atlas can't be packed.
+     */
+    @Test
+    public void testIsOutdated() throws IOException {
+        assertTrue(packer.isOutdated(resourceDirectory, atlasDirectory));
+        packer.pack(resourceDirectory, atlasDirectory);
+        File index = new File(atlasDirectory, AtlasPacker.INDEX_FILE);
+        assertTrue(index.setLastModified(System.currentTimeMillis() + 10000));
+        assertFalse(packer.isOutdated(resourceDirectory, atlasDirectory));
+    }
+
+    /**
+     * Test that SpriteAtlas resolves resource paths through the index.
+     */
+    @Test
+    public void testSpriteAtlasIndex() {
+        SpriteAtlas atlas = new SpriteAtlas(resourceDirectory, atlasDirectory);
+        String prefix = resourceDirectory.getPath().replace('\\', '/') + "/";
+        assertTrue(atlas.contains(prefix + "small.png"));
+        assertFalse(atlas.contains(prefix + "background.jpg"));
+        assertEquals(16, atlas.getRegion(prefix + "small.png").getWidth());
+    }
+
+    /**
+     * Test that a region survives being written to and read from the index.
+     */
+    @Test
+    public void testIndexLine() {
+        AtlasRegion region = new AtlasRegion("resources/squid.png", 1, 2, 3, 4, 5);
+        AtlasRegion read = AtlasRegion.fromIndexLine(region.toIndexLine());
+        assertEquals(region.getResource(), read.getResource());
+        assertEquals(1, read.getPage());
+        assertEquals(2, read.getX());
+        assertEquals(3, read.getY());
+        assertEquals(4, read.getWidth());
+        assertEquals(5, read.getHeight());
+    }
+
+    /**
+     * Test that the sprites of the game fit on a single atlas page.
+     * @throws IOException - when the atlas can't be packed.
+     */
+    @Test
+    public void testGameSpritesFitOnePage() throws IOException {
+        List<AtlasRegion> regions = packer.pack(new File(AtlasPacker.RESOURCE_DIRECTORY),
+                atlasDirectory);
+        for (AtlasRegion region : regions) {
+            assertEquals(0, region.getPage());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package nl.github.martijn9612.fishy.utils;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for FixedTimestep.
+ */
+public class FixedTimestepTest extends TestCase {
+
+    private static final double EPSILON = 1e-6;
+
+    /**
+     * Test that a frame at the tick rate gives a single tick.
+     */
+    @Test
+    public void testOneTickPerFrame() {
+        FixedTimestep timestep = new FixedTimestep(50, 5);
+        assertEquals(1, timestep.advance(20));
+        assertEquals(0, timestep.getAccumulator(), EPSILON);
+        assertEquals(20, timestep.getTickLength(), EPSILON);
+    }
+
+    /**
+     * Test that whole millisecond tick lengths add up to the real time.
+     */
+    @Test
+    public void testNextTickLength() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+        assertEquals(17, timestep.nextTickLength());
+        assertEquals(16, timestep.nextTickLength());
+        assertEquals(17, timestep.nextTickLength());
+        long total = 50;
+        for (int i = 3; i < 600; i++) {
+            total += timestep.nextTickLength();
+        }
+        assertEquals(10000, total);
+        timestep.restart();
+        assertEquals(17, timestep.nextTickLength());
+    }
+
+    /**
+     * Test that time not filling a whole tick is carried over.
+     */
+    @Test
+    public void testRemainderCarriedOver() {
+        FixedTimestep timestep = new FixedTimestep(50, 5);
+        assertEquals(0, timestep.advance(15));
+        assertEquals(1, timestep.advance(15));
+        assertEquals(10, timestep.getAccumulator(), EPSILON);
+        assertEquals(2, timestep.advance(30));
+    }
+
+    /**
+     * Test that the number of ticks is independent of the frame rate.
+     */
+    @Test
+    public void testIndependentOfFrameRate() {
+        FixedTimestep fast = new FixedTimestep(50, 5);
+        FixedTimestep slow = new FixedTimestep(50, 5);
+        int fastTicks = 0;
+        int slowTicks = 0;
+        for (int i = 0; i < 120; i++) {
+            fastTicks += fast.advance(5);
+        }
+        for (int i = 0; i < 20; i++) {
+            slowTicks += slow.advance(30);
+        }
+        assertEquals(30, fastTicks);
+        assertEquals(30, slowTicks);
+    }
+
+    /**
+     * Test that the catch up after a stall is capped.
+     */
+    @Test
+    public void testCatchUpCapped() {
+        FixedTimestep timestep = new FixedTimestep(50, 3);
+        assertEquals(3, timestep.advance(1010));
+        assertEquals(10, timestep.getAccumulator(), EPSILON);
+        assertEquals(1, timestep.advance(10));
+    }
+
+    /**
+     * Test that reset drops the carried over time.
+     */
+    @Test
+    public void testReset() {
+        FixedTimestep timestep = new FixedTimestep(50, 3);
+        timestep.advance(19);
+        timestep.reset();
+        assertEquals(0, timestep.advance(19));
+    }
+
+    /**
+     * Test that invalid settings are rejected.
+     */
+    @Test
+    public void testInvalidSettings() {
+        try {
+            new FixedTimestep(0, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+}
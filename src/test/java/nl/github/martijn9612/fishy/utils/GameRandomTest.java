@@ -0,0 +1,78 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for GameRandom.
+ */
+public class GameRandomTest extends TestCase {
+
+    /**
+     * Test that the same seed gives the same numbers.
+     */
+    @Test
+    public void testSameSeed() {
+        Random first = new GameRandom(1234);
+        Random second = new GameRandom(1234);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.nextInt(100), second.nextInt(100));
+            assertEquals(first.nextBoolean(), second.nextBoolean());
+            assertEquals(first.nextDouble(), second.nextDouble());
+        }
+    }
+
+    /**
+     * Test that different seeds give different numbers.
+     */
+    @Test
+    public void testDifferentSeed() {
+        assertFalse(new GameRandom(1).nextLong() == new GameRandom(2).nextLong());
+    }
+
+    /**
+     * Test that setSeed restarts the stream.
+     */
+    @Test
+    public void testSetSeed() {
+        GameRandom random = new GameRandom(5);
+        long first = random.nextLong();
+        random.setSeed(5);
+        assertEquals(first, random.nextLong());
+    }
+
+    /**
+     * Test that split streams are reproducible and differ from each other.
+     */
+    @Test
+    public void testSplit() {
+        GameRandom first = new GameRandom(99);
+        GameRandom second = new GameRandom(99);
+        GameRandom firstSplit = first.split();
+        GameRandom secondSplit = second.split();
+        assertEquals(firstSplit.nextLong(), secondSplit.nextLong());
+        assertFalse(first.split().nextLong() == firstSplit.nextLong());
+    }
+
+    /**
+     * Test that the bounded methods stay in their range and cover it.
+     */
+    @Test
+    public void testRanges() {
+        Random random = new GameRandom(7);
+        boolean[] seen = new boolean[10];
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt(10);
+            assertTrue(value >= 0 && value < 10);
+            seen[value] = true;
+            double fraction = random.nextDouble();
+            assertTrue(fraction >= 0 && fraction < 1);
+        }
+        for (boolean value : seen) {
+            assertTrue(value);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for the binary log of ActionLogger and LogDecoder.
+ */
+public class LogDecoderTest extends TestCase {
+
+    private File textFile;
+    private File binaryFile;
+
+    /**
+     * Creates temporary log files.
+     */
+    @Override
+    public void setUp() throws IOException {
+        textFile = File.createTempFile("actionlogger", ".txt");
+        textFile.deleteOnExit();
+        binaryFile = File.createTempFile("actionlogger", ".bin");
+        binaryFile.deleteOnExit();
+    }
+
+    /**
+     * Deletes the rolled over log files.
+     */
+    @Override
+    public void tearDown() {
+        for (int i = 1; i < ActionLogger.DEFAULT_FILES; i++) {
+            new File(textFile.getPath() + "." + i).delete();
+            new File(binaryFile.getPath() + "." + i).delete();
+        }
+    }
+
+    /**
+     * Test that the decoded binary log reads like the text log.
+     */
+    @Test
+    public void testDecodeLikeText() throws IOException {
+        ActionLogger text = new ActionLogger(textFile, 64, ActionLogger.OVERFLOW_BLOCK, false);
+        ActionLogger binary = new ActionLogger(binaryFile, 64, ActionLogger.OVERFLOW_BLOCK, true);
+        for (ActionLogger logger : Arrays.asList(text, binary)) {
+            logger.logLine("Entering LevelState", "LevelState");
+            for (int i = 0; i < 100; i++) {
+                logger.log(ActionLogger.WARN, "OpponentController", "Player collides with opponent of size {}", i);
+                logger.log(ActionLogger.WARN, "Player", "Moved from {} to {}", i, i + 1);
+            }
+            logger.log(ActionLogger.WARN, "PowerupController", "Player collides with powerup {}", "Shield");
+            logger.logLine("Player lost the game", "OpponentController", true);
+            logger.close();
+        }
+        List<String> expected = Files.readAllLines(textFile.toPath(), Charset.forName("UTF-8"));
+        LogDecoder decoder = new LogDecoder(new ByteArrayInputStream(Files.readAllBytes(binaryFile.toPath())));
+        for (String line : expected) {
+            assertTrue(decoder.next());
+            String decoded = decoder.formatLine();
+            assertEquals(stripTime(line), stripTime(decoded.substring(0, decoded.length() - 1)));
+        }
+        assertFalse(decoder.next());
+        assertFalse(decoder.isTruncated());
+        assertTrue(binaryFile.length() < textFile.length());
+    }
+
+    /**
+     * Test that the fields of an event are decoded.
+     */
+    @Test
+    public void testFields() throws IOException {
+        ActionLogger binary = new ActionLogger(binaryFile, 64, ActionLogger.OVERFLOW_BLOCK, true);
+        long before = System.currentTimeMillis();
+        binary.log(ActionLogger.ERROR, "Player", "Player score is {}", 12.5);
+        binary.close();
+        LogDecoder decoder = new LogDecoder(new ByteArrayInputStream(Files.readAllBytes(binaryFile.toPath())));
+        assertTrue(decoder.next());
+        assertEquals(ActionLogger.ERROR, decoder.getLevel());
+        assertEquals("Player", decoder.getClassName());
+        assertEquals("Player score is 12.5", decoder.getText());
+        assertTrue(Math.abs(decoder.getTime() - before) < 1000);
+        assertTrue(decoder.formatLine().startsWith("[ERROR!]"));
+    }
+
+    /**
+     * Test that a record cut off at the end ends the log.
+     */
+    @Test
+    public void testTruncated() throws IOException {
+        ActionLogger binary = new ActionLogger(binaryFile, 64, ActionLogger.OVERFLOW_BLOCK, true);
+        binary.logLine("first", "Test");
+        binary.logLine("second", "Test");
+        binary.close();
+        byte[] bytes = Files.readAllBytes(binaryFile.toPath());
+        LogDecoder decoder = new LogDecoder(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 5)));
+        assertTrue(decoder.next());
+        assertEquals("first", decoder.getText());
+        assertFalse(decoder.next());
+        assertTrue(decoder.isTruncated());
+    }
+
+    /**
+     * Test that every rolled over binary log file can be decoded on its own.
+     */
+    @Test
+    public void testRollOver() throws IOException {
+        ActionLogger binary = new ActionLogger(binaryFile, 16, ActionLogger.OVERFLOW_BLOCK, true, 512, 10);
+        for (int i = 0; i < 100; i++) {
+            binary.log(ActionLogger.INFO, "Player", "Player score is {}", i);
+        }
+        binary.close();
+        int expected = 99;
+        for (int i = 0; expected >= 0; i++) {
+            File part = new File(i == 0 ? binaryFile.getPath() : binaryFile.getPath() + "." + i);
+            assertTrue(part.length() <= 512);
+            LogDecoder decoder = new LogDecoder(new ByteArrayInputStream(Files.readAllBytes(part.toPath())));
+            List<String> texts = new ArrayList<String>();
+            while (decoder.next()) {
+                texts.add(decoder.getText());
+            }
+            assertFalse(decoder.isTruncated());
+            assertFalse(texts.isEmpty());
+            for (int j = texts.size() - 1; j >= 0; j--) {
+                assertEquals("Player score is " + expected, texts.get(j));
+                expected--;
+            }
+        }
+    }
+
+    /**
+     * Test that a file that isn't a binary log is rejected.
+     */
+    @Test
+    public void testBadMagic() {
+        try {
+            new LogDecoder(new ByteArrayInputStream("[ 2016-01-01] - text".getBytes()));
+            fail();
+        } catch (IOException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    private static String stripTime(String line) {
+        return line.replaceFirst("\\[ [^\\]]*\\]", "[ ]");
+    }
+}
@@ -0,0 +1,106 @@
+package nl.github.martijn9612.fishy.utils;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for LogRingBuffer.
+ */
+public class LogRingBufferTest extends TestCase {
+
+    /**
+     * Test that the capacity is rounded up to a power of two and a full buffer refuses events.
+     */
+    @Test
+    public void testFull() {
+        LogRingBuffer buffer = new LogRingBuffer(3);
+        assertEquals(4, buffer.getCapacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(offer(buffer, i, ActionLogger.INFO, "line " + i));
+        }
+        assertNull(buffer.claim());
+        assertEquals("line 0", buffer.peek().getText());
+        buffer.advance();
+        assertTrue(offer(buffer, 4, ActionLogger.ERROR, "line 4"));
+    }
+
+    /**
+     * Test that events come out in order while the buffer wraps around.
+     */
+    @Test
+    public void testWrapAround() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        assertNull(buffer.peek());
+        for (int i = 0; i < 10; i++) {
+            assertNull(buffer.peek());
+            LogRingBuffer.LogEvent claimed = buffer.claim();
+            claimed.set(i, i % ActionLogger.OFF, "Test", "line {}").setArgument(0, i);
+            assertNull(buffer.peek());
+            buffer.publish(claimed);
+            LogRingBuffer.LogEvent event = buffer.peek();
+            assertEquals(i, event.getNanoTime());
+            assertEquals(LogRingBuffer.ARG_NUMBER, event.getArgumentKind(0));
+            assertEquals(LogRingBuffer.ARG_NONE, event.getArgumentKind(1));
+            assertEquals((double) i, event.getNumber(0));
+            assertEquals("Test", event.getClassName());
+            assertEquals(i % ActionLogger.OFF, event.getLevel());
+            buffer.advance();
+            assertNull(buffer.peek());
+        }
+        assertEquals(10, buffer.getHead());
+        assertEquals(10, buffer.getTail());
+    }
+
+    /**
+     * Test that events of several producer threads all arrive once, in order per thread.
+     */
+    @Test
+    public void testProducers() throws InterruptedException {
+        final LogRingBuffer buffer = new LogRingBuffer(64);
+        final int perThread = 20000;
+        Thread[] producers = new Thread[3];
+        for (int t = 0; t < producers.length; t++) {
+            final String name = "producer" + t;
+            producers[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < perThread; i++) {
+                        LogRingBuffer.LogEvent event;
+                        while ((event = buffer.claim()) == null) {
+                            Thread.yield();
+                        }
+                        buffer.publish(event.set(i, ActionLogger.INFO, name, null));
+                    }
+                }
+            });
+            producers[t].start();
+        }
+        long[] next = new long[producers.length];
+        int received = 0;
+        while (received < perThread * producers.length) {
+            LogRingBuffer.LogEvent event = buffer.peek();
+            if (event == null) {
+                Thread.yield();
+                continue;
+            }
+            int producer = event.getClassName().charAt("producer".length()) - '0';
+            assertEquals(next[producer], event.getNanoTime());
+            next[producer]++;
+            buffer.advance();
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(buffer.peek());
+    }
+
+    private static boolean offer(LogRingBuffer buffer, long time, int level, String text) {
+        LogRingBuffer.LogEvent event = buffer.claim();
+        if (event == null) {
+            return false;
+        }
+        buffer.publish(event.set(time, level, "Test", text));
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package nl.github.martijn9612.fishy.utils;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for ObjectPool.
+ */
+public class ObjectPoolTest extends TestCase {
+
+    /**
+     * Test that an empty pool misses and a released object is handed out again.
+     */
+    @Test
+    public void testAcquireRelease() {
+        ObjectPool<Object> pool = new ObjectPool<Object>();
+        assertNull(pool.acquire());
+        Object object = new Object();
+        assertTrue(pool.release(object));
+        assertEquals(1, pool.size());
+        assertSame(object, pool.acquire());
+        assertEquals(0, pool.size());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+    }
+
+    /**
+     * Test that objects released to a full pool are dropped.
+     */
+    @Test
+    public void testMaxSize() {
+        ObjectPool<Object> pool = new ObjectPool<Object>(2);
+        assertTrue(pool.release(new Object()));
+        assertTrue(pool.release(new Object()));
+        assertFalse(pool.release(new Object()));
+        assertFalse(pool.release(null));
+        assertEquals(2, pool.size());
+        pool.clear();
+        assertEquals(0, pool.size());
+    }
+
+    /**
+     * Test that a pool without room is rejected.
+     */
+    @Test
+    public void testInvalidSize() {
+        try {
+            new ObjectPool<Object>(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+}
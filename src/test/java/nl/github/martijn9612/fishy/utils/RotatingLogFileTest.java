@@ -0,0 +1,121 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for RotatingLogFile.
+ */
+public class RotatingLogFileTest extends TestCase {
+
+    private File file;
+
+    /**
+     * Creates a temporary log file.
+     */
+    @Override
+    public void setUp() throws IOException {
+        file = File.createTempFile("rotating", ".txt");
+    }
+
+    /**
+     * Deletes the log files.
+     */
+    @Override
+    public void tearDown() {
+        for (int i = 0; i < 4; i++) {
+            new File(i == 0 ? file.getPath() : file.getPath() + "." + i).delete();
+        }
+    }
+
+    /**
+     * Test that a closed file holds exactly the written bytes.
+     */
+    @Test
+    public void testWrite() throws IOException {
+        RotatingLogFile log = new RotatingLogFile(file, 64, 3);
+        assertEquals(64, file.length());
+        log.write(ByteBuffer.wrap("hello ".getBytes("UTF-8")));
+        log.write(ByteBuffer.wrap("world".getBytes("UTF-8")));
+        assertEquals(53, log.remaining());
+        log.close();
+        assertEquals("hello world", new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+    }
+
+    /**
+     * Test that writes past the end of a segment continue in the next file
+     * and only the newest files are kept.
+     */
+    @Test
+    public void testRollOver() throws IOException {
+        RotatingLogFile log = new RotatingLogFile(file, 4, 3);
+        log.write(ByteBuffer.wrap("aaaabbbbccccdd".getBytes("UTF-8")));
+        log.close();
+        assertEquals("dd", read(log.getFile(0)));
+        assertEquals("cccc", read(log.getFile(1)));
+        assertEquals("bbbb", read(log.getFile(2)));
+        assertFalse(log.getFile(3).exists());
+    }
+
+    /**
+     * Test that the zero padding of files that weren't closed is cut off.
+     */
+    @Test
+    public void testTrimsPadding() throws IOException {
+        Files.write(file.toPath(), "old\n\0\0\0\0\0\0".getBytes("UTF-8"));
+        Files.write(new File(file.getPath() + ".1").toPath(), new byte[100]);
+        RotatingLogFile log = new RotatingLogFile(file, 16, 3);
+        log.close();
+        assertEquals("old\n", read(log.getFile(1)));
+        assertEquals(0, log.getFile(2).length());
+    }
+
+    /**
+     * Test that some zeros are kept after the data when asked.
+     */
+    @Test
+    public void testKeptPadding() throws IOException {
+        Files.write(file.toPath(), new byte[] {1, 0, 2, 0, 0, 0, 0, 0, 0, 0});
+        RotatingLogFile log = new RotatingLogFile(file, 16, 2, 2);
+        log.close();
+        assertEquals(5, log.getFile(1).length());
+    }
+
+    /**
+     * Test that the log of the previous session is kept.
+     */
+    @Test
+    public void testKeepsPrevious() throws IOException {
+        Files.write(file.toPath(), "old".getBytes("UTF-8"));
+        RotatingLogFile log = new RotatingLogFile(file, 16, 2);
+        log.write(ByteBuffer.wrap("new".getBytes("UTF-8")));
+        log.roll();
+        log.close();
+        assertEquals("", read(log.getFile(0)));
+        assertEquals("new", read(log.getFile(1)));
+        assertFalse(log.getFile(2).exists());
+    }
+
+    /**
+     * Test that sizes that aren't positive are rejected.
+     */
+    @Test
+    public void testInvalid() throws IOException {
+        try {
+            new RotatingLogFile(file, 0, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    private static String read(File logFile) throws IOException {
+        return new String(Files.readAllBytes(logFile.toPath()), "UTF-8");
+    }
+}
@@ -0,0 +1,114 @@
+package nl.github.martijn9612.fishy.utils;
+
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.newdawn.slick.Image;
+
+import junit.framework.TestCase;
+import nl.github.martijn9612.fishy.models.Entity;
+
+/**
+ * Test class for ScaledImageCache.
+ */
+public class ScaledImageCacheTest extends TestCase {
+
+    private static final String RESOURCE = "resources/squid.png";
+    private ScaledImageCache cache;
+    private Image original;
+
+    /**
+     * Setup before execution.
+     */
+    @Override
+    protected void setUp() {
+        cache = new ScaledImageCache(2);
+        original = createImage();
+    }
+
+    /**
+     * Creates an Image mock of which scaled and flipped copies are new mocks.
+     * @return Image mock.
+     */
+    private static Image createImage() {
+        Image image = mock(Image.class);
+        Answer<Image> copy = new Answer<Image>() {
+            public Image answer(InvocationOnMock invocation) {
+                return createImage();
+            }
+        };
+        when(image.getScaledCopy(anyInt(), anyInt())).thenAnswer(copy);
+        when(image.getFlippedCopy(anyBoolean(), anyBoolean())).thenAnswer(copy);
+        return image;
+    }
+
+    /**
+     * Test that entities of the same size share one scaled copy.
+     */
+    @Test
+    public void testSameSizeIsShared() {
+        Image first = cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        Image second = cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        assertSame(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    /**
+     * Test that sizes within the same bucket share one scaled copy.
+     */
+    @Test
+    public void testSizeIsQuantized() {
+        assertEquals(20, ScaledImageCache.quantize(20.4f));
+        assertEquals(ScaledImageCache.SIZE_BUCKET, ScaledImageCache.quantize(0));
+        Image first = cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        Image second = cache.getScaledImage(RESOURCE, original, 20.4f, 19.6f,
+                Entity.IMAGE_ORIENTATE_LEFT);
+        assertSame(first, second);
+        verify(original).getScaledCopy(20, 20);
+    }
+
+    /**
+     * Test that the orientation is part of the key.
+     */
+    @Test
+    public void testOrientationIsSeparate() {
+        Image left = cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        Image right = cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_RIGHT);
+        assertNotNull(right);
+        assertNotSame(left, right);
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * Test that the least recently used copy is evicted.
+     */
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        Image first = cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        cache.getScaledImage(RESOURCE, original, 30, 30, Entity.IMAGE_ORIENTATE_LEFT);
+        cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        cache.getScaledImage(RESOURCE, original, 40, 40, Entity.IMAGE_ORIENTATE_LEFT);
+        assertEquals(2, cache.size());
+        assertSame(first, cache.getScaledImage(RESOURCE, original, 20, 20,
+                Entity.IMAGE_ORIENTATE_LEFT));
+        assertEquals(3, cache.getMisses());
+    }
+
+    /**
+     * Test that all copies of a resource are removed by evict.
+     */
+    @Test
+    public void testEvict() {
+        cache.getScaledImage(RESOURCE, original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        cache.getScaledImage("resources/whale.png", original, 20, 20, Entity.IMAGE_ORIENTATE_LEFT);
+        cache.evict(RESOURCE);
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,101 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for SpatialHashGrid.
+ */
+public class SpatialHashGridTest extends TestCase {
+
+    private SpatialHashGrid<String> grid = new SpatialHashGrid<String>(10, 64);
+    private List<String> result = new ArrayList<String>();
+
+    /**
+     * Test that an item is found in the area it covers and not far away.
+     */
+    @Test
+    public void testQuery() {
+        grid.insert("fish", 12, 12, 18, 18);
+        assertTrue(grid.query(15, 15, 16, 16, result).contains("fish"));
+        assertTrue(grid.query(100, 100, 110, 110, result).isEmpty());
+        assertEquals(1, grid.size());
+    }
+
+    /**
+     * Test that an item spanning several cells is returned once.
+     */
+    @Test
+    public void testItemReturnedOnce() {
+        grid.insert("whale", 0, 0, 45, 45);
+        grid.query(0, 0, 45, 45, result);
+        assertEquals(1, result.size());
+    }
+
+    /**
+     * Test that items left of and above the origin are found.
+     */
+    @Test
+    public void testNegativeCoordinates() {
+        grid.insert("fish", -25, -25, -15, -15);
+        assertTrue(grid.query(-20, -20, -19, -19, result).contains("fish"));
+        assertFalse(grid.query(5, 5, 6, 6, result).contains("fish"));
+    }
+
+    /**
+     * Test that areas covering more cells than there are buckets still work.
+     */
+    @Test
+    public void testLargeArea() {
+        grid.insert("fish", 500, 500, 505, 505);
+        grid.insert("whale", -1000, -1000, 1000, 1000);
+        assertEquals(2, grid.query(-1000, -1000, 1000, 1000, result).size());
+        assertTrue(grid.query(0, 0, 1, 1, result).contains("whale"));
+    }
+
+    /**
+     * Test that many items covering the same cells are each returned once,
+     * also after the grid was cleared and filled again.
+     */
+    @Test
+    public void testCrowdedCells() {
+        for (int round = 0; round < 2; round++) {
+            grid.clear();
+            for (int i = 0; i < 200; i++) {
+                grid.insert("fish" + i, i % 20, i % 20, 25 + i % 20, 25 + i % 20);
+            }
+            grid.query(0, 0, 50, 50, result);
+            assertEquals(200, result.size());
+            assertEquals(200, new HashSet<String>(result).size());
+        }
+    }
+
+    /**
+     * Test that clear removes all items.
+     */
+    @Test
+    public void testClear() {
+        grid.insert("fish", 12, 12, 18, 18);
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertTrue(grid.query(0, 0, 100, 100, result).isEmpty());
+    }
+
+    /**
+     * Test that a bucket count which isn't a power of two is rejected.
+     */
+    @Test
+    public void testInvalidBucketCount() {
+        try {
+            new SpatialHashGrid<String>(10, 100);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package nl.github.martijn9612.fishy.utils;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.opengl.Texture;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for SpriteBatch.
+ */
+public class SpriteBatchTest extends TestCase {
+
+    private SpriteBatch batch = new SpriteBatch();
+
+    /**
+     * Creates a mocked sprite using the texture with the given id.
+     * @param textureId - id of the texture of the sprite.
+     * @return mocked Image.
+     */
+    private Image createImage(int textureId) {
+        Texture texture = mock(Texture.class);
+        when(texture.getTextureID()).thenReturn(textureId);
+        Image image = mock(Image.class);
+        when(image.getTexture()).thenReturn(texture);
+        when(image.getWidth()).thenReturn(10);
+        when(image.getHeight()).thenReturn(20);
+        return image;
+    }
+
+    /**
+     * Test that sprites sharing a texture are drawn in a single batch.
+     */
+    @Test
+    public void testSingleTexture() {
+        Image first = createImage(1);
+        Image second = createImage(1);
+        batch.draw(first, 1, 2);
+        batch.draw(second, 3, 4);
+        assertEquals(2, batch.size());
+        batch.flush();
+        assertEquals(0, batch.size());
+        assertEquals(1, batch.getBatchCount());
+
+        InOrder order = inOrder(first, second);
+        order.verify(first).startUse();
+        order.verify(first).drawEmbedded(1, 2, 10, 20);
+        order.verify(second).drawEmbedded(3, 4, 10, 20);
+        order.verify(first).endUse();
+        verify(second, times(0)).startUse();
+    }
+
+    /**
+     * Test that sprites are grouped per texture, keeping their order within a texture.
+     */
+    @Test
+    public void testGroupedByTexture() {
+        Image first = createImage(2);
+        Image second = createImage(1);
+        Image third = createImage(2);
+        batch.draw(first, 0, 0);
+        batch.draw(second, 0, 0);
+        batch.draw(third, 5, 5);
+        batch.flush();
+        assertEquals(2, batch.getBatchCount());
+
+        InOrder order = inOrder(first, second, third);
+        order.verify(second).startUse();
+        order.verify(second).drawEmbedded(0, 0, 10, 20);
+        order.verify(second).endUse();
+        order.verify(first).startUse();
+        order.verify(first).drawEmbedded(0, 0, 10, 20);
+        order.verify(third).drawEmbedded(5, 5, 10, 20);
+        order.verify(first).endUse();
+    }
+
+    /**
+     * Test that the batch grows beyond its initial capacity.
+     */
+    @Test
+    public void testGrow() {
+        Image image = createImage(1);
+        for (int i = 0; i < 100; i++) {
+            batch.draw(image, i, i);
+        }
+        assertEquals(100, batch.size());
+        batch.flush();
+        assertEquals(1, batch.getBatchCount());
+        verify(image, times(1)).startUse();
+        verify(image).drawEmbedded(99, 99, 10, 20);
+    }
+
+    /**
+     * Test that flushing an empty batch draws nothing.
+     */
+    @Test
+    public void testEmptyFlush() {
+        batch.flush();
+        assertEquals(0, batch.getBatchCount());
+    }
+}
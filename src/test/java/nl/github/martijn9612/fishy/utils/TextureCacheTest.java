@@ -0,0 +1,134 @@
+package nl.github.martijn9612.fishy.utils;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.newdawn.slick.Image;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for TextureCache.
+ */
+public class TextureCacheTest extends TestCase {
+
+    private static final String RESOURCE = "resources/squid.png";
+    private TestTextureCache cache;
+
+    /**
+     * Setup before execution.
+     */
+    @Override
+    protected void setUp() {
+        cache = new TestTextureCache();
+    }
+
+    /**
+     * Test that a resource is only loaded once and shared afterwards.
+     * @throws Exception - when the texture can't be loaded.
+     */
+    @Test
+    public void testAcquireLoadsOnce() throws Exception {
+        Image first = cache.acquire(RESOURCE);
+        Image second = cache.acquire(RESOURCE);
+        assertSame(first, second);
+        assertEquals(1, cache.loaded.size());
+        assertEquals(2, cache.getReferenceCount(RESOURCE));
+    }
+
+    /**
+     * Test that a texture is kept as long as it has users.
+     * @throws Exception - when the texture can't be loaded.
+     */
+    @Test
+    public void testReleaseWithRemainingUsers() throws Exception {
+        cache.acquire(RESOURCE);
+        cache.acquire(RESOURCE);
+        cache.release(RESOURCE);
+        cache.releaseUnused();
+        assertTrue(cache.isLoaded(RESOURCE));
+        assertTrue(cache.destroyed.isEmpty());
+    }
+
+    /**
+     * Test that a texture is freed once the last user released it.
+     * @throws Exception - when the texture can't be loaded.
+     */
+    @Test
+    public void testReleaseLastUser() throws Exception {
+        Image texture = cache.acquire(RESOURCE);
+        cache.release(RESOURCE);
+        assertTrue(cache.isLoaded(RESOURCE));
+        cache.releaseUnused();
+        assertFalse(cache.isLoaded(RESOURCE));
+        assertEquals(1, cache.destroyed.size());
+        assertSame(texture, cache.destroyed.get(0));
+    }
+
+    /**
+     * Test that a texture acquired again before it was freed isn't reloaded.
+     * @throws Exception - when the texture can't be loaded.
+     */
+    @Test
+    public void testAcquireAfterRelease() throws Exception {
+        cache.acquire(RESOURCE);
+        cache.release(RESOURCE);
+        cache.acquire(RESOURCE);
+        cache.releaseUnused();
+        assertTrue(cache.isLoaded(RESOURCE));
+        assertEquals(1, cache.loaded.size());
+        assertTrue(cache.destroyed.isEmpty());
+    }
+
+    /**
+     * Test that the flipped texture is made once, when the resource is loaded.
+     * @throws Exception - when the texture can't be loaded.
+     */
+    @Test
+    public void testFlippedMadeOnLoad() throws Exception {
+        Image texture = cache.acquire(RESOURCE);
+        cache.acquire(RESOURCE);
+        Image flipped = cache.getFlipped(RESOURCE);
+        assertNotNull(flipped);
+        assertSame(flipped, cache.getFlipped(RESOURCE));
+        verify(texture, times(1)).getFlippedCopy(true, false);
+    }
+
+    /**
+     * Test that releasing an unused resource has no effect.
+     */
+    @Test
+    public void testReleaseUnknownResource() {
+        cache.release(RESOURCE);
+        cache.releaseUnused();
+        assertEquals(0, cache.getReferenceCount(RESOURCE));
+        assertTrue(cache.destroyed.isEmpty());
+    }
+
+    /**
+     * TextureCache that doesn't need an OpenGL context.
+     */
+    private static class TestTextureCache extends TextureCache {
+        private List<Image> loaded = new ArrayList<Image>();
+        private List<Image> destroyed = new ArrayList<Image>();
+
+        @Override
+        protected Image loadTexture(String resource) {
+            Image texture = mock(Image.class);
+            when(texture.getFlippedCopy(true, false)).thenReturn(mock(Image.class));
+            loaded.add(texture);
+            return texture;
+        }
+
+        @Override
+        protected void destroyTexture(Image texture) {
+            destroyed.add(texture);
+        }
+    }
+}
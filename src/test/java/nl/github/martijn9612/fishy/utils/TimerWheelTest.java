@@ -0,0 +1,152 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for TimerWheel.
+ */
+public class TimerWheelTest extends TestCase {
+
+    private final TimerWheel wheel = new TimerWheel();
+    private final List<Long> fired = new ArrayList<Long>();
+
+    /**
+     * Creates a task that records the time it ran at.
+     * @return the task.
+     */
+    private Runnable record() {
+        return new Runnable() {
+            public void run() {
+                fired.add(wheel.getTime());
+            }
+        };
+    }
+
+    /**
+     * Test that a timeout fires exactly at its deadline.
+     */
+    @Test
+    public void testFiresAtDeadline() {
+        wheel.schedule(record(), 10);
+        wheel.advance(9);
+        assertTrue(fired.isEmpty());
+        wheel.advance(1);
+        assertEquals(1, fired.size());
+        assertEquals(10L, (long) fired.get(0));
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    /**
+     * Test that a timeout without delay fires on the next advance.
+     */
+    @Test
+    public void testZeroDelay() {
+        wheel.schedule(record(), 0);
+        assertTrue(fired.isEmpty());
+        wheel.advance(16);
+        assertEquals(1, fired.size());
+    }
+
+    /**
+     * Test delays that are kept in the higher levels of the wheel.
+     */
+    @Test
+    public void testCascade() {
+        wheel.advance(37);
+        long[] delays = {63, 64, 65, 4095, 4096, 5000, 300000, 20000000};
+        for (long delay : delays) {
+            wheel.schedule(record(), delay);
+        }
+        wheel.advance(20000000);
+        assertEquals(delays.length, fired.size());
+        for (int i = 0; i < delays.length; i++) {
+            assertEquals(37 + delays[i], (long) fired.get(i));
+        }
+    }
+
+    /**
+     * Test delays that end exactly where a higher level wraps around, from
+     * the start of the wheel.
+     */
+    @Test
+    public void testCascadeFromStart() {
+        long[] delays = {64, 128, 4096, 8192, 262144};
+        for (long delay : delays) {
+            wheel.schedule(record(), delay);
+        }
+        wheel.advance(63);
+        assertTrue(fired.isEmpty());
+        wheel.advance(1);
+        assertEquals(1, fired.size());
+        wheel.advance(262144 - 64);
+        assertEquals(delays.length, fired.size());
+        for (int i = 0; i < delays.length; i++) {
+            assertEquals(delays[i], (long) fired.get(i));
+        }
+    }
+
+    /**
+     * Test that cancelled timeouts don't fire.
+     */
+    @Test
+    public void testCancel() {
+        TimerWheel.Timeout first = wheel.schedule(record(), 5);
+        TimerWheel.Timeout second = wheel.schedule(record(), 5);
+        assertTrue(first.isPending());
+        first.cancel();
+        first.cancel();
+        assertFalse(first.isPending());
+        wheel.advance(5);
+        assertEquals(1, fired.size());
+        assertFalse(second.isPending());
+    }
+
+    /**
+     * Test that scheduling a pending timeout again moves it.
+     */
+    @Test
+    public void testReschedule() {
+        TimerWheel.Timeout timeout = new TimerWheel.Timeout(record());
+        wheel.schedule(timeout, 100);
+        wheel.advance(50);
+        wheel.schedule(timeout, 100);
+        assertEquals(1, wheel.getPendingCount());
+        wheel.advance(99);
+        assertTrue(fired.isEmpty());
+        wheel.advance(1);
+        assertEquals(150L, (long) fired.get(0));
+    }
+
+    /**
+     * Test that a task can schedule a new timeout.
+     */
+    @Test
+    public void testScheduleFromTask() {
+        wheel.schedule(new Runnable() {
+            public void run() {
+                wheel.schedule(record(), 20);
+            }
+        }, 10);
+        wheel.advance(100);
+        assertEquals(30L, (long) fired.get(0));
+    }
+
+    /**
+     * Test that clear cancels all timeouts.
+     */
+    @Test
+    public void testClear() {
+        wheel.schedule(record(), 1);
+        wheel.schedule(record(), 1000);
+        wheel.schedule(record(), 100000);
+        wheel.clear();
+        assertEquals(0, wheel.getPendingCount());
+        wheel.advance(200000);
+        assertTrue(fired.isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package nl.github.martijn9612.fishy.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for TopKList.
+ */
+public class TopKListTest extends TestCase {
+
+    private static final Comparator<Integer> HIGHEST_FIRST = new Comparator<Integer>() {
+        public int compare(Integer first, Integer second) {
+            return second.compareTo(first);
+        }
+    };
+
+    /**
+     * Test that only the best items are kept, sorted best first.
+     */
+    @Test
+    public void testKeepsBest() {
+        TopKList<Integer> list = new TopKList<Integer>(3, HIGHEST_FIRST);
+        assertNull(list.getWorst());
+        assertTrue(list.offer(5));
+        assertTrue(list.offer(1));
+        assertTrue(list.offer(9));
+        assertEquals(Integer.valueOf(1), list.getWorst());
+        assertTrue(list.offer(7));
+        assertFalse(list.offer(2));
+        assertEquals(Arrays.asList(9, 7, 5), list.getSortedView());
+        assertEquals(3, list.size());
+        assertEquals(3, list.getCapacity());
+    }
+
+    /**
+     * Test that items that rank the same keep the order they were offered in.
+     */
+    @Test
+    public void testTies() {
+        TopKList<String> list = new TopKList<String>(2, new Comparator<String>() {
+            public int compare(String first, String second) {
+                return first.length() - second.length();
+            }
+        });
+        list.offer("bb");
+        list.offer("aa");
+        assertFalse(list.offer("cc"));
+        assertTrue(list.offer("d"));
+        assertEquals(Arrays.asList("d", "bb"), list.getSortedView());
+    }
+
+    /**
+     * Test removing items.
+     */
+    @Test
+    public void testRemove() {
+        TopKList<Integer> list = new TopKList<Integer>(4, HIGHEST_FIRST);
+        for (int i = 1; i <= 4; i++) {
+            list.offer(i);
+        }
+        assertTrue(list.remove(1));
+        assertFalse(list.remove(1));
+        assertTrue(list.remove(3));
+        assertEquals(Arrays.asList(4, 2), list.getSortedView());
+        assertTrue(list.offer(0));
+        assertEquals(Integer.valueOf(0), list.getWorst());
+        list.clear();
+        assertEquals(0, list.getSortedView().size());
+    }
+
+    /**
+     * Test that the sorted view is the same as sorting all offered items.
+     */
+    @Test
+    public void testRandom() {
+        Random random = new Random(3);
+        TopKList<Integer> list = new TopKList<Integer>(22, HIGHEST_FIRST);
+        Integer[] all = new Integer[5000];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = random.nextInt(1000000);
+            list.offer(all[i]);
+        }
+        Arrays.sort(all, HIGHEST_FIRST);
+        List<Integer> view = list.getSortedView();
+        assertEquals(Arrays.asList(all).subList(0, 22), view);
+        assertSame(view, list.getSortedView());
+        try {
+            view.add(1);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertEquals(22, list.size());
+        }
+    }
+}